@@ -0,0 +1,32 @@
+package io.github.divinator.wgapi.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа тестов производительности.
+ * <p>
+ * Принимает те же аргументы командной строки, что и JMH, и всегда подключает профилировщик GC,
+ * поэтому в результатах есть скорость выделения памяти ("gc.alloc.rate.norm" - байт на операцию):
+ * <code>java -jar benchmarks/target/benchmarks.jar [JMH options] [regexp]</code>.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.divinator.wgapi.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import io.github.divinator.wgapi.client.IntObjectMap;
+import io.github.divinator.wgapi.client.IntObjectMapTypeAdapterFactory;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тесты производительности разбора ответов Wargaming.net Public API.
+ * <p>
+ * {@link #sharedAdapter()} повторяет путь разбора клиента: один адаптер Gson на тип ответа и потоковое
+ * чтение тела ответа. Остальные варианты показывают, чего стоят разбор через промежуточную строку
+ * и создание нового Gson на каждый ответ, а {@link #sharedAdapterIndexed()} - разбор в карту с ключами типа int.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+    @Param({Payloads.ACCOUNT_INFO, Payloads.TANKS_STATS, Payloads.ENCYCLOPEDIA_VEHICLES, Payloads.GLOBALMAP_PROVINCES})
+    public String payload;
+
+    private byte[] body;
+    private TypeToken<? extends JsonResponse<?>> type;
+    private Gson gson;
+    private TypeAdapter<? extends JsonResponse<?>> adapter;
+    private TypeAdapter<? extends JsonResponse<?>> indexedAdapter;
+
+    @Setup
+    public void setup() {
+        body = Payloads.load(payload);
+        type = Payloads.type(payload);
+        gson = new Gson();
+        adapter = gson.getAdapter(type);
+        indexedAdapter = new GsonBuilder()
+                .registerTypeAdapterFactory(new IntObjectMapTypeAdapterFactory())
+                .create()
+                .getAdapter(Payloads.indexedType(payload));
+    }
+
+    /**
+     * Разбор клиентом: общий адаптер, потоковое чтение из тела ответа.
+     */
+    @Benchmark
+    public JsonResponse<?> sharedAdapter() throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            reader.setLenient(true);
+            return adapter.read(reader);
+        }
+    }
+
+    /**
+     * Разбор клиентом в карту с ключами типа int ({@link IntObjectMap}).
+     */
+    @Benchmark
+    public JsonResponse<?> sharedAdapterIndexed() throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            reader.setLenient(true);
+            return indexedAdapter.read(reader);
+        }
+    }
+
+    /**
+     * Общий Gson, тело ответа сначала читается в строку.
+     */
+    @Benchmark
+    public JsonResponse<?> sharedGsonFromString() {
+        return gson.fromJson(new String(body, StandardCharsets.UTF_8), type.getType());
+    }
+
+    /**
+     * Новый Gson на каждый ответ, тело ответа сначала читается в строку.
+     */
+    @Benchmark
+    public JsonResponse<?> newGsonFromString() {
+        return new Gson().fromJson(new String(body, StandardCharsets.UTF_8), type.getType());
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.divinator.wgapi.benchmarks;
+
+import io.github.divinator.wgapi.client.Parameter;
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тесты производительности полного вызова {@link TanksMethod#getStats(String, Parameter...)}:
+ * построение запроса, HTTP-обмен через пул соединений и разбор ответа.
+ * <p>
+ * Запросы отправляются локальному {@link WgApiMockServer}, который на "wot/tanks/stats" отвечает образцом
+ * ответа. Ограничение частоты и объединение запросов отключены, чтобы каждая операция выполняла
+ * настоящий HTTP-обмен.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+    private TanksMethod tanks;
+
+    @Setup
+    public void setup() throws IOException, WgApiException {
+        String body = new String(Payloads.load(Payloads.TANKS_STATS), StandardCharsets.UTF_8);
+
+        server = new WgApiMockServer()
+                .setResponse("wot/tanks/stats", request -> body)
+                .start();
+
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+        System.setProperty("io.github.divinator.wgapi.coalescing", "false");
+
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+        tanks = client.getMethodBlock(TanksMethod.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * Блокирующий вызов.
+     */
+    @Benchmark
+    public JsonResponse<Map<String, List<Stats>>> getStats() throws WgApiException {
+        return tanks.getStats("1000000");
+    }
+
+    /**
+     * Блокирующие вызовы из четырёх потоков через общий пул соединений.
+     */
+    @Benchmark
+    @Threads(4)
+    public JsonResponse<Map<String, List<Stats>>> getStatsConcurrent() throws WgApiException {
+        return tanks.getStats("1000000");
+    }
+
+    /**
+     * Асинхронный вызов с ожиданием результата.
+     */
+    @Benchmark
+    public JsonResponse<Map<String, List<Stats>>> getStatsAsync() {
+        return tanks.getStatsAsync("1000000").join();
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.divinator.wgapi.benchmarks;
+
+import com.google.gson.reflect.TypeToken;
+import io.github.divinator.wgapi.client.IntObjectMap;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.accounts.AccountInformation;
+import io.github.divinator.wgapi.entity.wot.encyclopedia.Vehicle;
+import io.github.divinator.wgapi.entity.wot.globalmap.Province;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс описывает образцы ответов Wargaming.net Public API, используемые в тестах производительности.
+ * <p>
+ * Образцы лежат в ресурсах "payloads/&lt;название&gt;.json" и по структуре повторяют ответы соответствующих
+ * методов: все поля сущностей заполнены.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+final class Payloads {
+
+    static final String ACCOUNT_INFO = "account-info";
+    static final String TANKS_STATS = "tanks-stats";
+    static final String ENCYCLOPEDIA_VEHICLES = "encyclopedia-vehicles";
+    static final String GLOBALMAP_PROVINCES = "globalmap-provinces";
+
+    private static final TypeToken<JsonResponse<Map<String, AccountInformation>>> ACCOUNT_INFO_TYPE = new TypeToken<JsonResponse<Map<String, AccountInformation>>>() {
+    };
+    private static final TypeToken<JsonResponse<Map<String, List<Stats>>>> TANKS_STATS_TYPE = new TypeToken<JsonResponse<Map<String, List<Stats>>>>() {
+    };
+    private static final TypeToken<JsonResponse<Map<String, Vehicle>>> ENCYCLOPEDIA_VEHICLES_TYPE = new TypeToken<JsonResponse<Map<String, Vehicle>>>() {
+    };
+    private static final TypeToken<JsonResponse<List<Province>>> GLOBALMAP_PROVINCES_TYPE = new TypeToken<JsonResponse<List<Province>>>() {
+    };
+
+    private static final TypeToken<JsonResponse<IntObjectMap<AccountInformation>>> ACCOUNT_INFO_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<AccountInformation>>>() {
+    };
+    private static final TypeToken<JsonResponse<IntObjectMap<List<Stats>>>> TANKS_STATS_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<List<Stats>>>>() {
+    };
+    private static final TypeToken<JsonResponse<IntObjectMap<Vehicle>>> ENCYCLOPEDIA_VEHICLES_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<Vehicle>>>() {
+    };
+
+    private Payloads() {
+    }
+
+    /**
+     * Метод возвращает тело образца ответа.
+     *
+     * @param name Название образца
+     * @return Тело образца ответа в кодировке UTF-8
+     */
+    static byte[] load(String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException(String.format("Payload \"%s\" not found.", name));
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, read);
+            }
+
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Метод возвращает тип ответа, соответствующий образцу.
+     *
+     * @param name Название образца
+     * @return Тип ответа
+     */
+    static TypeToken<? extends JsonResponse<?>> type(String name) {
+        switch (name) {
+            case ACCOUNT_INFO:
+                return ACCOUNT_INFO_TYPE;
+            case TANKS_STATS:
+                return TANKS_STATS_TYPE;
+            case ENCYCLOPEDIA_VEHICLES:
+                return ENCYCLOPEDIA_VEHICLES_TYPE;
+            case GLOBALMAP_PROVINCES:
+                return GLOBALMAP_PROVINCES_TYPE;
+            default:
+                throw new IllegalArgumentException(String.format("Payload \"%s\" not found.", name));
+        }
+    }
+
+    /**
+     * Метод возвращает тип ответа с картой по числовому идентификатору, см. {@link IntObjectMap}.
+     *
+     * @param name Название образца
+     * @return Тип ответа; для образцов-списков - тот же тип, что и {@link #type(String)}
+     */
+    static TypeToken<? extends JsonResponse<?>> indexedType(String name) {
+        switch (name) {
+            case ACCOUNT_INFO:
+                return ACCOUNT_INFO_INDEXED_TYPE;
+            case TANKS_STATS:
+                return TANKS_STATS_INDEXED_TYPE;
+            case ENCYCLOPEDIA_VEHICLES:
+                return ENCYCLOPEDIA_VEHICLES_INDEXED_TYPE;
+            default:
+                return type(name);
+        }
+    }
+}
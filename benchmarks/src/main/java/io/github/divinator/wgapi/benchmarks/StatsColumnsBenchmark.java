@@ -0,0 +1,106 @@
+package io.github.divinator.wgapi.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.entity.wot.tanks.StatsColumns;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тесты производительности разбора статистики по технике в объекты {@link Stats} и в колоночный буфер
+ * {@link StatsColumns} с последующим суммированием побед.
+ *
+ * @author Sergey Divin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsColumnsBenchmark {
+
+    private byte[] body;
+    private TypeAdapter<JsonResponse<?>> adapter;
+    private StatsColumns columns;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        body = Payloads.load(Payloads.TANKS_STATS);
+        adapter = (TypeAdapter<JsonResponse<?>>) new Gson().getAdapter(Payloads.type(Payloads.TANKS_STATS));
+        columns = new StatsColumns(EnumSet.of(StatsColumns.Block.ALL, StatsColumns.Block.RANDOM),
+                EnumSet.of(StatsColumns.Field.BATTLES, StatsColumns.Field.WINS));
+    }
+
+    /**
+     * Разбор в объекты {@link Stats}.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public long objects() throws IOException {
+        long wins = 0;
+
+        try (JsonReader reader = reader()) {
+            JsonResponse<?> response = adapter.read(reader);
+
+            for (Object tanks : ((Map<String, ?>) response.getData()).values()) {
+                for (Stats stats : (List<Stats>) tanks) {
+                    wins += (stats.getAll() == null ? 0 : stats.getAll().getWins())
+                            + (stats.getRandom() == null ? 0 : stats.getRandom().getWins());
+                }
+            }
+        }
+
+        return wins;
+    }
+
+    /**
+     * Разбор в переиспользуемый колоночный буфер.
+     */
+    @Benchmark
+    public long columns() throws IOException {
+        columns.clear();
+
+        try (JsonReader reader = reader()) {
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                if ("data".equals(reader.nextName())) {
+                    columns.getTypeAdapter().read(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+        }
+
+        int[] all = columns.getColumn(StatsColumns.Block.ALL, StatsColumns.Field.WINS);
+        int[] random = columns.getColumn(StatsColumns.Block.RANDOM, StatsColumns.Field.WINS);
+        long wins = 0;
+
+        for (int row = 0; row < columns.size(); row++) {
+            wins += all[row] + random[row];
+        }
+
+        return wins;
+    }
+
+    private JsonReader reader() {
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        reader.setLenient(true);
+        return reader;
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.divinator.wgapi.benchmarks;
+
+import io.github.divinator.wgapi.client.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тесты производительности построения URL запроса {@link WgApiUriBuilder}.
+ *
+ * @author Sergey Divin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriBuilderBenchmark {
+
+    private WgApiUriBuilder base;
+    private WgApiUriBuilder request;
+
+    @Setup
+    public void setup() {
+        base = new WgApiUriBuilder()
+                .withCluster(Cluster.WORLD_OF_TANKS)
+                .withRegion(Region.RU)
+                .withApplicationID("demo");
+        request = base
+                .withMethod("tanks", "stats")
+                .withParameters(new Parameter("account_id", "1000000,1000001,1000002"), new Parameter("language", "ru"));
+    }
+
+    /**
+     * Построение URL уже настроенного строителя.
+     */
+    @Benchmark
+    public URI build() throws WgApiException {
+        return request.build();
+    }
+
+    /**
+     * Настройка строителя, как в метод-блоке, без построения URL.
+     */
+    @Benchmark
+    public WgApiUriBuilder configure() {
+        return base
+                .withMethod("tanks", "stats")
+                .withParameter(new Parameter("account_id", "1000000"))
+                .withParameters(new Parameter("language", "ru"));
+    }
+
+    /**
+     * Настройка строителя, как в метод-блоке, и построение URL.
+     */
+    @Benchmark
+    public URI configureAndBuild() throws WgApiException {
+        return base
+                .withMethod("tanks", "stats")
+                .withParameter(new Parameter("account_id", "1000000"))
+                .withParameters(new Parameter("language", "ru"))
+                .build();
+    }
+
+    /**
+     * Строка URL для журнала.
+     */
+    @Benchmark
+    public String toStringForLog() {
+        return request.toString();
+    }
+
+    /**
+     * Ключ объединения одинаковых запросов.
+     */
+    @Benchmark
+    public String canonicalKey() throws WgApiException {
+        return request.getCanonicalKey();
+    }
+}
@@ -0,0 +1,642 @@
+package io.github.divinator.wgapi.entity.wot.tanks;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.divinator.wgapi.client.Parameter;
+import io.github.divinator.wgapi.client.Projection;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Класс описывает колоночный буфер статистики по технике для метод-блока {@link TanksMethod}.
+ * <p>
+ * Вместо объектов {@link Stats} с вложенными блоками статистики ответ разбирается сразу в массивы примитивов:
+ * по строке на каждую единицу техники каждого игрока и по колонке на каждый выбранный параметр выбранного блока
+ * статистики. Буфер переиспользуется между запросами: {@link #clear()} сбрасывает количество строк, но сохраняет
+ * выделенные массивы, поэтому разбор очередного пакета не создаёт объектов {@link Stats} и блоков статистики.
+ * Названия полей Json при разборе всё же читаются в строки; без выделения памяти обходится только последующая
+ * обработка колонок.
+ * </p>
+ * <pre>{@code
+ * StatsColumns columns = new StatsColumns(EnumSet.of(StatsColumns.Block.ALL),
+ *         EnumSet.of(StatsColumns.Field.BATTLES, StatsColumns.Field.WINS));
+ *
+ * for (String batch : batches) {
+ *     columns.clear();
+ *     tanks.getStatsColumns(batch, columns);
+ *
+ *     for (StatsColumns.Cursor cursor = columns.cursor(); cursor.next(); ) {
+ *         add(cursor.tankId(), cursor.get(StatsColumns.Block.ALL, StatsColumns.Field.WINS));
+ *     }
+ * }
+ * }</pre>
+ * <p>
+ * Массивы колонок, возвращаемые методами {@link #getAccountIds()}, {@link #getColumn(Block, Field)} и т.п.,
+ * не копируются: они действительны до следующего разбора в буфер, а значимы в них первые {@link #size()}
+ * элементов. Отсутствующие в ответе значения равны 0. Объект не потокобезопасен.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class StatsColumns {
+
+    /**
+     * Блок статистики по технике.
+     */
+    public enum Block {
+        ALL("all"),
+        CLAN("clan"),
+        COMPANY("company"),
+        EPIC("epic"),
+        FALLOUT("fallout"),
+        GLOBALMAP("globalmap"),
+        RANDOM("random"),
+        RANKED_BATTLES("ranked_battles"),
+        REGULAR_TEAM("regular_team"),
+        STRONGHOLD_DEFENSE("stronghold_defense"),
+        STRONGHOLD_SKIRMISH("stronghold_skirmish"),
+        TEAM("team");
+
+        private final String name;
+
+        Block(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Метод возвращает название блока в ответе Wargaming.net Public API.
+         *
+         * @return Название блока
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Параметр статистики, общий для всех блоков, см. {@link Stats.Statistics}.
+     */
+    public enum Field {
+        BATTLE_AVG_XP("battle_avg_xp"),
+        BATTLES("battles"),
+        BATTLES_ON_STUNNING_VEHICLES("battles_on_stunning_vehicles"),
+        CAPTURE_POINTS("capture_points"),
+        DAMAGE_DEALT("damage_dealt"),
+        DAMAGE_RECEIVED("damage_received"),
+        DRAWS("draws"),
+        DROPPED_CAPTURE_POINTS("dropped_capture_points"),
+        FRAGS("frags"),
+        HITS("hits"),
+        HITS_PERCENTS("hits_percents"),
+        LOSSES("losses"),
+        SHOTS("shots"),
+        SPOTTED("spotted"),
+        STUN_ASSISTED_DAMAGE("stun_assisted_damage"),
+        STUN_NUMBER("stun_number"),
+        SURVIVED_BATTLES("survived_battles"),
+        WINS("wins"),
+        XP("xp");
+
+        private final String name;
+
+        Field(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Метод возвращает название параметра в ответе Wargaming.net Public API.
+         *
+         * @return Название параметра
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_FIELDS = 100;
+
+    private static final Map<String, Block> BLOCKS = new HashMap<>();
+    private static final Map<String, Field> FIELDS = new HashMap<>();
+
+    static {
+        for (Block block : Block.values()) {
+            BLOCKS.put(block.getName(), block);
+        }
+
+        for (Field field : Field.values()) {
+            FIELDS.put(field.getName(), field);
+        }
+    }
+
+    private final int[] blockSlots = new int[Block.values().length];
+    private final int[] fieldSlots = new int[Field.values().length];
+    private final int fieldCount;
+    private final Parameter projection;
+    private final TypeAdapter<StatsColumns> adapter = new Adapter();
+
+    private int size;
+    private int[] accountIds;
+    private int[] tankIds;
+    private int[] marksOfMastery;
+    private final int[][] columns;
+
+    /**
+     * Конструктор колоночного буфера.
+     *
+     * @param blocks Блоки статистики, которые нужно разбирать
+     * @param fields Параметры, которые нужно разбирать в каждом из блоков
+     * @throws IllegalArgumentException В случае, если не выбран ни один блок или параметр
+     */
+    public StatsColumns(Set<Block> blocks, Set<Field> fields) {
+        if (blocks.isEmpty() || fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one block and one field must be selected.");
+        }
+
+        Arrays.fill(blockSlots, -1);
+        Arrays.fill(fieldSlots, -1);
+
+        int blockCount = 0;
+        int count = 0;
+
+        for (Block block : EnumSet.copyOf(blocks)) {
+            blockSlots[block.ordinal()] = blockCount++;
+        }
+
+        for (Field field : EnumSet.copyOf(fields)) {
+            fieldSlots[field.ordinal()] = count++;
+        }
+
+        this.fieldCount = count;
+        this.columns = new int[blockCount * fieldCount][INITIAL_CAPACITY];
+        this.accountIds = new int[INITIAL_CAPACITY];
+        this.tankIds = new int[INITIAL_CAPACITY];
+        this.marksOfMastery = new int[INITIAL_CAPACITY];
+        this.projection = projection(EnumSet.copyOf(blocks), EnumSet.copyOf(fields));
+    }
+
+    /**
+     * Метод возвращает количество строк (единиц техники) в буфере.
+     *
+     * @return Количество строк
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Метод удаляет все строки из буфера, сохраняя выделенные массивы колонок.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Метод проверяет, разбирается ли указанный параметр указанного блока.
+     *
+     * @param block Блок статистики
+     * @param field Параметр статистики
+     * @return true, если параметр блока есть в буфере
+     */
+    public boolean contains(Block block, Field field) {
+        return blockSlots[block.ordinal()] >= 0 && fieldSlots[field.ordinal()] >= 0;
+    }
+
+    /**
+     * Метод возвращает колонку идентификаторов аккаунтов игроков.
+     *
+     * @return Массив колонки, значимы первые {@link #size()} элементов
+     */
+    public int[] getAccountIds() {
+        return accountIds;
+    }
+
+    /**
+     * Метод возвращает колонку идентификаторов техники.
+     *
+     * @return Массив колонки, значимы первые {@link #size()} элементов
+     */
+    public int[] getTankIds() {
+        return tankIds;
+    }
+
+    /**
+     * Метод возвращает колонку знаков классности.
+     *
+     * @return Массив колонки, значимы первые {@link #size()} элементов
+     */
+    public int[] getMarksOfMastery() {
+        return marksOfMastery;
+    }
+
+    /**
+     * Метод возвращает колонку параметра блока статистики.
+     *
+     * @param block Блок статистики
+     * @param field Параметр статистики
+     * @return Массив колонки, значимы первые {@link #size()} элементов
+     * @throws IllegalArgumentException В случае, если параметр блока не разбирается в этот буфер
+     */
+    public int[] getColumn(Block block, Field field) {
+        return columns[column(block, field)];
+    }
+
+    /**
+     * Метод возвращает курсор для построчного обхода буфера.
+     *
+     * @return Курсор, стоящий перед первой строкой
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Метод возвращает параметр "fields" запроса, ограничивающий ответ полями, которые разбираются в буфер.
+     * <p>
+     * Если отдельных полей больше, чем допускает Wargaming.net Public API, запрашиваются блоки целиком.
+     * </p>
+     *
+     * @return Параметр "fields"
+     */
+    public Parameter getProjection() {
+        return projection;
+    }
+
+    /**
+     * Метод возвращает Gson-адаптер, дописывающий строки из поля "data" ответа метода "tanks/stats" в буфер.
+     * <p>
+     * Если разбор завершился ошибкой, строки, дописанные этим разбором, отбрасываются. Адаптер записывает буфер
+     * в том же формате поля "data": подряд идущие строки одного аккаунта образуют один список, в строку
+     * записываются только разбираемые блоки и параметры.
+     * </p>
+     *
+     * @return Адаптер поля "data"
+     */
+    public TypeAdapter<StatsColumns> getTypeAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Метод возвращает номер колонки параметра блока статистики.
+     *
+     * @param block Блок статистики
+     * @param field Параметр статистики
+     * @return Номер колонки
+     * @throws IllegalArgumentException В случае, если параметр блока не разбирается в этот буфер
+     */
+    private int column(Block block, Field field) {
+        if (!contains(block, field)) {
+            throw new IllegalArgumentException(String.format("Column %s.%s is not selected.",
+                    block.getName(), field.getName()));
+        }
+
+        return blockSlots[block.ordinal()] * fieldCount + fieldSlots[field.ordinal()];
+    }
+
+    /**
+     * Метод добавляет пустую строку, при необходимости увеличивая массивы колонок.
+     *
+     * @param accountId Идентификатор аккаунта игрока
+     * @return Номер строки
+     */
+    private int addRow(int accountId) {
+        if (size == accountIds.length) {
+            int capacity = size * 2;
+            accountIds = Arrays.copyOf(accountIds, capacity);
+            tankIds = Arrays.copyOf(tankIds, capacity);
+            marksOfMastery = Arrays.copyOf(marksOfMastery, capacity);
+
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], capacity);
+            }
+        }
+
+        int row = size++;
+        accountIds[row] = accountId;
+        tankIds[row] = 0;
+        marksOfMastery[row] = 0;
+
+        for (int[] column : columns) {
+            column[row] = 0;
+        }
+
+        return row;
+    }
+
+    /**
+     * Метод строит параметр "fields" по выбранным блокам и параметрам.
+     *
+     * @param blocks Блоки статистики
+     * @param fields Параметры статистики
+     * @return Параметр "fields"
+     */
+    private static Parameter projection(Set<Block> blocks, Set<Field> fields) {
+        List<String> paths = new ArrayList<>(Arrays.asList("account_id", "tank_id", "mark_of_mastery"));
+
+        if (paths.size() + blocks.size() * fields.size() <= MAX_FIELDS) {
+            for (Block block : blocks) {
+                for (Field field : fields) {
+                    paths.add(block.getName() + "." + field.getName());
+                }
+            }
+        } else {
+            for (Block block : blocks) {
+                paths.add(block.getName());
+            }
+        }
+
+        return Projection.fields(Stats.class, paths.toArray(new String[0]));
+    }
+
+    /**
+     * Метод читает целое значение, допуская null.
+     *
+     * @param in Поток Json
+     * @return Значение, либо 0 для null
+     * @throws IOException В случае ошибки чтения
+     */
+    private static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+
+        return in.nextInt();
+    }
+
+    /**
+     * Курсор для построчного обхода буфера.
+     * <pre>{@code
+     * for (StatsColumns.Cursor cursor = columns.cursor(); cursor.next(); ) {
+     *     process(cursor.accountId(), cursor.tankId(), cursor.get(Block.ALL, Field.BATTLES));
+     * }
+     * }</pre>
+     */
+    public final class Cursor {
+
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Метод переводит курсор на следующую строку.
+         *
+         * @return true, если строка есть; false, если обход завершён
+         */
+        public boolean next() {
+            return ++row < size;
+        }
+
+        /**
+         * Метод возвращает номер текущей строки, который можно использовать как индекс в массивах колонок.
+         *
+         * @return Номер строки
+         */
+        public int row() {
+            check();
+            return row;
+        }
+
+        /**
+         * Метод возвращает идентификатор аккаунта игрока текущей строки.
+         *
+         * @return Идентификатор аккаунта игрока
+         */
+        public int accountId() {
+            check();
+            return accountIds[row];
+        }
+
+        /**
+         * Метод возвращает идентификатор техники текущей строки.
+         *
+         * @return Идентификатор техники
+         */
+        public int tankId() {
+            check();
+            return tankIds[row];
+        }
+
+        /**
+         * Метод возвращает знак классности текущей строки.
+         *
+         * @return Знак классности
+         */
+        public int markOfMastery() {
+            check();
+            return marksOfMastery[row];
+        }
+
+        /**
+         * Метод возвращает значение параметра блока статистики текущей строки.
+         *
+         * @param block Блок статистики
+         * @param field Параметр статистики
+         * @return Значение параметра
+         * @throws IllegalArgumentException В случае, если параметр блока не разбирается в этот буфер
+         */
+        public int get(Block block, Field field) {
+            check();
+            return columns[column(block, field)][row];
+        }
+
+        /**
+         * Метод проверяет, что курсор стоит на строке.
+         */
+        private void check() {
+            if (row < 0 || row >= size) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Адаптер, дописывающий строки поля "data" в буфер.
+     */
+    private final class Adapter extends TypeAdapter<StatsColumns> {
+
+        @Override
+        public void write(JsonWriter out, StatsColumns value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+
+            for (int row = 0; row < value.size; ) {
+                int accountId = value.accountIds[row];
+                out.name(Integer.toString(accountId));
+                out.beginArray();
+
+                do {
+                    writeRow(out, value, row++);
+                } while (row < value.size && value.accountIds[row] == accountId);
+
+                out.endArray();
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public StatsColumns read(JsonReader in) throws IOException {
+            int mark = size;
+
+            try {
+                readData(in);
+                return StatsColumns.this;
+            } catch (IOException | RuntimeException e) {
+                // Повторный запрос не должен получить строки от неудавшегося разбора
+                size = mark;
+                throw e;
+            }
+        }
+
+        /**
+         * Метод записывает строку буфера как статистику по одной единице техники.
+         *
+         * @param out   Поток Json
+         * @param value Буфер
+         * @param row   Номер строки
+         * @throws IOException В случае ошибки записи
+         */
+        private void writeRow(JsonWriter out, StatsColumns value, int row) throws IOException {
+            out.beginObject();
+            out.name("account_id").value(value.accountIds[row]);
+            out.name("tank_id").value(value.tankIds[row]);
+            out.name("mark_of_mastery").value(value.marksOfMastery[row]);
+
+            for (Block block : Block.values()) {
+                int blockSlot = value.blockSlots[block.ordinal()];
+
+                if (blockSlot < 0) {
+                    continue;
+                }
+
+                out.name(block.getName());
+                out.beginObject();
+
+                for (Field field : Field.values()) {
+                    int fieldSlot = value.fieldSlots[field.ordinal()];
+
+                    if (fieldSlot >= 0) {
+                        out.name(field.getName()).value(value.columns[blockSlot * value.fieldCount + fieldSlot][row]);
+                    }
+                }
+
+                out.endObject();
+            }
+
+            out.endObject();
+        }
+
+        /**
+         * Метод читает объект "data": списки статистики по технике, сгруппированные по идентификатору аккаунта.
+         *
+         * @param in Поток Json
+         * @throws IOException В случае ошибки чтения
+         */
+        private void readData(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return;
+            }
+
+            in.beginObject();
+
+            while (in.hasNext()) {
+                String name = in.nextName();
+                int accountId;
+
+                try {
+                    accountId = Integer.parseInt(name);
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(String.format("Key \"%s\" is not a numeric ID.", name), e);
+                }
+
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+
+                in.beginArray();
+
+                while (in.hasNext()) {
+                    readRow(in, addRow(accountId));
+                }
+
+                in.endArray();
+            }
+
+            in.endObject();
+        }
+
+        /**
+         * Метод читает статистику по одной единице техники в строку буфера.
+         *
+         * @param in  Поток Json
+         * @param row Номер строки
+         * @throws IOException В случае ошибки чтения
+         */
+        private void readRow(JsonReader in, int row) throws IOException {
+            in.beginObject();
+
+            while (in.hasNext()) {
+                String name = in.nextName();
+
+                switch (name) {
+                    case "account_id":
+                        accountIds[row] = nextInt(in);
+                        break;
+                    case "tank_id":
+                        tankIds[row] = nextInt(in);
+                        break;
+                    case "mark_of_mastery":
+                        marksOfMastery[row] = nextInt(in);
+                        break;
+                    default:
+                        Block block = BLOCKS.get(name);
+
+                        if (block != null && blockSlots[block.ordinal()] >= 0 && in.peek() != JsonToken.NULL) {
+                            readBlock(in, row, blockSlots[block.ordinal()] * fieldCount);
+                        } else {
+                            in.skipValue();
+                        }
+                }
+            }
+
+            in.endObject();
+        }
+
+        /**
+         * Метод читает параметры блока статистики в строку буфера.
+         *
+         * @param in     Поток Json
+         * @param row    Номер строки
+         * @param offset Номер первой колонки блока
+         * @throws IOException В случае ошибки чтения
+         */
+        private void readBlock(JsonReader in, int row, int offset) throws IOException {
+            in.beginObject();
+
+            while (in.hasNext()) {
+                Field field = FIELDS.get(in.nextName());
+
+                if (field != null && fieldSlots[field.ordinal()] >= 0) {
+                    columns[offset + fieldSlots[field.ordinal()]][row] = nextInt(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+
+            in.endObject();
+        }
+    }
+}
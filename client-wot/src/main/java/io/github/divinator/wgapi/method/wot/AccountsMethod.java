@@ -8,8 +8,10 @@ import io.github.divinator.wgapi.entity.wot.accounts.AccountAchievements;
 import io.github.divinator.wgapi.entity.wot.accounts.AccountInformation;
 import io.github.divinator.wgapi.entity.wot.accounts.AccountTank;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Класс описывает Метод-блок для получения информации об аккаунтах WorldOfTanks.
@@ -20,6 +22,21 @@ public class AccountsMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "account";
 
+    private final static TypeToken<JsonResponse<List<Account>>> ACCOUNTS_TYPE = new TypeToken<JsonResponse<List<Account>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, AccountInformation>>> ACCOUNTS_INFORMATION_TYPE = new TypeToken<JsonResponse<Map<String, AccountInformation>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<IntObjectMap<AccountInformation>>> ACCOUNTS_INFORMATION_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<AccountInformation>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, List<AccountTank>>>> ACCOUNTS_TANKS_TYPE = new TypeToken<JsonResponse<Map<String, List<AccountTank>>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, AccountAchievements>>> ACCOUNTS_ACHIEVEMENTS_TYPE = new TypeToken<JsonResponse<Map<String, AccountAchievements>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -84,8 +101,23 @@ public class AccountsMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("search", search))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Account>>>() {
-        });
+        return super.get(urlBuilder, ACCOUNTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccounts(String, Parameter...)}.
+     *
+     * @param search     Строка поиска по имени игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccounts(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Account>>> getAccountsAsync(String search, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "list")
+                .withParameter(new Parameter("search", search))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, ACCOUNTS_TYPE);
     }
 
     /**
@@ -147,8 +179,107 @@ public class AccountsMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("account_id", accountId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, AccountInformation>>>() {
-        });
+        return super.post(urlBuilder, ACCOUNTS_INFORMATION_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccountsInformation(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsInformation(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, AccountInformation>>> getAccountsInformationAsync(String accountId, Parameter... parameters
+    ) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, ACCOUNTS_INFORMATION_TYPE);
+    }
+
+    /**
+     * Вариант метода {@link #getAccountsInformation(String, Parameter...)}, разбирающий ответ в карту с ключами типа int.
+     * <p>
+     * Ключи поля "data" разбираются сразу в int, без строк и упаковки, см. {@link IntObjectMap}.
+     * </p>
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsInformation(String, Parameter...)}
+     * @return Информация об игроках, сгруппированная по идентификатору аккаунта
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<IntObjectMap<AccountInformation>> getAccountsInformationIndexed(String accountId, Parameter... parameters) throws WgApiException {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.post(urlBuilder, ACCOUNTS_INFORMATION_INDEXED_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccountsInformationIndexed(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsInformation(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<IntObjectMap<AccountInformation>>> getAccountsInformationIndexedAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, ACCOUNTS_INFORMATION_INDEXED_TYPE);
+    }
+
+    /**
+     * Метод возвращает информацию об игроках по произвольному количеству идентификаторов аккаунтов.
+     * <p>
+     * Идентификаторы разбиваются на пакеты по 100 штук (ограничение Wargaming.net Public API), пакеты
+     * отправляются параллельно, а ответы объединяются в один.
+     * </p>
+     *
+     * @param accountIds Идентификаторы аккаунтов игроков
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsInformation(String, Parameter...)}
+     * @return Информация об игроках, сгруппированная по идентификатору аккаунта
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<Map<String, AccountInformation>> getAccountsInformation(Collection<Integer> accountIds, Parameter... parameters) throws WgApiException {
+        return await(getAccountsInformationAsync(accountIds, parameters));
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccountsInformation(Collection, Parameter...)}.
+     *
+     * @param accountIds Идентификаторы аккаунтов игроков
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsInformation(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён объединённым ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, AccountInformation>>> getAccountsInformationAsync(Collection<Integer> accountIds, Parameter... parameters) {
+        return loadAllAsync(accountIds, ids -> getAccountsInformationAsync(ids, parameters));
+    }
+
+    /**
+     * Метод возвращает информацию об игроке по одному идентификатору.
+     * <p>
+     * Одиночные запросы с одинаковыми параметрами, пришедшие в течение короткого окна ожидания
+     * (см. {@link WgApiProperties#getBatchWindow()}), объединяются в один запрос до 100 идентификаторов.
+     * </p>
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsInformation(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён информацией об игроке, либо null, если аккаунт не найден
+     */
+    public CompletableFuture<AccountInformation> getAccountsInformationBatched(int accountId, Parameter... parameters) {
+        return submitBatched(batchKey(METHOD_BLOCK, "info", parameters), accountId, ids -> getAccountsInformationAsync(ids, parameters));
     }
 
     /**
@@ -193,8 +324,24 @@ public class AccountsMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("account_id", accountId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, List<AccountTank>>>>() {
-        });
+        return super.post(urlBuilder, ACCOUNTS_TANKS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccountsTanks(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsTanks(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<AccountTank>>>> getAccountsTanksAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "tanks")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, ACCOUNTS_TANKS_TYPE);
     }
 
     /**
@@ -244,7 +391,24 @@ public class AccountsMethod extends AbstractMethodBlock {
                 .withQuery("account_id", accountId)
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, AccountAchievements>>>() {
-        });
+        return super.get(urlBuilder, ACCOUNTS_ACHIEVEMENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccountsAchievements(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountsAchievements(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, AccountAchievements>>> getAccountsAchievementsAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "achievements")
+                .withParameter(new Parameter("account_id", accountId))
+                .withQuery("account_id", accountId)
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, ACCOUNTS_ACHIEVEMENTS_TYPE);
     }
 }
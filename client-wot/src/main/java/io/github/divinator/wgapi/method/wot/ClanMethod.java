@@ -5,8 +5,12 @@ import io.github.divinator.wgapi.client.*;
 import io.github.divinator.wgapi.entity.JsonResponse;
 import io.github.divinator.wgapi.entity.wot.clan.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 /**
  * @author Sergey Divin
@@ -15,6 +19,27 @@ public class ClanMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "clans";
 
+    private final static TypeToken<JsonResponse<List<Clan>>> CLANS_TYPE = new TypeToken<JsonResponse<List<Clan>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, ClanInfo>>> CLAN_INFO_TYPE = new TypeToken<JsonResponse<Map<String, ClanInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<IntObjectMap<ClanInfo>>> CLAN_INFO_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<ClanInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, ClanMember>>> CLAN_MEMBER_TYPE = new TypeToken<JsonResponse<Map<String, ClanMember>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<ClanRoles>> GLOSSARY_TYPE = new TypeToken<JsonResponse<ClanRoles>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, List<MessageBoard>>>> CLAN_MESSAGE_BOARD_TYPE = new TypeToken<JsonResponse<Map<String, List<MessageBoard>>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, List<ClanMemberHistory>>>> CLAN_MEMBER_HISTORY_TYPE = new TypeToken<JsonResponse<Map<String, List<ClanMemberHistory>>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -68,8 +93,33 @@ public class ClanMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "list")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Clan>>>() {
-        });
+        return super.get(urlBuilder, CLANS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClans(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClans(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Clan>>> getClansAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "list")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLANS_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток списка кланов: страницы по 100 элементов загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param parameters Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getClans(Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<Clan> streamClans(Parameter... parameters) {
+        return streamPages(100, pageParameters -> getClansAsync(pageParameters), parameters);
     }
 
     /**
@@ -123,8 +173,105 @@ public class ClanMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("clan_id", clanId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, ClanInfo>>>() {
-        });
+        return super.post(urlBuilder, CLAN_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanInfo(String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, ClanInfo>>> getClanInfoAsync(String clanId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CLAN_INFO_TYPE);
+    }
+
+    /**
+     * Вариант метода {@link #getClanInfo(String, Parameter...)}, разбирающий ответ в карту с ключами типа int.
+     * <p>
+     * Ключи поля "data" разбираются сразу в int, без строк и упаковки, см. {@link IntObjectMap}.
+     * </p>
+     *
+     * @param clanId     Идентификатор клана
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Информация о кланах, сгруппированная по идентификатору клана
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<IntObjectMap<ClanInfo>> getClanInfoIndexed(String clanId, Parameter... parameters) throws WgApiException {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.post(urlBuilder, CLAN_INFO_INDEXED_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanInfoIndexed(String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<IntObjectMap<ClanInfo>>> getClanInfoIndexedAsync(String clanId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CLAN_INFO_INDEXED_TYPE);
+    }
+
+    /**
+     * Метод возвращает информацию о кланах по произвольному количеству идентификаторов кланов.
+     * <p>
+     * Идентификаторы разбиваются на пакеты по 100 штук (ограничение Wargaming.net Public API), пакеты
+     * отправляются параллельно, а ответы объединяются в один.
+     * </p>
+     *
+     * @param clanIds    Идентификаторы кланов
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Информация о кланах, сгруппированная по идентификатору клана
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<Map<String, ClanInfo>> getClanInfo(Collection<Integer> clanIds, Parameter... parameters) throws WgApiException {
+        return await(getClanInfoAsync(clanIds, parameters));
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanInfo(Collection, Parameter...)}.
+     *
+     * @param clanIds    Идентификаторы кланов
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён объединённым ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, ClanInfo>>> getClanInfoAsync(Collection<Integer> clanIds, Parameter... parameters) {
+        return loadAllAsync(clanIds, ids -> getClanInfoAsync(ids, parameters));
+    }
+
+    /**
+     * Метод возвращает информацию о клане по одному идентификатору.
+     * <p>
+     * Одиночные запросы с одинаковыми параметрами, пришедшие в течение короткого окна ожидания
+     * (см. {@link WgApiProperties#getBatchWindow()}), объединяются в один запрос до 100 идентификаторов.
+     * </p>
+     *
+     * @param clanId     Идентификатор клана
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён информацией о клане, либо null, если клан не найден
+     */
+    public CompletableFuture<ClanInfo> getClanInfoBatched(int clanId, Parameter... parameters) {
+        return submitBatched(batchKey(METHOD_BLOCK, "info", parameters), clanId, ids -> getClanInfoAsync(ids, parameters));
     }
 
     /**
@@ -166,8 +313,24 @@ public class ClanMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("account_id", accountId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, ClanMember>>>() {
-        });
+        return super.get(urlBuilder, CLAN_MEMBER_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanMember(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanMember(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, ClanMember>>> getClanMemberAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "accountinfo")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLAN_MEMBER_TYPE);
     }
 
 
@@ -208,8 +371,22 @@ public class ClanMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "glossary")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<ClanRoles>>() {
-        });
+        return super.get(urlBuilder, GLOSSARY_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getGlossary(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getGlossary(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<ClanRoles>> getGlossaryAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "glossary")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, GLOSSARY_TYPE);
     }
 
     /**
@@ -235,8 +412,24 @@ public class ClanMethod extends AbstractMethodBlock {
                 .withAccessToken(accessToken)
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, List<MessageBoard>>>>() {
-        });
+        return super.get(urlBuilder, CLAN_MESSAGE_BOARD_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanMessageBoard(String, Parameter...)}.
+     *
+     * @param accessToken Ключ доступа к личным данным аккаунта пользователя
+     * @param parameters  Массив необязательных параметров запроса, см. {@link #getClanMessageBoard(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<MessageBoard>>>> getClanMessageBoardAsync(String accessToken, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "messageboard")
+                .withAccessToken(accessToken)
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLAN_MESSAGE_BOARD_TYPE);
     }
 
 
@@ -281,7 +474,25 @@ public class ClanMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("account_id", accountId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, List<ClanMemberHistory>>>>() {
-        });
+        return super.get(urlBuilder, CLAN_MEMBER_HISTORY_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanMemberHistory(String, Parameter...)}.
+     * <b>Метод будет отключён.</b>
+     *
+     * @param accountId  Идентификатор аккаунта. Максимальное ограничение: 100. Минимальное значение: 1.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanMemberHistory(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    @Deprecated
+    public CompletableFuture<JsonResponse<Map<String, List<ClanMemberHistory>>>> getClanMemberHistoryAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "memberhistory")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLAN_MEMBER_HISTORY_TYPE);
     }
 }
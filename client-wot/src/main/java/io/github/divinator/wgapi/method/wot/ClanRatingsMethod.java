@@ -11,6 +11,9 @@ import io.github.divinator.wgapi.entity.wot.clanratings.TypesRatings;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 /**
  * Класс описывет Метод-блок для получения информации об рейтингах кланов в WorldOfTanks.
@@ -21,6 +24,18 @@ public class ClanRatingsMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "clanratings";
 
+    private final static TypeToken<JsonResponse<Map<String, TypesRatings>>> TYPES_RATINGS_TYPE = new TypeToken<JsonResponse<Map<String, TypesRatings>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, DatesRatings>>> DATES_RATINGS_TYPE = new TypeToken<JsonResponse<Map<String, DatesRatings>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Clan>>> CLANS_TYPE = new TypeToken<JsonResponse<Map<String, Clan>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Clan>>> CLAN_NEIGHBORS_TYPE = new TypeToken<JsonResponse<List<Clan>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -43,8 +58,20 @@ public class ClanRatingsMethod extends AbstractMethodBlock {
         WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
                 .withMethod(METHOD_BLOCK, "types");
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, TypesRatings>>>() {
-        });
+        return super.get(urlBuilder, TYPES_RATINGS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getTypesRatings()}.
+     *
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, TypesRatings>>> getTypesRatingsAsync() {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "types");
+
+        return super.getAsync(urlBuilder, TYPES_RATINGS_TYPE);
     }
 
     /**
@@ -66,8 +93,22 @@ public class ClanRatingsMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "dates")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, DatesRatings>>>() {
-        });
+        return super.get(urlBuilder, DATES_RATINGS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getDatesRatings(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getDatesRatings(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, DatesRatings>>> getDatesRatingsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "dates")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, DATES_RATINGS_TYPE);
     }
 
     /**
@@ -111,8 +152,24 @@ public class ClanRatingsMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("clan_id", clanId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Clan>>>() {
-        });
+        return super.get(urlBuilder, CLANS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClans(String, Parameter...)}.
+     *
+     * @param clanId     Идентификаторы кланов.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClans(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Clan>>> getClansAsync(String clanId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "clans")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLANS_TYPE);
     }
 
     /**
@@ -160,8 +217,26 @@ public class ClanRatingsMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("rank_field", rankField))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Clan>>>() {
-        });
+        return super.get(urlBuilder, CLAN_NEIGHBORS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanNeighbors(String, String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана
+     * @param rankField  Категория рейтинга
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanNeighbors(String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Clan>>> getClanNeighborsAsync(String clanId, String rankField, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "neighbors")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameter(new Parameter("rank_field", rankField))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLAN_NEIGHBORS_TYPE);
     }
 
     /**
@@ -210,7 +285,35 @@ public class ClanRatingsMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("rank_field", rankField))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Clan>>>() {
-        });
+        return super.get(urlBuilder, CLAN_NEIGHBORS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getTopClans(String, Parameter...)}.
+     *
+     * @param rankField  Категория рейтинга
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getTopClans(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Clan>>> getTopClansAsync(String rankField, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "top")
+                .withParameter(new Parameter("rank_field", rankField))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLAN_NEIGHBORS_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток списка лучших кланов: страницы по 50 элементов загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param rankField  Категория рейтинга
+     * @param parameters Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getTopClans(String, Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<Clan> streamTopClans(String rankField, Parameter... parameters) {
+        return streamPages(50, pageParameters -> getTopClansAsync(rankField, pageParameters), parameters);
     }
 }
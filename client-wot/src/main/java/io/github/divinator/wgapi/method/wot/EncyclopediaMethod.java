@@ -8,6 +8,7 @@ import io.github.divinator.wgapi.entity.wot.encyclopedia.Module;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Класс описывет Метод-блок для получения информации Танкопедии WorldOfTanks.
@@ -18,6 +19,51 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "encyclopedia";
 
+    private final static TypeToken<JsonResponse<Map<String, Vehicle>>> VEHICLES_TYPE = new TypeToken<JsonResponse<Map<String, Vehicle>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<IntObjectMap<Vehicle>>> VEHICLES_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<Vehicle>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, VehicleProfileSpec>>> VEHICLE_PROFILE_TYPE = new TypeToken<JsonResponse<Map<String, VehicleProfileSpec>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, List<VehicleProfile>>>> VEHICLE_PROFILES_TYPE = new TypeToken<JsonResponse<Map<String, List<VehicleProfile>>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Achievement>>> ACHIEVEMENTS_TYPE = new TypeToken<JsonResponse<Map<String, Achievement>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<EncyclopediaInfo>> INFO_TYPE = new TypeToken<JsonResponse<EncyclopediaInfo>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Arena>>> ARENAS_TYPE = new TypeToken<JsonResponse<Map<String, Arena>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Provision>>> PROVISIONS_TYPE = new TypeToken<JsonResponse<Map<String, Provision>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, PersonalMission>>> PERSONAL_MISSIONS_TYPE = new TypeToken<JsonResponse<Map<String, PersonalMission>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Booster>>> BOOSTERS_TYPE = new TypeToken<JsonResponse<Map<String, Booster>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Module>>> MODULES_TYPE = new TypeToken<JsonResponse<Map<String, Module>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<IntObjectMap<Module>>> MODULES_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<Module>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, Badge>>> BADGES_TYPE = new TypeToken<JsonResponse<Map<String, Badge>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, CrewRole>>> CREW_ROLES_TYPE = new TypeToken<JsonResponse<Map<String, CrewRole>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, CrewSkill>>> CREW_SKILLS_TYPE = new TypeToken<JsonResponse<Map<String, CrewSkill>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -79,8 +125,56 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "vehicles")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Vehicle>>>() {
-        });
+        return super.get(urlBuilder, VEHICLES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getVehicles(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVehicles(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Vehicle>>> getVehiclesAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "vehicles")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, VEHICLES_TYPE);
+    }
+
+    /**
+     * Вариант метода {@link #getVehicles(Parameter...)}, разбирающий ответ в карту с ключами типа int.
+     * <p>
+     * Ключи поля "data" разбираются сразу в int, без строк и упаковки, см. {@link IntObjectMap}.
+     * </p>
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVehicles(Parameter...)}
+     * @return Техника, сгруппированная по идентификатору техники
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом GET
+     */
+    public JsonResponse<IntObjectMap<Vehicle>> getVehiclesIndexed(Parameter... parameters) throws WgApiException {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "vehicles")
+                .withParameters(parameters);
+
+        return super.get(urlBuilder, VEHICLES_INDEXED_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getVehiclesIndexed(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVehicles(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<IntObjectMap<Vehicle>>> getVehiclesIndexedAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "vehicles")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, VEHICLES_INDEXED_TYPE);
     }
 
     /**
@@ -130,8 +224,24 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("tank_id", tankId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, VehicleProfileSpec>>>() {
-        });
+        return super.get(urlBuilder, VEHICLE_PROFILE_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getVehicleProfile(String, Parameter...)}.
+     *
+     * @param tankId     Идентификатор техники
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVehicleProfile(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, VehicleProfileSpec>>> getVehicleProfileAsync(String tankId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "vehicleprofile")
+                .withParameter(new Parameter("tank_id", tankId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, VEHICLE_PROFILE_TYPE);
     }
 
     /**
@@ -179,8 +289,24 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("tank_id", tankId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, List<VehicleProfile>>>>() {
-        });
+        return super.get(urlBuilder, VEHICLE_PROFILES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getVehicleProfiles(String, Parameter...)}.
+     *
+     * @param tankId     Идентификатор техники
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVehicleProfiles(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<VehicleProfile>>>> getVehicleProfilesAsync(String tankId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "vehicleprofiles")
+                .withParameter(new Parameter("tank_id", tankId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, VEHICLE_PROFILES_TYPE);
     }
 
     /**
@@ -220,8 +346,22 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "achievements")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Achievement>>>() {
-        });
+        return super.get(urlBuilder, ACHIEVEMENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAchievements(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAchievements(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Achievement>>> getAchievementsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "achievements")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, ACHIEVEMENTS_TYPE);
     }
 
     /**
@@ -260,8 +400,21 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "info")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<EncyclopediaInfo>>() {
-        });
+        return super.get(urlBuilder, INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getInfo(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getInfo(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<EncyclopediaInfo>> getInfoAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, INFO_TYPE);
     }
 
     /**
@@ -300,8 +453,21 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "arenas")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Arena>>>() {
-        });
+        return super.get(urlBuilder, ARENAS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getArenas(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getArenas(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Arena>>> getArenasAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "arenas")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, ARENAS_TYPE);
     }
 
     /**
@@ -351,8 +517,22 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "provisions")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Provision>>>() {
-        });
+        return super.get(urlBuilder, PROVISIONS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getProvisions(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getProvisions(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Provision>>> getProvisionsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "provisions")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, PROVISIONS_TYPE);
     }
 
     /**
@@ -395,8 +575,21 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "personalmissions")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, PersonalMission>>>() {
-        });
+        return super.get(urlBuilder, PERSONAL_MISSIONS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getPersonalMissions(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getPersonalMissions(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, PersonalMission>>> getPersonalMissionsAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "personalmissions")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, PERSONAL_MISSIONS_TYPE);
     }
 
     /**
@@ -436,8 +629,22 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "boosters")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Booster>>>() {
-        });
+        return super.get(urlBuilder, BOOSTERS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getBoosters(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getBoosters(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Booster>>> getBoostersAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "boosters")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, BOOSTERS_TYPE);
     }
 
     /**
@@ -500,8 +707,57 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "modules")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Module>>>() {
-        });
+        return super.get(urlBuilder, MODULES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getModules(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getModules(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Module>>> getModulesAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "modules")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, MODULES_TYPE);
+    }
+
+    /**
+     * Вариант метода {@link #getModules(Parameter...)}, разбирающий ответ в карту с ключами типа int.
+     * <p>
+     * Ключи поля "data" разбираются сразу в int, без строк и упаковки, см. {@link IntObjectMap}.
+     * </p>
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getModules(Parameter...)}
+     * @return Модули, сгруппированные по идентификатору модуля
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом GET
+     */
+    public JsonResponse<IntObjectMap<Module>> getModulesIndexed(Parameter... parameters) throws WgApiException {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "modules")
+                .withParameters(parameters);
+
+        return super.get(urlBuilder, MODULES_INDEXED_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getModulesIndexed(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getModules(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<IntObjectMap<Module>>> getModulesIndexedAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "modules")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, MODULES_INDEXED_TYPE);
     }
 
     /**
@@ -541,8 +797,22 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "badges")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, Badge>>>() {
-        });
+        return super.get(urlBuilder, BADGES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getBadges(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getBadges(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, Badge>>> getBadgesAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "badges")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, BADGES_TYPE);
     }
 
     /**
@@ -583,8 +853,22 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "crewroles")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, CrewRole>>>() {
-        });
+        return super.get(urlBuilder, CREW_ROLES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getCrewRoles(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getCrewRoles(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, CrewRole>>> getCrewRolesAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "crewroles")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CREW_ROLES_TYPE);
     }
 
     /**
@@ -626,7 +910,21 @@ public class EncyclopediaMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "crewskills")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, CrewSkill>>>() {
-        });
+        return super.get(urlBuilder, CREW_SKILLS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getCrewSkills(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getCrewSkills(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, CrewSkill>>> getCrewSkillsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "crewskills")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CREW_SKILLS_TYPE);
     }
 }
@@ -8,6 +8,9 @@ import io.github.divinator.wgapi.entity.wot.globalmap.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 /**
  * Класс описывет Метод-блок для получения информации о Глобальной карте WorldOfTanks.
@@ -18,6 +21,51 @@ public class GlobalMapMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "globalmap";
 
+    private final static TypeToken<JsonResponse<List<Front>>> FRONTS_TYPE = new TypeToken<JsonResponse<List<Front>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Province>>> PROVINCES_TYPE = new TypeToken<JsonResponse<List<Province>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, ClanInfo>>> CLAN_INFO_TYPE = new TypeToken<JsonResponse<Map<String, ClanInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, List<ClanProvince>>>> CLAN_PROVINCES_TYPE = new TypeToken<JsonResponse<Map<String, List<ClanProvince>>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<ClanBattle>>> CLAN_BATTLES_TYPE = new TypeToken<JsonResponse<List<ClanBattle>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Season>>> SEASONS_TYPE = new TypeToken<JsonResponse<List<Season>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, SeasonClanInfo>>> SEASON_CLAN_INFO_TYPE = new TypeToken<JsonResponse<Map<String, SeasonClanInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, SeasonAccountInfo>>> SEASON_ACCOUNT_INFO_TYPE = new TypeToken<JsonResponse<Map<String, SeasonAccountInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<SeasonClanRating>>> SEASON_CLAN_RATING_TYPE = new TypeToken<JsonResponse<List<SeasonClanRating>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Event>>> EVENTS_TYPE = new TypeToken<JsonResponse<List<Event>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, EventClanInfo>>> EVENT_CLAN_INFO_TYPE = new TypeToken<JsonResponse<Map<String, EventClanInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<EventClanRating>>> EVENT_CLAN_RATING_TYPE = new TypeToken<JsonResponse<List<EventClanRating>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, EventAccountInfo>>> EVENT_ACCOUNT_INFO_TYPE = new TypeToken<JsonResponse<Map<String, EventAccountInfo>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<EventAccountRatings>>> EVENT_ACCOUNT_RATINGS_TYPE = new TypeToken<JsonResponse<List<EventAccountRatings>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<GlobalMapInfo>> GLOBAL_MAP_INFO_TYPE = new TypeToken<JsonResponse<GlobalMapInfo>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -70,8 +118,22 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "fronts")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Front>>>() {
-        });
+        return super.get(urlBuilder, FRONTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getFronts(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getFronts(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Front>>> getFrontsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "fronts")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, FRONTS_TYPE);
     }
 
     /**
@@ -140,8 +202,36 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Province>>>() {
-        });
+        return super.get(urlBuilder, PROVINCES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getProvinces(String, Parameter...)}.
+     *
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getProvinces(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Province>>> getProvincesAsync(String frontId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "provinces")
+                .withParameter(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, PROVINCES_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток провинций Глобальной карты: страницы по 100 элементов загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param frontId    Идентификатор фронта
+     * @param parameters Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getProvinces(String, Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<Province> streamProvinces(String frontId, Parameter... parameters) {
+        return streamPages(100, pageParameters -> getProvincesAsync(frontId, pageParameters), parameters);
     }
 
     /**
@@ -167,8 +257,23 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("clan_id", clanId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, ClanInfo>>>() {
-        });
+        return super.post(urlBuilder, CLAN_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanInfo(String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanInfo(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, ClanInfo>>> getClanInfoAsync(String clanId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "claninfo")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CLAN_INFO_TYPE);
     }
 
     /**
@@ -212,8 +317,23 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("clan_id", clanId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, List<ClanProvince>>>>() {
-        });
+        return super.post(urlBuilder, CLAN_PROVINCES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanProvinces(String, Parameter...)}.
+     *
+     * @param clanId     Список идентификаторов кланов.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanProvinces(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<ClanProvince>>>> getClanProvincesAsync(String clanId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "clanprovinces")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CLAN_PROVINCES_TYPE);
     }
 
     /**
@@ -257,8 +377,23 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("clan_id", clanId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<ClanBattle>>>() {
-        });
+        return super.get(urlBuilder, CLAN_BATTLES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanBattles(String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getClanBattles(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<ClanBattle>>> getClanBattlesAsync(String clanId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "clanbattles")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, CLAN_BATTLES_TYPE);
     }
 
     /**
@@ -309,8 +444,22 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "seasons")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Season>>>() {
-        });
+        return super.get(urlBuilder, SEASONS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getSeasons(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getSeasons(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Season>>> getSeasonsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "seasons")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, SEASONS_TYPE);
     }
 
     /**
@@ -343,8 +492,29 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("vehicle_level", vehicleLevel))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, SeasonClanInfo>>>() {
-        });
+        return super.get(urlBuilder, SEASON_CLAN_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getSeasonClanInfo(String, String, String, Parameter...)}.
+     *
+     * @param clanId       Идентификатор клана.
+     * @param seasonId     Идентификатор сезона.
+     * @param vehicleLevel Перечень уровней техники.
+     * @param parameters   Массив необязательных параметров запроса, см. {@link #getSeasonClanInfo(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, SeasonClanInfo>>> getSeasonClanInfoAsync(String clanId, String seasonId, String vehicleLevel,
+                                                                       Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "seasonclaninfo")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameter(new Parameter("season_id", seasonId))
+                .withParameter(new Parameter("vehicle_level", vehicleLevel))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, SEASON_CLAN_INFO_TYPE);
     }
 
     /**
@@ -377,8 +547,29 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("vehicle_level", vehicleLevel))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, SeasonAccountInfo>>>() {
-        });
+        return super.get(urlBuilder, SEASON_ACCOUNT_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getSeasonAccountInfo(String, String, String, Parameter...)}.
+     *
+     * @param accountId    Идентификатор аккаунта.
+     * @param seasonId     Идентификатор сезона.
+     * @param vehicleLevel Перечень уровней техники.
+     * @param parameters   Массив необязательных параметров запроса, см. {@link #getSeasonAccountInfo(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, SeasonAccountInfo>>> getSeasonAccountInfoAsync(String accountId, String seasonId, String vehicleLevel,
+                                                                             Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "seasonaccountinfo")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameter(new Parameter("season_id", seasonId))
+                .withParameter(new Parameter("vehicle_level", vehicleLevel))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, SEASON_ACCOUNT_INFO_TYPE);
     }
 
     /**
@@ -411,8 +602,39 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("vehicle_level", vehicleLevel))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<SeasonClanRating>>>() {
-        });
+        return super.get(urlBuilder, SEASON_CLAN_RATING_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getSeasonClanRating(String, String, Parameter...)}.
+     *
+     * @param seasonId     Идентификатор сезона.
+     * @param vehicleLevel Уровень техники.
+     * @param parameters   Массив необязательных параметров запроса, см. {@link #getSeasonClanRating(String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<SeasonClanRating>>> getSeasonClanRatingAsync(String seasonId, String vehicleLevel, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "seasonrating")
+                .withParameter(new Parameter("season_id", seasonId))
+                .withParameter(new Parameter("vehicle_level", vehicleLevel))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, SEASON_CLAN_RATING_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток кланового рейтинга сезона: страницы по 100 элементов загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param seasonId     Идентификатор сезона
+     * @param vehicleLevel Уровень техники
+     * @param parameters   Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getSeasonClanRating(String, String, Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<SeasonClanRating> streamSeasonClanRating(String seasonId, String vehicleLevel, Parameter... parameters) {
+        return streamPages(100, pageParameters -> getSeasonClanRatingAsync(seasonId, vehicleLevel, pageParameters), parameters);
     }
 
     /**
@@ -447,8 +669,29 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("vehicle_level", vehicleLevel))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<SeasonClanRating>>>() {
-        });
+        return super.get(urlBuilder, SEASON_CLAN_RATING_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getSeasonClanRatingNeighbors(String, String, String, Parameter...)}.
+     *
+     * @param clanId       Идентификатор клана.
+     * @param seasonId     Идентификатор сезона.
+     * @param vehicleLevel Уровень техники.
+     * @param parameters   Массив необязательных параметров запроса, см. {@link #getSeasonClanRatingNeighbors(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<SeasonClanRating>>> getSeasonClanRatingNeighborsAsync(String clanId, String seasonId, String vehicleLevel,
+                                                                             Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "seasonratingneighbors")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameter(new Parameter("season_id", seasonId))
+                .withParameter(new Parameter("vehicle_level", vehicleLevel))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, SEASON_CLAN_RATING_TYPE);
     }
 
     /**
@@ -499,8 +742,22 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "events")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Event>>>() {
-        });
+        return super.get(urlBuilder, EVENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEvents(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEvents(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Event>>> getEventsAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "events")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENTS_TYPE);
     }
 
     /**
@@ -528,8 +785,28 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, EventClanInfo>>>() {
-        });
+        return super.get(urlBuilder, EVENT_CLAN_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEventClanInfo(String, String, String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана.
+     * @param eventId    Идентификатор события.
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEventClanInfo(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, EventClanInfo>>> getEventClanInfoAsync(String clanId, String eventId, String frontId,
+                                                                     Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "eventclaninfo")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameter(new Parameter("event_id", eventId))
+                .withParameter(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENT_CLAN_INFO_TYPE);
     }
 
     /**
@@ -557,8 +834,25 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameters(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<EventClanRating>>>() {
-        });
+        return super.get(urlBuilder, EVENT_CLAN_RATING_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEventClanRating(String, String, Parameter...)}.
+     *
+     * @param eventId    Идентификатор события.
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEventClanRating(String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<EventClanRating>>> getEventClanRatingAsync(String eventId, String frontId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "eventrating")
+                .withParameter(new Parameter("event_id", eventId))
+                .withParameters(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENT_CLAN_RATING_TYPE);
     }
 
     /**
@@ -589,8 +883,29 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<EventClanRating>>>() {
-        });
+        return super.get(urlBuilder, EVENT_CLAN_RATING_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEventClanRatingNeighbors(String, String, String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана.
+     * @param eventId    Идентификатор события.
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEventClanRatingNeighbors(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<EventClanRating>>> getEventClanRatingNeighborsAsync(String clanId, String eventId, String frontId,
+                                                                           Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "eventratingneighbors")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameter(new Parameter("event_id", eventId))
+                .withParameter(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENT_CLAN_RATING_TYPE);
     }
 
 
@@ -620,8 +935,28 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, EventAccountInfo>>>() {
-        });
+        return super.get(urlBuilder, EVENT_ACCOUNT_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEventAccountInfo(String, String, String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта.
+     * @param eventId    Идентификатор события.
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEventAccountInfo(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, EventAccountInfo>>> getEventAccountInfoAsync(String accountId, String eventId, String frontId,
+                                                                           Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "eventaccountinfo")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameter(new Parameter("event_id", eventId))
+                .withParameter(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENT_ACCOUNT_INFO_TYPE);
     }
 
     /**
@@ -656,8 +991,38 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<EventAccountRatings>>>() {
-        });
+        return super.get(urlBuilder, EVENT_ACCOUNT_RATINGS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEventAccountRatings(String, String, Parameter...)}.
+     *
+     * @param eventId    Идентификатор события.
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEventAccountRatings(String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<EventAccountRatings>>> getEventAccountRatingsAsync(String eventId, String frontId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "eventaccountratings")
+                .withParameter(new Parameter("event_id", eventId))
+                .withParameter(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENT_ACCOUNT_RATINGS_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток рейтинга игроков события: страницы по 100 элементов загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param eventId    Идентификатор события
+     * @param frontId    Идентификатор фронта
+     * @param parameters Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getEventAccountRatings(String, String, Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<EventAccountRatings> streamEventAccountRatings(String eventId, String frontId, Parameter... parameters) {
+        return streamPages(100, pageParameters -> getEventAccountRatingsAsync(eventId, frontId, pageParameters), parameters);
     }
 
     /**
@@ -696,8 +1061,29 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("front_id", frontId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<EventAccountRatings>>>() {
-        });
+        return super.get(urlBuilder, EVENT_ACCOUNT_RATINGS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getEventAccountRatingNeighbors(String, String, String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта.
+     * @param eventId    Идентификатор события.
+     * @param frontId    Идентификатор фронта.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getEventAccountRatingNeighbors(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<EventAccountRatings>>> getEventAccountRatingNeighborsAsync(String accountId, String eventId, String frontId,
+                                                                                  Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "eventaccountratingneighbors")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameter(new Parameter("event_id", eventId))
+                .withParameter(new Parameter("front_id", frontId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, EVENT_ACCOUNT_RATINGS_TYPE);
     }
 
     /**
@@ -719,7 +1105,21 @@ public class GlobalMapMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "info")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<GlobalMapInfo>>() {
-        });
+        return super.get(urlBuilder, GLOBAL_MAP_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getGlobalMapInfo(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getGlobalMapInfo(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<GlobalMapInfo>> getGlobalMapInfoAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, GLOBAL_MAP_INFO_TYPE);
     }
 }
@@ -10,6 +10,7 @@ import io.github.divinator.wgapi.entity.wot.stronghold.StrongholdInformation;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Класс описывет Метод-блок для получения информации об укрепрайонах WorldOfTanks.
@@ -20,6 +21,15 @@ public class StrongholdMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "stronghold";
 
+    private final static TypeToken<JsonResponse<Map<String, StrongholdInformation>>> STRONGHOLDS_INFORMATION_TYPE = new TypeToken<JsonResponse<Map<String, StrongholdInformation>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<ClanReserve>>> CLAN_RESERVES_TYPE = new TypeToken<JsonResponse<List<ClanReserve>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<ActivateClanReserve>> ACTIVATE_CLAN_RESERVE_TYPE = new TypeToken<JsonResponse<ActivateClanReserve>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -71,8 +81,23 @@ public class StrongholdMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("clan_id", clanId))
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, StrongholdInformation>>>() {
-        });
+        return super.get(urlBuilder, STRONGHOLDS_INFORMATION_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getStrongholdsInformation(String, Parameter...)}.
+     *
+     * @param clanId     Идентификатор клана.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStrongholdsInformation(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, StrongholdInformation>>> getStrongholdsInformationAsync(String clanId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "claninfo")
+                .withParameter(new Parameter("clan_id", clanId))
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, STRONGHOLDS_INFORMATION_TYPE);
     }
 
     /**
@@ -115,8 +140,23 @@ public class StrongholdMethod extends AbstractMethodBlock {
                 .withAccessToken(accessToken)
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<List<ClanReserve>>>() {
-        });
+        return super.post(urlBuilder, CLAN_RESERVES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getClanReserves(String, Parameter...)}.
+     *
+     * @param accessToken Ключ доступа к личным данным аккаунта пользователя
+     * @param parameters  Массив необязательных параметров запроса, см. {@link #getClanReserves(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<ClanReserve>>> getClanReservesAsync(String accessToken, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "clanreserves")
+                .withAccessToken(accessToken)
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CLAN_RESERVES_TYPE);
     }
 
     /**
@@ -165,7 +205,27 @@ public class StrongholdMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("reserve_type", reserveType))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<ActivateClanReserve>>() {
-        });
+        return super.postOnce(urlBuilder, ACTIVATE_CLAN_RESERVE_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #activateClanReserve(String, String, String, Parameter...)}.
+     *
+     * @param accessToken  Ключ доступа к личным данным аккаунта пользователя
+     * @param reserveLevel Уровень кланового резерва для активации
+     * @param reserveType  Тип кланового резерва для активации
+     * @param parameters   Массив необязательных параметров запроса, см. {@link #activateClanReserve(String, String, String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<ActivateClanReserve>> activateClanReserveAsync(String accessToken, String reserveLevel, String reserveType,
+                                                                 Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "activateclanreserve")
+                .withAccessToken(accessToken)
+                .withParameter(new Parameter("reserve_level", reserveLevel))
+                .withParameter(new Parameter("reserve_type", reserveType))
+                .withParameters(parameters);
+
+        return super.postOnceAsync(urlBuilder, ACTIVATE_CLAN_RESERVE_TYPE);
     }
 }
@@ -8,9 +8,13 @@ import io.github.divinator.wgapi.client.WgApiUriBuilder;
 import io.github.divinator.wgapi.entity.JsonResponse;
 import io.github.divinator.wgapi.entity.wot.tanks.Achievement;
 import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.entity.wot.tanks.StatsColumns;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Sergey Divin
@@ -19,6 +23,15 @@ public class TanksMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "tanks";
 
+    private final static TypeToken<JsonResponse<Map<String, List<Stats>>>> STATS_TYPE = new TypeToken<JsonResponse<Map<String, List<Stats>>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<IntObjectMap<List<Stats>>>> STATS_INDEXED_TYPE = new TypeToken<JsonResponse<IntObjectMap<List<Stats>>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, List<Achievement>>>> ACHIEVEMENTS_TYPE = new TypeToken<JsonResponse<Map<String, List<Achievement>>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -88,8 +101,153 @@ public class TanksMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("account_id", accountId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, List<Stats>>>>() {
-        });
+        return super.post(urlBuilder, STATS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getStats(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<Stats>>>> getStatsAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "stats")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, STATS_TYPE);
+    }
+
+    /**
+     * Вариант метода {@link #getStats(String, Parameter...)}, разбирающий ответ в карту с ключами типа int.
+     * <p>
+     * Ключи поля "data" разбираются сразу в int, без строк и упаковки, см. {@link IntObjectMap}.
+     * </p>
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Статистика по технике, сгруппированная по идентификатору аккаунта
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<IntObjectMap<List<Stats>>> getStatsIndexed(String accountId, Parameter... parameters) throws WgApiException {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "stats")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.post(urlBuilder, STATS_INDEXED_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getStatsIndexed(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<IntObjectMap<List<Stats>>>> getStatsIndexedAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "stats")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, STATS_INDEXED_TYPE);
+    }
+
+    /**
+     * Вариант метода {@link #getStats(String, Parameter...)}, разбирающий ответ в колоночный буфер.
+     * <p>
+     * Статистика дописывается в буфер {@link StatsColumns} без создания объектов {@link Stats}; разбираются только
+     * блоки и параметры, выбранные при создании буфера. Если среди параметров нет "fields", запрашиваются только
+     * эти поля, см. {@link StatsColumns#getProjection()}. Блоки "random", "epic" и т.п. нужно запросить
+     * параметром "extra". Ответы с одинаковыми параметрами не объединяются, так как каждый дописывается в свой буфер.
+     * </p>
+     *
+     * @param accountId  Идентификатор аккаунта игрока, либо до 100 идентификаторов через запятую
+     * @param columns    Буфер, в который дописывается статистика
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Ответ, данными которого является переданный буфер
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<StatsColumns> getStatsColumns(String accountId, StatsColumns columns, Parameter... parameters) throws WgApiException {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "stats")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(withProjection(columns, parameters));
+
+        return super.post(urlBuilder, columns.getTypeAdapter());
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getStatsColumns(String, StatsColumns, Parameter...)}.
+     * <p>
+     * Буфер нельзя читать и передавать в другие запросы до завершения запроса.
+     * </p>
+     *
+     * @param accountId  Идентификатор аккаунта игрока, либо до 100 идентификаторов через запятую
+     * @param columns    Буфер, в который дописывается статистика
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом, данными которого является переданный буфер
+     */
+    public CompletableFuture<JsonResponse<StatsColumns>> getStatsColumnsAsync(String accountId, StatsColumns columns, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "stats")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(withProjection(columns, parameters));
+
+        return super.postAsync(urlBuilder, columns.getTypeAdapter());
+    }
+
+    /**
+     * Метод возвращает статистику по технике игроков по произвольному количеству идентификаторов аккаунтов.
+     * <p>
+     * Идентификаторы разбиваются на пакеты по 100 штук (ограничение Wargaming.net Public API), пакеты
+     * отправляются параллельно, а ответы объединяются в один.
+     * </p>
+     *
+     * @param accountIds Идентификаторы аккаунтов игроков
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Статистика по технике игроков, сгруппированная по идентификатору аккаунта
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    public JsonResponse<Map<String, List<Stats>>> getStats(Collection<Integer> accountIds, Parameter... parameters) throws WgApiException {
+        return await(getStatsAsync(accountIds, parameters));
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getStats(Collection, Parameter...)}.
+     *
+     * @param accountIds Идентификаторы аккаунтов игроков
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён объединённым ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<Stats>>>> getStatsAsync(Collection<Integer> accountIds, Parameter... parameters) {
+        return loadAllAsync(accountIds, ids -> getStatsAsync(ids, parameters));
+    }
+
+    /**
+     * Метод возвращает статистику по технике игрока по одному идентификатору.
+     * <p>
+     * Одиночные запросы с одинаковыми параметрами, пришедшие в течение короткого окна ожидания
+     * (см. {@link WgApiProperties#getBatchWindow()}), объединяются в один запрос до 100 идентификаторов.
+     * </p>
+     *
+     * @param accountId  Идентификатор аккаунта игрока
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getStats(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён статистикой по технике игрока, либо null, если аккаунт не найден
+     */
+    public CompletableFuture<List<Stats>> getStatsBatched(int accountId, Parameter... parameters) {
+        return submitBatched(batchKey(METHOD_BLOCK, "stats", parameters), accountId, ids -> getStatsAsync(ids, parameters));
     }
 
     /**
@@ -149,7 +307,42 @@ public class TanksMethod extends AbstractMethodBlock {
                 .withParameter(new Parameter("account_id", accountId))
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, List<Achievement>>>>() {
-        });
+        return super.post(urlBuilder, ACHIEVEMENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAchievements(String, Parameter...)}.
+     *
+     * @param accountId  Идентификатор аккаунта игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAchievements(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<Achievement>>>> getAchievementsAsync(String accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "achievements")
+                .withParameter(new Parameter("account_id", accountId))
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, ACHIEVEMENTS_TYPE);
+    }
+
+    /**
+     * Метод добавляет к параметрам запроса поля колоночного буфера, если параметр "fields" не задан.
+     *
+     * @param columns    Колоночный буфер
+     * @param parameters Параметры запроса
+     * @return Параметры запроса с параметром "fields"
+     */
+    private static Parameter[] withProjection(StatsColumns columns, Parameter... parameters) {
+        for (Parameter parameter : parameters) {
+            if ("fields".equals(parameter.getName())) {
+                return parameters;
+            }
+        }
+
+        Parameter[] result = Arrays.copyOf(parameters, parameters.length + 1);
+        result[parameters.length] = columns.getProjection();
+        return result;
     }
 }
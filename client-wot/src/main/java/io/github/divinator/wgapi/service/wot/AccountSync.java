@@ -0,0 +1,159 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.Crawler;
+import io.github.divinator.wgapi.client.Parameter;
+import io.github.divinator.wgapi.client.Projection;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.accounts.AccountInformation;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.method.wot.AccountsMethod;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Класс выполняет инкрементальную синхронизацию статистики по технике игроков.
+ * <p>
+ * Для каждой порции аккаунтов сначала запрашиваются только поля "last_battle_time" и "updated_at"
+ * (см. {@link AccountsMethod#getAccountsInformation(Collection, Parameter...)}), и они сравниваются с отметкой,
+ * сохранённой в {@link WatermarkStore}. Тяжёлая статистика {@link TanksMethod#getStats(Collection, Parameter...)}
+ * запрашивается только для изменившихся аккаунтов. Отметка аккаунта обновляется после того, как его статистика
+ * передана получателю, поэтому прерванная синхронизация при повторном запуске не пропускает аккаунты.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class AccountSync {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final Parameter WATERMARK_FIELDS = Projection.fields(AccountInformation.class,
+            AccountInformation::getLastBattleTime, AccountInformation::getUpdatedAt);
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final AccountsMethod accounts;
+    private final TanksMethod tanks;
+    private final WatermarkStore store;
+    private final Parameter[] parameters;
+
+    /**
+     * Конструктор объекта инкрементальной синхронизации.
+     *
+     * @param accounts   Метод-блок аккаунтов
+     * @param tanks      Метод-блок статистики по технике
+     * @param store      Хранилище отметок об изменении аккаунтов
+     * @param parameters Параметры запроса статистики по технике, см. {@link TanksMethod#getStats(String, Parameter...)}
+     */
+    public AccountSync(AccountsMethod accounts, TanksMethod tanks, WatermarkStore store, Parameter... parameters) {
+        this.accounts = accounts;
+        this.tanks = tanks;
+        this.store = store;
+        this.parameters = parameters.clone();
+    }
+
+    /**
+     * Метод синхронизирует статистику по технике указанных аккаунтов.
+     * <p>
+     * Аккаунты обрабатываются порциями по {@value #CHUNK_SIZE}; запросы внутри порции разбиваются на пакеты
+     * по 100 идентификаторов и выполняются параллельно. После каждой порции вызывается {@link WatermarkStore#flush()}.
+     * Несуществующие аккаунты пропускаются.
+     * </p>
+     *
+     * @param accountIds Идентификаторы аккаунтов игроков
+     * @param sink       Получатель статистики изменившихся аккаунтов
+     * @return Количество изменившихся аккаунтов
+     * @throws WgApiException В случае, если запрос завершился ошибкой, либо записать отметки не удалось.
+     *                        Отметки аккаунтов, переданных получателю до ошибки, сохраняются
+     */
+    public int sync(Collection<Integer> accountIds, Crawler.Sink<List<Stats>> sink) throws WgApiException {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(accountIds));
+        int changed = 0;
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            changed += syncChunk(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())), sink);
+
+            try {
+                store.flush();
+            } catch (IOException e) {
+                WgApiException exception = new WgApiException("Account watermarks could not be saved.");
+                exception.initCause(e);
+                throw exception;
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Account sync finished: %d of %d accounts changed.", changed, ids.size()));
+        }
+
+        return changed;
+    }
+
+    /**
+     * Метод синхронизирует одну порцию аккаунтов.
+     *
+     * @param ids  Идентификаторы аккаунтов игроков
+     * @param sink Получатель статистики изменившихся аккаунтов
+     * @return Количество изменившихся аккаунтов
+     * @throws WgApiException В случае, если запрос завершился ошибкой
+     */
+    private int syncChunk(List<Integer> ids, Crawler.Sink<List<Stats>> sink) throws WgApiException {
+        Map<String, AccountInformation> information = checked(accounts.getAccountsInformation(ids, WATERMARK_FIELDS));
+        Map<Integer, Long> changed = new LinkedHashMap<>();
+
+        for (int id : ids) {
+            AccountInformation account = information == null ? null : information.get(String.valueOf(id));
+
+            if (account != null) {
+                long watermark = watermark(account);
+
+                if (!Objects.equals(store.get(id), watermark)) {
+                    changed.put(id, watermark);
+                }
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<Stats>> stats = checked(tanks.getStats(changed.keySet(), parameters));
+
+        for (Map.Entry<Integer, Long> account : changed.entrySet()) {
+            sink.accept(account.getKey(), stats == null ? null : stats.get(String.valueOf(account.getKey())));
+            store.put(account.getKey(), account.getValue());
+        }
+
+        return changed.size();
+    }
+
+    /**
+     * Метод возвращает отметку аккаунта: время последнего боя в старших 32 битах и время обновления
+     * информации в младших.
+     *
+     * @param account Информация об игроке
+     * @return Отметка аккаунта
+     */
+    private static long watermark(AccountInformation account) {
+        return ((long) account.getLastBattleTime() << 32) | (account.getUpdatedAt() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Метод возвращает данные ответа, либо выбрасывает исключение, если ответ содержит ошибку.
+     *
+     * @param response Ответ от Wargaming.net Public API
+     * @param <T>      Тип данных
+     * @return Данные ответа
+     * @throws WgApiException В случае, если ответ содержит ошибку
+     */
+    private static <T> T checked(JsonResponse<T> response) throws WgApiException {
+        if (!response.isOk()) {
+            throw new WgApiException(response.getError().getExceptionCode());
+        }
+
+        return response.getData();
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.divinator.wgapi.service.wot;
+
+/**
+ * Класс описывает изменение состава клана, обнаруженное {@link ClanRosterSync}.
+ *
+ * @author Sergey Divin
+ */
+public final class ClanRosterEvent {
+
+    /**
+     * Тип изменения состава клана.
+     */
+    public enum Type {
+
+        /**
+         * Игрок вступил в клан: {@link #getRole()} - его должность.
+         */
+        JOINED,
+
+        /**
+         * Игрок покинул клан: {@link #getPreviousRole()} - его последняя должность.
+         */
+        LEFT,
+
+        /**
+         * Игрок сменил должность: {@link #getPreviousRole()} - прежняя должность, {@link #getRole()} - новая.
+         */
+        ROLE_CHANGED
+    }
+
+    private final Type type;
+    private final int clanId;
+    private final int accountId;
+    private final String previousRole;
+    private final String role;
+
+    /**
+     * Конструктор изменения состава клана.
+     *
+     * @param type         Тип изменения
+     * @param clanId       Идентификатор клана
+     * @param accountId    Идентификатор аккаунта игрока
+     * @param previousRole Прежняя должность
+     * @param role         Новая должность
+     */
+    ClanRosterEvent(Type type, int clanId, int accountId, String previousRole, String role) {
+        this.type = type;
+        this.clanId = clanId;
+        this.accountId = accountId;
+        this.previousRole = previousRole;
+        this.role = role;
+    }
+
+    /**
+     * Метод возвращает тип изменения.
+     *
+     * @return Тип изменения
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Метод возвращает идентификатор клана.
+     *
+     * @return Идентификатор клана
+     */
+    public int getClanId() {
+        return clanId;
+    }
+
+    /**
+     * Метод возвращает идентификатор аккаунта игрока.
+     *
+     * @return Идентификатор аккаунта игрока
+     */
+    public int getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * Метод возвращает прежнюю должность игрока (техническое название, например "private").
+     *
+     * @return Прежняя должность, либо null для {@link Type#JOINED}
+     */
+    public String getPreviousRole() {
+        return previousRole;
+    }
+
+    /**
+     * Метод возвращает новую должность игрока (техническое название, например "private").
+     *
+     * @return Новая должность, либо null для {@link Type#LEFT}
+     */
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s clan %d account %d: %s -> %s", type, clanId, accountId, previousRole, role);
+    }
+}
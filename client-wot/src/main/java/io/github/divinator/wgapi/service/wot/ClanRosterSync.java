@@ -0,0 +1,301 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.Parameter;
+import io.github.divinator.wgapi.client.Projection;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.clan.ClanInfo;
+import io.github.divinator.wgapi.method.wot.ClanMethod;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Класс синхронизирует составы кланов и сообщает об изменениях: вступлениях, уходах и сменах должностей.
+ * <p>
+ * Информация о кланах запрашивается методом {@link ClanMethod#getClanInfo(Collection, Parameter...)} пакетами
+ * по 100 идентификаторов, и только с полями "updated_at", "members.account_id" и "members.role"
+ * (members_key=id). По каждому клану хранится отпечаток состава - отсортированный массив идентификаторов
+ * игроков и массив кодов их должностей; сущности ответа не сохраняются. Изменения
+ * ({@link ClanRosterEvent}) формируются только для кланов, у которых изменился "updated_at" или отпечаток.
+ * </p>
+ * <p>
+ * Первая синхронизация клана запоминает его состав и изменений не формирует; текущий состав можно получить
+ * методом {@link #getMembers(int)}.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class ClanRosterSync {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int[] NO_MEMBERS = new int[0];
+    private static final byte[] NO_ROLES = new byte[0];
+
+    private static final Parameter MEMBERS_KEY = new Parameter("members_key", "id");
+    private static final Parameter ROSTER_FIELDS = Projection.fields(ClanInfo.class,
+            "updated_at", "members.account_id", "members.role");
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final ClanMethod clans;
+    private final Parameter[] parameters;
+    private final Map<Integer, Roster> rosters = new HashMap<>();
+    private final Map<String, Byte> roleCodes = new HashMap<>();
+    private final List<String> roles = new ArrayList<>();
+
+    /**
+     * Конструктор объекта синхронизации составов кланов.
+     *
+     * @param clans      Метод-блок кланов
+     * @param parameters Дополнительные параметры запроса, например {@link io.github.divinator.wgapi.client.Deadline}
+     */
+    public ClanRosterSync(ClanMethod clans, Parameter... parameters) {
+        this.clans = clans;
+        this.parameters = Arrays.copyOf(parameters, parameters.length + 2);
+        this.parameters[parameters.length] = MEMBERS_KEY;
+        this.parameters[parameters.length + 1] = ROSTER_FIELDS;
+    }
+
+    /**
+     * Метод синхронизирует составы указанных кланов.
+     * <p>
+     * Кланы обрабатываются порциями по {@value #CHUNK_SIZE}; изменения передаются получателю после разбора
+     * каждой порции. Клан, который больше не существует, считается опустевшим.
+     * </p>
+     *
+     * @param clanIds  Идентификаторы кланов
+     * @param listener Получатель изменений составов
+     * @return Количество кланов, у которых изменился "updated_at" или состав
+     * @throws WgApiException В случае, если запрос завершился ошибкой. Составы кланов из обработанных
+     *                        до ошибки порций сохраняются
+     */
+    public synchronized int sync(Collection<Integer> clanIds, Consumer<ClanRosterEvent> listener) throws WgApiException {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(clanIds));
+        List<ClanRosterEvent> events = new ArrayList<>();
+        int changed = 0;
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            Map<String, ClanInfo> information = checked(clans.getClanInfo(chunk, parameters));
+
+            for (int clanId : chunk) {
+                ClanInfo info = information == null ? null : information.get(String.valueOf(clanId));
+
+                if (apply(clanId, info, events)) {
+                    changed++;
+                }
+            }
+
+            events.forEach(listener);
+            events.clear();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Clan roster sync finished: %d of %d clans changed.", changed, ids.size()));
+        }
+
+        return changed;
+    }
+
+    /**
+     * Метод возвращает идентификаторы игроков клана по последней синхронизации.
+     *
+     * @param clanId Идентификатор клана
+     * @return Идентификаторы игроков по возрастанию, либо пустой массив, если клан не синхронизирован
+     */
+    public synchronized int[] getMembers(int clanId) {
+        Roster roster = rosters.get(clanId);
+        return roster == null ? NO_MEMBERS : roster.members.clone();
+    }
+
+    /**
+     * Метод возвращает количество синхронизированных кланов.
+     *
+     * @return Количество кланов
+     */
+    public synchronized int size() {
+        return rosters.size();
+    }
+
+    /**
+     * Метод сравнивает состав клана с сохранённым отпечатком и запоминает новый.
+     *
+     * @param clanId Идентификатор клана
+     * @param info   Информация о клане, либо null, если клан не существует
+     * @param events Изменения составов
+     * @return true, если изменился "updated_at" или состав клана
+     */
+    private boolean apply(int clanId, ClanInfo info, List<ClanRosterEvent> events) {
+        Roster previous = rosters.get(clanId);
+
+        if (info == null) {
+            if (previous == null) {
+                return false;
+            }
+
+            rosters.remove(clanId);
+            diff(clanId, previous, Roster.EMPTY, events);
+            return true;
+        }
+
+        Roster next = roster(info);
+
+        if (previous != null && previous.updatedAt == next.updatedAt && previous.sameMembers(next)) {
+            return false;
+        }
+
+        rosters.put(clanId, next);
+
+        if (previous == null) {
+            return false;
+        }
+
+        diff(clanId, previous, next, events);
+        return true;
+    }
+
+    /**
+     * Метод добавляет изменения состава клана между двумя отпечатками.
+     *
+     * @param clanId   Идентификатор клана
+     * @param previous Прежний отпечаток
+     * @param next     Новый отпечаток
+     * @param events   Изменения составов
+     */
+    private void diff(int clanId, Roster previous, Roster next, List<ClanRosterEvent> events) {
+        int i = 0;
+        int j = 0;
+
+        while (i < previous.members.length || j < next.members.length) {
+            int left = i < previous.members.length ? previous.members[i] : Integer.MAX_VALUE;
+            int right = j < next.members.length ? next.members[j] : Integer.MAX_VALUE;
+
+            if (left < right) {
+                events.add(new ClanRosterEvent(ClanRosterEvent.Type.LEFT, clanId, left, role(previous.roles[i]), null));
+                i++;
+            } else if (left > right) {
+                events.add(new ClanRosterEvent(ClanRosterEvent.Type.JOINED, clanId, right, null, role(next.roles[j])));
+                j++;
+            } else {
+                if (previous.roles[i] != next.roles[j]) {
+                    events.add(new ClanRosterEvent(ClanRosterEvent.Type.ROLE_CHANGED, clanId, left,
+                            role(previous.roles[i]), role(next.roles[j])));
+                }
+
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Метод строит отпечаток состава клана.
+     *
+     * @param info Информация о клане
+     * @return Отпечаток состава клана
+     */
+    private Roster roster(ClanInfo info) {
+        Map<String, ClanInfo.Member> members = info.getMembers();
+
+        if (members == null || members.isEmpty()) {
+            return new Roster(info.getUpdatedAt(), NO_MEMBERS, NO_ROLES);
+        }
+
+        // Идентификатор и код должности упаковываются в одно число, чтобы отсортировать их вместе.
+        long[] packed = new long[members.size()];
+        int count = 0;
+
+        for (Map.Entry<String, ClanInfo.Member> entry : members.entrySet()) {
+            ClanInfo.Member member = entry.getValue();
+            int accountId = member != null && member.getAccountId() != 0
+                    ? member.getAccountId()
+                    : Integer.parseInt(entry.getKey());
+            packed[count++] = ((long) accountId << 8) | (roleCode(member == null ? null : member.getRole()) & 0xFF);
+        }
+
+        Arrays.sort(packed);
+
+        int[] ids = new int[count];
+        byte[] codes = new byte[count];
+
+        for (int i = 0; i < count; i++) {
+            ids[i] = (int) (packed[i] >>> 8);
+            codes[i] = (byte) packed[i];
+        }
+
+        return new Roster(info.getUpdatedAt(), ids, codes);
+    }
+
+    /**
+     * Метод возвращает код должности, добавляя новую должность в словарь.
+     *
+     * @param role Техническое название должности
+     * @return Код должности
+     */
+    private byte roleCode(String role) {
+        Byte code = roleCodes.get(role);
+
+        if (code == null) {
+            if (roles.size() > 0xFF) {
+                throw new IllegalStateException("Too many clan roles.");
+            }
+
+            code = (byte) roles.size();
+            roles.add(role);
+            roleCodes.put(role, code);
+        }
+
+        return code;
+    }
+
+    /**
+     * Метод возвращает техническое название должности по коду.
+     *
+     * @param code Код должности
+     * @return Техническое название должности
+     */
+    private String role(byte code) {
+        return roles.get(code & 0xFF);
+    }
+
+    /**
+     * Метод возвращает данные ответа, либо выбрасывает исключение, если ответ содержит ошибку.
+     *
+     * @param response Ответ от Wargaming.net Public API
+     * @param <T>      Тип данных
+     * @return Данные ответа
+     * @throws WgApiException В случае, если ответ содержит ошибку
+     */
+    private static <T> T checked(JsonResponse<T> response) throws WgApiException {
+        if (!response.isOk()) {
+            throw new WgApiException(response.getError().getExceptionCode());
+        }
+
+        return response.getData();
+    }
+
+    /**
+     * Отпечаток состава клана.
+     */
+    private static final class Roster {
+
+        private static final Roster EMPTY = new Roster(0, NO_MEMBERS, NO_ROLES);
+
+        private final int updatedAt;
+        private final int[] members;
+        private final byte[] roles;
+
+        private Roster(int updatedAt, int[] members, byte[] roles) {
+            this.updatedAt = updatedAt;
+            this.members = members;
+            this.roles = roles;
+        }
+
+        private boolean sameMembers(Roster other) {
+            return Arrays.equals(members, other.members) && Arrays.equals(roles, other.roles);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package io.github.divinator.wgapi.service.wot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Класс описывает двоичный файл с данными энциклопедии, отображаемый в память.
+ * <p>
+ * Файл состоит из заголовка, Json-представления {@link io.github.divinator.wgapi.entity.wot.encyclopedia.EncyclopediaInfo}
+ * и разделов. Каждый раздел содержит отсортированный индекс "ключ - смещение - длина" и Json-представления
+ * сущностей. При открытии файла читаются только заголовок и индексы, а сущность разбирается при первом
+ * обращении к ней, поэтому открытие файла не зависит от объёма данных.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+final class EncyclopediaFile {
+
+    private static final int MAGIC = 0x57474543;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Gson GSON = new Gson();
+
+    private final ByteBuffer buffer;
+    private final String info;
+    private final Map<String, SectionIndex> sections;
+
+    private EncyclopediaFile(ByteBuffer buffer, String info, Map<String, SectionIndex> sections) {
+        this.buffer = buffer;
+        this.info = info;
+        this.sections = sections;
+    }
+
+    /**
+     * Метод отображает файл в память и читает его индексы.
+     *
+     * @param file Файл данных энциклопедии
+     * @return Открытый файл данных энциклопедии
+     * @throws IOException В случае, если файл не удалось прочитать, либо его формат не поддерживается
+     */
+    static EncyclopediaFile open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException(String.format("Unsupported encyclopedia file format: %s", file));
+            }
+
+            String info = readString(buffer);
+            int sectionCount = buffer.getInt();
+            Map<String, SectionIndex> sections = new HashMap<>();
+
+            for (int i = 0; i < sectionCount; i++) {
+                String name = readString(buffer);
+                int count = buffer.getInt();
+                String[] keys = new String[count];
+                int[] offsets = new int[count];
+                int[] lengths = new int[count];
+
+                for (int entry = 0; entry < count; entry++) {
+                    keys[entry] = readString(buffer);
+                    offsets[entry] = buffer.getInt();
+                    lengths[entry] = buffer.getInt();
+                }
+
+                int dataLength = buffer.getInt();
+                int dataStart = buffer.position();
+
+                if (dataLength < 0 || dataStart + dataLength > buffer.limit()) {
+                    throw new IOException(String.format("Truncated encyclopedia file: %s", file));
+                }
+
+                buffer.position(dataStart + dataLength);
+                sections.put(name, new SectionIndex(keys, offsets, lengths, dataStart));
+            }
+
+            return new EncyclopediaFile(buffer, info, sections);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException(String.format("Corrupted encyclopedia file: %s", file), e);
+        }
+    }
+
+    /**
+     * Метод записывает данные энциклопедии в файл.
+     * <p>
+     * Файл сначала записывается во временный файл рядом с целевым и затем переименовывается,
+     * поэтому читатели никогда не видят частично записанный файл.
+     * </p>
+     *
+     * @param file     Файл данных энциклопедии
+     * @param info     Информация об энциклопедии
+     * @param sections Разделы: название раздела и сущности раздела по ключу
+     * @throws IOException В случае, если записать файл не удалось
+     */
+    static void write(Path file, Object info, Map<String, ? extends Map<?, ?>> sections) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, GSON.toJson(info));
+                out.writeInt(sections.size());
+
+                for (Map.Entry<String, ? extends Map<?, ?>> section : sections.entrySet()) {
+                    writeSection(out, section.getKey(), section.getValue());
+                }
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Метод возвращает информацию об энциклопедии, сохранённую в файле.
+     *
+     * @param type Класс информации об энциклопедии
+     * @param <T>  Тип информации об энциклопедии
+     * @return Информация об энциклопедии
+     */
+    <T> T getInfo(Class<T> type) {
+        return GSON.fromJson(info, type);
+    }
+
+    /**
+     * Метод возвращает раздел файла в виде неизменяемой карты, сущности которой разбираются при первом обращении.
+     *
+     * @param name      Название раздела
+     * @param type      Класс сущности
+     * @param keyFormat Функция, преобразующая ключ карты в ключ индекса
+     * @param keyParse  Функция, преобразующая ключ индекса в ключ карты
+     * @param <K>       Тип ключа
+     * @param <V>       Тип сущности
+     * @return Раздел файла, либо пустая карта, если раздела нет
+     */
+    <K, V> Map<K, V> getSection(String name, Class<V> type, Function<K, String> keyFormat, Function<String, K> keyParse) {
+        SectionIndex index = sections.get(name);
+        return index == null
+                ? Collections.emptyMap()
+                : new MappedSection<>(buffer, index, type, keyFormat, keyParse);
+    }
+
+    private static void writeSection(DataOutputStream out, String name, Map<?, ?> entities) throws IOException {
+        SortedMap<String, byte[]> entries = new TreeMap<>();
+
+        for (Map.Entry<?, ?> entity : entities.entrySet()) {
+            entries.put(String.valueOf(entity.getKey()), GSON.toJson(entity.getValue()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        writeString(out, name);
+        out.writeInt(entries.size());
+
+        int offset = 0;
+
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(offset);
+            out.writeInt(entry.getValue().length);
+            offset += entry.getValue().length;
+        }
+
+        out.writeInt(offset);
+
+        for (byte[] json : entries.values()) {
+            out.write(json);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Индекс раздела: отсортированные ключи, смещения и длины сущностей.
+     */
+    private static final class SectionIndex {
+
+        private final String[] keys;
+        private final int[] offsets;
+        private final int[] lengths;
+        private final int dataStart;
+
+        private SectionIndex(String[] keys, int[] offsets, int[] lengths, int dataStart) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.dataStart = dataStart;
+        }
+    }
+
+    /**
+     * Неизменяемая карта сущностей раздела, отображённого в память.
+     * <p>
+     * Разобранные сущности запоминаются без блокировок; при одновременном первом обращении сущность
+     * может быть разобрана несколько раз, но все обращения затем видят один и тот же объект.
+     * </p>
+     *
+     * @param <K> Тип ключа
+     * @param <V> Тип сущности
+     */
+    private static final class MappedSection<K, V> extends AbstractMap<K, V> {
+
+        private final ByteBuffer buffer;
+        private final SectionIndex index;
+        private final Class<V> type;
+        private final Function<K, String> keyFormat;
+        private final Function<String, K> keyParse;
+        private final AtomicReferenceArray<V> decoded;
+
+        private MappedSection(ByteBuffer buffer, SectionIndex index, Class<V> type,
+                              Function<K, String> keyFormat, Function<String, K> keyParse) {
+            this.buffer = buffer;
+            this.index = index;
+            this.type = type;
+            this.keyFormat = keyFormat;
+            this.keyParse = keyParse;
+            this.decoded = new AtomicReferenceArray<>(index.keys.length);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            int position;
+
+            try {
+                position = Arrays.binarySearch(index.keys, keyFormat.apply((K) key));
+            } catch (ClassCastException e) {
+                return null;
+            }
+
+            return position < 0 ? null : decode(position);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return index.keys.length;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < index.keys.length;
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+
+                            int current = position++;
+                            return new SimpleImmutableEntry<>(keyParse.apply(index.keys[current]), decode(current));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return index.keys.length;
+                }
+            };
+        }
+
+        private V decode(int position) {
+            V value = decoded.get(position);
+
+            if (value == null) {
+                ByteBuffer slice = buffer.duplicate();
+                slice.position(index.dataStart + index.offsets[position]);
+                slice.limit(index.dataStart + index.offsets[position] + index.lengths[position]);
+
+                try {
+                    value = GSON.fromJson(StandardCharsets.UTF_8.decode(slice).toString(), type);
+                } catch (JsonParseException e) {
+                    throw new IllegalStateException(String.format("Corrupted encyclopedia entry \"%s\".", index.keys[position]), e);
+                }
+
+                if (!decoded.compareAndSet(position, null, value)) {
+                    value = decoded.get(position);
+                }
+            }
+
+            return value;
+        }
+    }
+}
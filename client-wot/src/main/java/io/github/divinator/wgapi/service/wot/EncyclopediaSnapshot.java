@@ -0,0 +1,478 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.Parameter;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.encyclopedia.*;
+import io.github.divinator.wgapi.method.wot.EncyclopediaMethod;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Класс описывает снимок справочных данных энциклопедии World of Tanks в памяти.
+ * <p>
+ * Техника, модули, достижения, снаряжение, знаки классности, навыки экипажа и резервы меняются только
+ * с обновлениями игры. Снимок загружает их один раз и затем опрашивает только {@link EncyclopediaMethod#getInfo(Parameter...)}:
+ * техника и модули перезагружаются при изменении "tanks_updated_at", остальные разделы - при изменении "game_version".
+ * Новый снимок собирается целиком и подменяет предыдущий атомарно, поэтому чтение данных не блокируется,
+ * а каждое обращение видит согласованное состояние.
+ * </p>
+ * <p>
+ * Снимок может храниться в двоичном файле (см. {@link #restore(Path)}): при следующем запуске файл отображается
+ * в память, и данные доступны сразу, без запросов и разбора Json целиком, а актуальность проверяется
+ * в фоне через {@link #refreshAsync(Executor)} или {@link #schedule(ScheduledExecutorService, long, TimeUnit)}.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class EncyclopediaSnapshot {
+
+    private static final int PAGE_LIMIT = 100;
+
+    private static final String VEHICLES = "vehicles";
+    private static final String MODULES = "modules";
+    private static final String ACHIEVEMENTS = "achievements";
+    private static final String PROVISIONS = "provisions";
+    private static final String BADGES = "badges";
+    private static final String CREW_SKILLS = "crewskills";
+    private static final String BOOSTERS = "boosters";
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final EncyclopediaMethod encyclopedia;
+    private final Parameter[] parameters;
+
+    private volatile Data data = Data.EMPTY;
+    private volatile Path file;
+
+    /**
+     * Конструктор снимка справочных данных энциклопедии.
+     * <p>
+     * Данные загружаются при первом вызове {@link #refresh()}.
+     * </p>
+     *
+     * @param encyclopedia Метод-блок энциклопедии
+     * @param parameters   Параметры, передаваемые во все запросы к энциклопедии, например язык локализации
+     */
+    public EncyclopediaSnapshot(EncyclopediaMethod encyclopedia, Parameter... parameters) {
+        this.encyclopedia = encyclopedia;
+        this.parameters = parameters.clone();
+    }
+
+    /**
+     * Метод проверяет актуальность снимка и перезагружает изменившиеся разделы.
+     * <p>
+     * Выполняется один запрос {@link EncyclopediaMethod#getInfo(Parameter...)}; если данные актуальны,
+     * другие запросы не отправляются.
+     * </p>
+     *
+     * @return true, если снимок был обновлён
+     * @throws WgApiException В случае, если загрузить данные не удалось. Предыдущий снимок при этом сохраняется
+     */
+    public synchronized boolean refresh() throws WgApiException {
+        EncyclopediaInfo info = checked(encyclopedia.getInfo(parameters));
+        Data current = data;
+
+        boolean tanksChanged = current.info == null || current.info.getTanksUpdatedAt() != info.getTanksUpdatedAt();
+        boolean versionChanged = current.info == null || !Objects.equals(current.info.getGameVersion(), info.getGameVersion());
+
+        if (!tanksChanged && !versionChanged) {
+            return false;
+        }
+
+        Data next = new Data(
+                info,
+                tanksChanged ? index(loadPages(encyclopedia::getVehicles), Vehicle::getTankId) : current.vehicles,
+                tanksChanged ? index(loadPages(encyclopedia::getModules), Module::getModuleId) : current.modules,
+                versionChanged ? copy(checked(encyclopedia.getAchievements(parameters))) : current.achievements,
+                versionChanged ? index(loadPages(encyclopedia::getProvisions), Provision::getProvisionId) : current.provisions,
+                versionChanged ? index(checked(encyclopedia.getBadges(parameters)), Badge::getBadgeId) : current.badges,
+                versionChanged ? copy(checked(encyclopedia.getCrewSkills(parameters))) : current.crewSkills,
+                versionChanged ? index(checked(encyclopedia.getBoosters(parameters)), Booster::getBoosterId) : current.boosters
+        );
+
+        data = next;
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(
+                    "Encyclopedia snapshot updated: tanks_updated_at=%d, game_version=%s, vehicles=%d, modules=%d.",
+                    info.getTanksUpdatedAt(), info.getGameVersion(), next.vehicles.size(), next.modules.size()
+            ));
+        }
+
+        Path target = file;
+
+        if (target != null) {
+            try {
+                write(target, next);
+            } catch (IOException e) {
+                log.warn(String.format("Encyclopedia snapshot could not be saved to %s.", target), e);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Метод асинхронно проверяет актуальность снимка и перезагружает изменившиеся разделы.
+     * <p>
+     * Предназначен для фоновой проверки данных, восстановленных из файла методом {@link #restore(Path)}:
+     * пока проверка выполняется, снимок продолжает отдавать восстановленные данные.
+     * </p>
+     *
+     * @param executor Исполнитель, в котором выполняется проверка
+     * @return Объект {@link CompletableFuture}, который будет завершён значением true, если снимок был обновлён,
+     * либо исключением {@link WgApiException}, если загрузить данные не удалось
+     */
+    public CompletableFuture<Boolean> refreshAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return refresh();
+            } catch (WgApiException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Метод восстанавливает снимок из файла и запоминает файл для сохранения последующих обновлений.
+     * <p>
+     * Файл отображается в память; читаются только заголовок и индексы, а сущности разбираются
+     * при первом обращении к ним. Если файла нет или он повреждён, снимок остаётся пустым, а файл будет
+     * записан заново после первого успешного вызова {@link #refresh()}. Восстановленные данные
+     * не проверяются на актуальность: для этого следует вызвать {@link #refreshAsync(Executor)}.
+     * </p>
+     *
+     * @param file Файл снимка
+     * @return true, если снимок был восстановлен из файла
+     */
+    public synchronized boolean restore(Path file) {
+        this.file = file;
+
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+
+        try {
+            EncyclopediaFile source = EncyclopediaFile.open(file);
+            Function<Integer, String> intKey = String::valueOf;
+            Function<String, String> stringKey = Function.identity();
+
+            data = new Data(
+                    source.getInfo(EncyclopediaInfo.class),
+                    source.getSection(VEHICLES, Vehicle.class, intKey, Integer::valueOf),
+                    source.getSection(MODULES, Module.class, intKey, Integer::valueOf),
+                    source.getSection(ACHIEVEMENTS, Achievement.class, stringKey, stringKey),
+                    source.getSection(PROVISIONS, Provision.class, intKey, Integer::valueOf),
+                    source.getSection(BADGES, Badge.class, intKey, Integer::valueOf),
+                    source.getSection(CREW_SKILLS, CrewSkill.class, stringKey, stringKey),
+                    source.getSection(BOOSTERS, Booster.class, intKey, Integer::valueOf)
+            );
+        } catch (IOException | RuntimeException e) {
+            log.warn(String.format("Encyclopedia snapshot could not be restored from %s.", file), e);
+            return false;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Encyclopedia snapshot restored from %s: tanks_updated_at=%d, game_version=%s.",
+                    file, data.info.getTanksUpdatedAt(), data.info.getGameVersion()));
+        }
+
+        return true;
+    }
+
+    /**
+     * Метод сохраняет текущий снимок в файл.
+     *
+     * @param file Файл снимка
+     * @throws IOException           В случае, если записать файл не удалось
+     * @throws IllegalStateException В случае, если снимок ещё не загружен
+     */
+    public void save(Path file) throws IOException {
+        Data current = data;
+
+        if (current.info == null) {
+            throw new IllegalStateException("Encyclopedia snapshot is not loaded.");
+        }
+
+        write(file, current);
+    }
+
+    /**
+     * Метод запускает периодическую проверку актуальности снимка.
+     * <p>
+     * Ошибки проверки, в том числе непредвиденные исключения (например, при разборе повреждённой записи
+     * восстановленного файла), записываются в журнал и не прерывают последующие проверки.
+     * </p>
+     *
+     * @param scheduler Планировщик
+     * @param period    Период проверки
+     * @param unit      Единица измерения периода
+     * @return Объект {@link ScheduledFuture}, отмена которого останавливает проверку
+     */
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, long period, TimeUnit unit) {
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (WgApiException | RuntimeException e) {
+                // Исключение, вышедшее из задачи, отменило бы все последующие проверки
+                log.warn("Encyclopedia snapshot refresh failed.", e);
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * Метод возвращает информацию об энциклопедии, по которой построен снимок.
+     *
+     * @return Информация об энциклопедии, либо null, если снимок ещё не загружен
+     */
+    public EncyclopediaInfo getInfo() {
+        return data.info;
+    }
+
+    /**
+     * Метод возвращает технику по идентификатору.
+     *
+     * @param tankId Идентификатор техники
+     * @return Техника, либо null, если она не найдена
+     */
+    public Vehicle getVehicle(int tankId) {
+        return data.vehicles.get(tankId);
+    }
+
+    /**
+     * Метод возвращает всю технику, проиндексированную по идентификатору.
+     *
+     * @return Неизменяемая карта техники
+     */
+    public Map<Integer, Vehicle> getVehicles() {
+        return data.vehicles;
+    }
+
+    /**
+     * Метод возвращает модуль по идентификатору.
+     *
+     * @param moduleId Идентификатор модуля
+     * @return Модуль, либо null, если он не найден
+     */
+    public Module getModule(int moduleId) {
+        return data.modules.get(moduleId);
+    }
+
+    /**
+     * Метод возвращает все модули, проиндексированные по идентификатору.
+     *
+     * @return Неизменяемая карта модулей
+     */
+    public Map<Integer, Module> getModules() {
+        return data.modules;
+    }
+
+    /**
+     * Метод возвращает достижения, проиндексированные по названию.
+     *
+     * @return Неизменяемая карта достижений
+     */
+    public Map<String, Achievement> getAchievements() {
+        return data.achievements;
+    }
+
+    /**
+     * Метод возвращает снаряжение и оборудование по идентификатору.
+     *
+     * @param provisionId Идентификатор снаряжения или оборудования
+     * @return Снаряжение или оборудование, либо null, если оно не найдено
+     */
+    public Provision getProvision(int provisionId) {
+        return data.provisions.get(provisionId);
+    }
+
+    /**
+     * Метод возвращает снаряжение и оборудование, проиндексированные по идентификатору.
+     *
+     * @return Неизменяемая карта снаряжения и оборудования
+     */
+    public Map<Integer, Provision> getProvisions() {
+        return data.provisions;
+    }
+
+    /**
+     * Метод возвращает знаки классности, проиндексированные по идентификатору.
+     *
+     * @return Неизменяемая карта знаков классности
+     */
+    public Map<Integer, Badge> getBadges() {
+        return data.badges;
+    }
+
+    /**
+     * Метод возвращает навыки экипажа, проиндексированные по ключу ответа Wargaming.net Public API.
+     *
+     * @return Неизменяемая карта навыков экипажа
+     */
+    public Map<String, CrewSkill> getCrewSkills() {
+        return data.crewSkills;
+    }
+
+    /**
+     * Метод возвращает резервы, проиндексированные по идентификатору.
+     *
+     * @return Неизменяемая карта резервов
+     */
+    public Map<Integer, Booster> getBoosters() {
+        return data.boosters;
+    }
+
+    /**
+     * Метод записывает состояние снимка в файл.
+     *
+     * @param file Файл снимка
+     * @param data Состояние снимка
+     * @throws IOException В случае, если записать файл не удалось
+     */
+    private static void write(Path file, Data data) throws IOException {
+        Map<String, Map<?, ?>> sections = new LinkedHashMap<>();
+        sections.put(VEHICLES, data.vehicles);
+        sections.put(MODULES, data.modules);
+        sections.put(ACHIEVEMENTS, data.achievements);
+        sections.put(PROVISIONS, data.provisions);
+        sections.put(BADGES, data.badges);
+        sections.put(CREW_SKILLS, data.crewSkills);
+        sections.put(BOOSTERS, data.boosters);
+
+        EncyclopediaFile.write(file, data.info, sections);
+    }
+
+    /**
+     * Метод загружает все страницы постраничного метода энциклопедии.
+     *
+     * @param loader Постраничный метод энциклопедии
+     * @param <V>    Тип сущности
+     * @return Сущности со всех страниц
+     * @throws WgApiException В случае, если загрузить страницу не удалось
+     */
+    private <V> Map<String, V> loadPages(Loader<V> loader) throws WgApiException {
+        Map<String, V> result = new HashMap<>();
+
+        for (int page = 1; ; page++) {
+            Parameter[] pageParameters = Arrays.copyOf(parameters, parameters.length + 2);
+            pageParameters[parameters.length] = new Parameter("limit", PAGE_LIMIT);
+            pageParameters[parameters.length + 1] = new Parameter("page_no", page);
+
+            JsonResponse<Map<String, V>> response = loader.load(pageParameters);
+            Map<String, V> entities = checked(response);
+
+            if (entities == null) {
+                return result;
+            }
+
+            result.putAll(entities);
+
+            int pageTotal = response.getMeta() == null ? 0 : response.getMeta().getPageTotal();
+
+            if (pageTotal > 0 ? page >= pageTotal : entities.size() < PAGE_LIMIT) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает данные ответа, либо выбрасывает исключение, если ответ содержит ошибку.
+     *
+     * @param response Ответ от Wargaming.net Public API
+     * @param <T>      Тип данных
+     * @return Данные ответа
+     * @throws WgApiException В случае, если ответ содержит ошибку
+     */
+    private static <T> T checked(JsonResponse<T> response) throws WgApiException {
+        if (!response.isOk()) {
+            throw new WgApiException(response.getError().getExceptionCode());
+        }
+
+        return response.getData();
+    }
+
+    /**
+     * Метод строит неизменяемый индекс сущностей по числовому идентификатору.
+     *
+     * @param entities Сущности
+     * @param id       Функция, возвращающая идентификатор сущности
+     * @param <V>      Тип сущности
+     * @return Неизменяемый индекс сущностей
+     */
+    private static <V> Map<Integer, V> index(Map<String, V> entities, ToIntFunction<V> id) {
+        Map<Integer, V> result = new HashMap<>();
+
+        if (entities != null) {
+            entities.values().stream().filter(Objects::nonNull).forEach(entity -> result.put(id.applyAsInt(entity), entity));
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Метод возвращает неизменяемую копию сущностей.
+     *
+     * @param entities Сущности
+     * @param <V>      Тип сущности
+     * @return Неизменяемая копия сущностей
+     */
+    private static <V> Map<String, V> copy(Map<String, V> entities) {
+        return entities == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(entities));
+    }
+
+    /**
+     * Постраничный метод энциклопедии.
+     *
+     * @param <V> Тип сущности
+     */
+    @FunctionalInterface
+    private interface Loader<V> {
+        JsonResponse<Map<String, V>> load(Parameter... parameters) throws WgApiException;
+    }
+
+    /**
+     * Неизменяемое состояние снимка.
+     */
+    private static final class Data {
+
+        private static final Data EMPTY = new Data(null, Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap());
+
+        private final EncyclopediaInfo info;
+        private final Map<Integer, Vehicle> vehicles;
+        private final Map<Integer, Module> modules;
+        private final Map<String, Achievement> achievements;
+        private final Map<Integer, Provision> provisions;
+        private final Map<Integer, Badge> badges;
+        private final Map<String, CrewSkill> crewSkills;
+        private final Map<Integer, Booster> boosters;
+
+        private Data(EncyclopediaInfo info, Map<Integer, Vehicle> vehicles, Map<Integer, Module> modules,
+                     Map<String, Achievement> achievements, Map<Integer, Provision> provisions,
+                     Map<Integer, Badge> badges, Map<String, CrewSkill> crewSkills, Map<Integer, Booster> boosters) {
+            this.info = info;
+            this.vehicles = vehicles;
+            this.modules = modules;
+            this.achievements = achievements;
+            this.provisions = provisions;
+            this.badges = badges;
+            this.crewSkills = crewSkills;
+            this.boosters = boosters;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.divinator.wgapi.service.wot;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Класс описывает хранилище отметок об изменении аккаунтов в локальном файле.
+ * <p>
+ * Отметки держатся в памяти и записываются в файл целиком при вызове {@link #flush()}. Файл сначала
+ * записывается во временный файл и затем переименовывается, поэтому прерванная запись не портит
+ * ранее сохранённые отметки.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class FileWatermarkStore implements WatermarkStore {
+
+    private final Path file;
+    private final Map<Integer, Long> watermarks = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty;
+
+    /**
+     * Конструктор хранилища, загружающий ранее сохранённые отметки.
+     *
+     * @param file Файл отметок
+     * @throws IOException В случае, если файл существует, но прочитать его не удалось
+     */
+    public FileWatermarkStore(Path file) throws IOException {
+        this.file = file;
+
+        if (Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                int count = in.readInt();
+
+                for (int i = 0; i < count; i++) {
+                    watermarks.put(in.readInt(), in.readLong());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Long get(int accountId) {
+        return watermarks.get(accountId);
+    }
+
+    @Override
+    public void put(int accountId, long watermark) {
+        watermarks.put(accountId, watermark);
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!dirty) {
+            return;
+        }
+
+        dirty = false;
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                Map<Integer, Long> snapshot = new HashMap<>(watermarks);
+                out.writeInt(snapshot.size());
+
+                for (Map.Entry<Integer, Long> entry : snapshot.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
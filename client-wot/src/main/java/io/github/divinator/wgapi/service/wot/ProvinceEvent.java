@@ -0,0 +1,132 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.entity.wot.globalmap.Province;
+
+/**
+ * Класс описывает изменение провинции Глобальной карты, обнаруженное {@link ProvinceTracker}.
+ *
+ * @author Sergey Divin
+ */
+public final class ProvinceEvent {
+
+    /**
+     * Тип изменения провинции.
+     */
+    public enum Type {
+
+        /**
+         * Сменился владелец провинции: {@link #getPreviousValue()} - прежний клан, {@link #getValue()} - новый клан
+         * (0 - провинция без владельца).
+         */
+        OWNER_CHANGED,
+
+        /**
+         * Появился новый нападающий клан: {@link #getValue()} - идентификатор клана.
+         */
+        ATTACKER_ADDED,
+
+        /**
+         * Появился новый участник высадки: {@link #getValue()} - идентификатор клана.
+         */
+        COMPETITOR_ADDED,
+
+        /**
+         * Изменилась минимальная ставка: {@link #getPreviousValue()} - прежняя ставка, {@link #getValue()} - новая.
+         */
+        BET_CHANGED,
+
+        /**
+         * Начались бои за провинцию (статус сменился на "STARTED"): {@link #getPreviousStatus()} - прежний статус.
+         */
+        BATTLE_STARTED,
+
+        /**
+         * Статус провинции сменился на любой другой: {@link #getPreviousStatus()} - прежний статус.
+         */
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final Province province;
+    private final int previousValue;
+    private final int value;
+    private final String previousStatus;
+
+    /**
+     * Конструктор изменения провинции.
+     *
+     * @param type           Тип изменения
+     * @param province       Текущее состояние провинции
+     * @param previousValue  Прежнее значение
+     * @param value          Новое значение
+     * @param previousStatus Прежний статус провинции
+     */
+    ProvinceEvent(Type type, Province province, int previousValue, int value, String previousStatus) {
+        this.type = type;
+        this.province = province;
+        this.previousValue = previousValue;
+        this.value = value;
+        this.previousStatus = previousStatus;
+    }
+
+    /**
+     * Метод возвращает тип изменения.
+     *
+     * @return Тип изменения
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Метод возвращает идентификатор провинции.
+     *
+     * @return Идентификатор провинции
+     */
+    public String getProvinceId() {
+        return province.getProvinceId();
+    }
+
+    /**
+     * Метод возвращает текущее состояние провинции, в котором обнаружено изменение.
+     *
+     * @return Провинция
+     */
+    public Province getProvince() {
+        return province;
+    }
+
+    /**
+     * Метод возвращает прежнее значение для изменений {@link Type#OWNER_CHANGED} и {@link Type#BET_CHANGED}.
+     *
+     * @return Прежнее значение, либо 0 для остальных типов
+     */
+    public int getPreviousValue() {
+        return previousValue;
+    }
+
+    /**
+     * Метод возвращает новое значение: клан для {@link Type#OWNER_CHANGED}, {@link Type#ATTACKER_ADDED}
+     * и {@link Type#COMPETITOR_ADDED}, ставку для {@link Type#BET_CHANGED}.
+     *
+     * @return Новое значение, либо 0 для изменений статуса
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Метод возвращает прежний статус провинции для {@link Type#BATTLE_STARTED} и {@link Type#STATUS_CHANGED}.
+     *
+     * @return Прежний статус, либо null
+     */
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %d -> %d, status %s -> %s",
+                type, getProvinceId(), previousValue, value, previousStatus, province.getStatus());
+    }
+}
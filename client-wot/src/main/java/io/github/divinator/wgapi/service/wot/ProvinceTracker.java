@@ -0,0 +1,342 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.Parameter;
+import io.github.divinator.wgapi.client.Projection;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.globalmap.Front;
+import io.github.divinator.wgapi.entity.wot.globalmap.Province;
+import io.github.divinator.wgapi.method.wot.GlobalMapMethod;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Класс отслеживает изменения провинций Глобальной карты.
+ * <p>
+ * Каждый опрос запрашивает активные фронты ({@link GlobalMapMethod#getFronts(Parameter...)}) и все страницы
+ * их провинций ({@link GlobalMapMethod#getProvinces(String, Parameter...)}) параллельно, сравнивает провинции
+ * с состоянием предыдущего опроса и возвращает только изменения ({@link ProvinceEvent}): смену владельца,
+ * новых нападающих и участников высадки, изменение минимальной ставки и статуса. Для каждой провинции хранятся
+ * только отслеживаемые поля, а не сама сущность. Первый опрос запоминает исходное состояние и изменений не возвращает.
+ * </p>
+ * <pre>{@code
+ * ProvinceTracker tracker = new ProvinceTracker(client.getMethodBlock(GlobalMapMethod.class));
+ * tracker.schedule(scheduler, 1, TimeUnit.MINUTES, event -> log.info(event));
+ * }</pre>
+ *
+ * @author Sergey Divin
+ */
+public final class ProvinceTracker {
+
+    private static final int PAGE_LIMIT = 100;
+    private static final String STARTED = "STARTED";
+    private static final int[] NONE = new int[0];
+
+    private static final Parameter FRONT_FIELDS = Projection.fields(Front.class,
+            "front_id", "is_active", "provinces_count");
+    private static final Parameter PROVINCE_FIELDS = Projection.fields(Province.class,
+            "province_id", "province_name", "front_id", "arena_name", "prime_time", "battles_start_at",
+            "owner_clan_id", "attackers", "competitors", "current_min_bet", "status");
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final GlobalMapMethod globalMap;
+    private final Parameter[] parameters;
+    private final Map<String, State> states = new HashMap<>();
+
+    private boolean initialized;
+
+    /**
+     * Конструктор объекта отслеживания провинций.
+     * <p>
+     * Если среди параметров нет "fields", запрашиваются только поля, нужные для сравнения, и основные сведения
+     * о провинции. Свой параметр "fields" должен включать "province_id", "owner_clan_id", "attackers",
+     * "competitors", "current_min_bet" и "status".
+     * </p>
+     *
+     * @param globalMap  Метод-блок Глобальной карты
+     * @param parameters Параметры запроса провинций, см. {@link GlobalMapMethod#getProvinces(String, Parameter...)}
+     */
+    public ProvinceTracker(GlobalMapMethod globalMap, Parameter... parameters) {
+        this.globalMap = globalMap;
+
+        boolean hasFields = false;
+
+        for (Parameter parameter : parameters) {
+            hasFields |= "fields".equals(parameter.getName());
+        }
+
+        List<Parameter> provinceParameters = new ArrayList<>(Arrays.asList(parameters));
+
+        if (!hasFields) {
+            provinceParameters.add(PROVINCE_FIELDS);
+        }
+
+        provinceParameters.add(new Parameter("limit", PAGE_LIMIT));
+        this.parameters = provinceParameters.toArray(new Parameter[0]);
+    }
+
+    /**
+     * Метод опрашивает провинции всех активных фронтов и возвращает изменения с предыдущего опроса.
+     *
+     * @return Изменения провинций в порядке фронтов и страниц
+     * @throws WgApiException В случае, если запрос фронта или страницы провинций завершился ошибкой.
+     *                        Сохранённое состояние при этом не меняется
+     */
+    public List<ProvinceEvent> poll() throws WgApiException {
+        try {
+            return pollAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof WgApiException) {
+                throw (WgApiException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #poll()}.
+     *
+     * @return Объект {@link CompletableFuture}, который будет завершён изменениями провинций,
+     * либо исключением {@link WgApiException}, если запрос завершился ошибкой
+     */
+    public CompletableFuture<List<ProvinceEvent>> pollAsync() {
+        return globalMap.getFrontsAsync(FRONT_FIELDS, new Parameter("limit", PAGE_LIMIT))
+                .thenCompose(response -> {
+                    List<CompletableFuture<List<Province>>> pages = new ArrayList<>();
+
+                    for (Front front : checked(response, Collections.<Front>emptyList())) {
+                        if (front.isActive()) {
+                            int pageTotal = Math.max(1, (front.getProvincesCount() + PAGE_LIMIT - 1) / PAGE_LIMIT);
+
+                            for (int page = 1; page <= pageTotal; page++) {
+                                pages.add(loadPage(front.getFrontId(), page, page == pageTotal));
+                            }
+                        }
+                    }
+
+                    return CompletableFuture.allOf(pages.toArray(new CompletableFuture<?>[0]))
+                            .thenApply(ignored -> {
+                                List<Province> provinces = new ArrayList<>();
+                                pages.forEach(page -> provinces.addAll(page.join()));
+                                return apply(provinces);
+                            });
+                });
+    }
+
+    /**
+     * Метод запускает периодический опрос провинций.
+     * <p>
+     * Ошибки опроса и исключения получателя изменений записываются в журнал и не прерывают последующие опросы.
+     * </p>
+     *
+     * @param scheduler Планировщик
+     * @param period    Период опроса
+     * @param unit      Единица измерения периода
+     * @param listener  Получатель изменений провинций
+     * @return Объект {@link ScheduledFuture}, отмена которого останавливает опрос
+     */
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, long period, TimeUnit unit,
+                                       Consumer<ProvinceEvent> listener) {
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll().forEach(listener);
+            } catch (WgApiException | RuntimeException e) {
+                // Исключение, вышедшее из задачи, отменило бы все последующие опросы
+                log.warn("Province poll failed.", e);
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * Метод возвращает количество отслеживаемых провинций.
+     *
+     * @return Количество провинций
+     */
+    public synchronized int size() {
+        return states.size();
+    }
+
+    /**
+     * Метод загружает страницу провинций фронта.
+     * <p>
+     * Количество страниц рассчитывается по "provinces_count" фронта; если последняя страница оказалась полной,
+     * догружаются следующие.
+     * </p>
+     *
+     * @param frontId Идентификатор фронта
+     * @param page    Номер страницы
+     * @param last    Признак последней рассчитанной страницы
+     * @return Объект {@link CompletableFuture}, который будет завершён провинциями страницы и следующих за ней
+     */
+    private CompletableFuture<List<Province>> loadPage(String frontId, int page, boolean last) {
+        Parameter[] pageParameters = Arrays.copyOf(parameters, parameters.length + 1);
+        pageParameters[parameters.length] = new Parameter("page_no", page);
+
+        return globalMap.getProvincesAsync(frontId, pageParameters).thenCompose(response -> {
+            List<Province> provinces = checked(response, Collections.<Province>emptyList());
+
+            if (!last || provinces.size() < PAGE_LIMIT) {
+                return CompletableFuture.completedFuture(provinces);
+            }
+
+            return loadPage(frontId, page + 1, true).thenApply(next -> {
+                List<Province> result = new ArrayList<>(provinces);
+                result.addAll(next);
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Метод сравнивает провинции с сохранённым состоянием и запоминает новое.
+     *
+     * @param provinces Провинции активных фронтов
+     * @return Изменения провинций
+     */
+    private synchronized List<ProvinceEvent> apply(List<Province> provinces) {
+        List<ProvinceEvent> events = new ArrayList<>();
+
+        for (Province province : provinces) {
+            if (province == null || province.getProvinceId() == null) {
+                continue;
+            }
+
+            State next = new State(province);
+            State previous = states.put(province.getProvinceId(), next);
+
+            if (initialized && previous != null) {
+                diff(previous, next, province, events);
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Province poll finished: %d provinces, %d changes.", provinces.size(), events.size()));
+        }
+
+        initialized = true;
+        return events;
+    }
+
+    /**
+     * Метод добавляет изменения провинции между двумя состояниями.
+     *
+     * @param previous Прежнее состояние
+     * @param next     Новое состояние
+     * @param province Текущее состояние провинции
+     * @param events   Изменения провинций
+     */
+    private static void diff(State previous, State next, Province province, List<ProvinceEvent> events) {
+        if (previous.ownerClanId != next.ownerClanId) {
+            events.add(new ProvinceEvent(ProvinceEvent.Type.OWNER_CHANGED, province,
+                    previous.ownerClanId, next.ownerClanId, null));
+        }
+
+        if (!Objects.equals(previous.status, next.status)) {
+            ProvinceEvent.Type type = STARTED.equals(next.status)
+                    ? ProvinceEvent.Type.BATTLE_STARTED
+                    : ProvinceEvent.Type.STATUS_CHANGED;
+            events.add(new ProvinceEvent(type, province, 0, 0, previous.status));
+        }
+
+        added(ProvinceEvent.Type.ATTACKER_ADDED, previous.attackers, next.attackers, province, events);
+        added(ProvinceEvent.Type.COMPETITOR_ADDED, previous.competitors, next.competitors, province, events);
+
+        if (previous.currentMinBet != next.currentMinBet) {
+            events.add(new ProvinceEvent(ProvinceEvent.Type.BET_CHANGED, province,
+                    previous.currentMinBet, next.currentMinBet, null));
+        }
+    }
+
+    /**
+     * Метод добавляет изменения по кланам, которых не было в прежнем отсортированном массиве.
+     *
+     * @param type     Тип изменения
+     * @param previous Прежние кланы по возрастанию
+     * @param next     Новые кланы по возрастанию
+     * @param province Текущее состояние провинции
+     * @param events   Изменения провинций
+     */
+    private static void added(ProvinceEvent.Type type, int[] previous, int[] next, Province province,
+                              List<ProvinceEvent> events) {
+        int i = 0;
+
+        for (int clanId : next) {
+            while (i < previous.length && previous[i] < clanId) {
+                i++;
+            }
+
+            if (i == previous.length || previous[i] != clanId) {
+                events.add(new ProvinceEvent(type, province, 0, clanId, null));
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает данные ответа, либо выбрасывает исключение, если ответ содержит ошибку.
+     *
+     * @param response     Ответ от Wargaming.net Public API
+     * @param defaultValue Значение, если данных в ответе нет
+     * @param <T>          Тип данных
+     * @return Данные ответа
+     * @throws CompletionException С причиной {@link WgApiException}, если ответ содержит ошибку
+     */
+    private static <T> T checked(JsonResponse<T> response, T defaultValue) {
+        if (!response.isOk()) {
+            throw new CompletionException(new WgApiException(response.getError().getExceptionCode()));
+        }
+
+        return response.getData() == null ? defaultValue : response.getData();
+    }
+
+    /**
+     * Метод возвращает отсортированный массив идентификаторов кланов.
+     *
+     * @param clanIds Идентификаторы кланов
+     * @return Отсортированный массив идентификаторов кланов
+     */
+    private static int[] sorted(List<Integer> clanIds) {
+        if (clanIds == null || clanIds.isEmpty()) {
+            return NONE;
+        }
+
+        int[] result = new int[clanIds.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            Integer clanId = clanIds.get(i);
+            result[i] = clanId == null ? 0 : clanId;
+        }
+
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Отслеживаемые поля провинции.
+     */
+    private static final class State {
+
+        private final int ownerClanId;
+        private final int currentMinBet;
+        private final String status;
+        private final int[] attackers;
+        private final int[] competitors;
+
+        private State(Province province) {
+            this.ownerClanId = province.getOwnerClanId();
+            this.currentMinBet = province.getCurrentMinBet();
+            this.status = province.getStatus() == null ? null : province.getStatus().intern();
+            this.attackers = sorted(province.getAttackers());
+            this.competitors = sorted(province.getCompetitors());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.divinator.wgapi.service.wot;
+
+import java.io.IOException;
+
+/**
+ * Интерфейс описывает хранилище отметок об изменении аккаунтов, по которым {@link AccountSync}
+ * определяет, изменился ли аккаунт с прошлой синхронизации.
+ *
+ * @author Sergey Divin
+ */
+public interface WatermarkStore {
+
+    /**
+     * Метод возвращает отметку аккаунта.
+     *
+     * @param accountId Идентификатор аккаунта игрока
+     * @return Отметка аккаунта, либо null, если аккаунт ещё не синхронизировался
+     */
+    Long get(int accountId);
+
+    /**
+     * Метод сохраняет отметку аккаунта.
+     *
+     * @param accountId Идентификатор аккаунта игрока
+     * @param watermark Отметка аккаунта
+     */
+    void put(int accountId, long watermark);
+
+    /**
+     * Метод записывает накопленные изменения в постоянное хранилище.
+     * Вызывается после каждой порции синхронизированных аккаунтов.
+     *
+     * @throws IOException В случае, если записать изменения не удалось
+     */
+    default void flush() throws IOException {
+    }
+}
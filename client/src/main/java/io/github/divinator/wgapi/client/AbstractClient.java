@@ -23,6 +23,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Абстрактный класс, который описывает базовый функционал клиента для работы с Wargaming.net Public API
@@ -33,6 +35,7 @@ abstract class AbstractClient implements WgApi{
 
     private static final String DECLARED_FIELD = "client";
     private final Log log = LogFactory.getLog(getClass());
+    private final ConcurrentMap<Class<?>, AbstractMethodBlock> methodBlocks = new ConcurrentHashMap<>();
 
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API
@@ -43,6 +46,10 @@ abstract class AbstractClient implements WgApi{
 
     /**
      * Метод возвращает объект переданного в параметры класса метод-блока Wargaming.net Public API с установленным клиентом
+     * <p>
+     * Метод-блок создается при первом обращении и кешируется клиентом, поэтому повторные обращения
+     * не используют рефлексию и не создают новых объектов.
+     * </p>
      *
      * @param classMethodBlock Класс метод-блока Wargaming.net Public API
      * @param client           Клиент для работы с Wargaming.net Public API
@@ -52,8 +59,22 @@ abstract class AbstractClient implements WgApi{
      *                              по умолчанию, либо не удалось встроить клиент в метод-блок Wargaming.net Public API
      */
     protected  <T extends AbstractMethodBlock> T getMethodBlock(Class<T> classMethodBlock, AbstractHttpClient client) throws WgApiException {
-        log.debug(String.format("Method block \"%s\" selected.", classMethodBlock.getName()));
-        return (T) setClientInMethodBlock(instanceMethodBlock(classMethodBlock), client);
+        AbstractMethodBlock methodBlock = methodBlocks.get(classMethodBlock);
+
+        if (methodBlock == null) {
+            methodBlock = setClientInMethodBlock(instanceMethodBlock(classMethodBlock), client);
+            AbstractMethodBlock previous = methodBlocks.putIfAbsent(classMethodBlock, methodBlock);
+
+            if (previous != null) {
+                methodBlock = previous;
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Method block \"%s\" selected.", classMethodBlock.getName()));
+        }
+
+        return classMethodBlock.cast(methodBlock);
     }
 
     /**
@@ -73,7 +94,9 @@ abstract class AbstractClient implements WgApi{
                 } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
                     throw new WgApiException(ErrorCode.CLIENT_REFLECTION_INSTANCE_METHOD_FAILED);
                 } finally {
-                    log.debug(String.format("Method block \"%s\" initialized.", classMethodBlock.getName()));
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Method block \"%s\" initialized.", classMethodBlock.getName()));
+                    }
                 }
             }
         }
@@ -107,7 +130,9 @@ abstract class AbstractClient implements WgApi{
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new WgApiException(ErrorCode.CLIENT_REFLECTION_EMBED_FAILED);
         } finally {
-            log.debug(String.format("Сlient is embedded in method block object \"%s\".", methodBlock.getClass().getName()));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Сlient is embedded in method block object \"%s\".", methodBlock.getClass().getName()));
+            }
         }
     }
 }
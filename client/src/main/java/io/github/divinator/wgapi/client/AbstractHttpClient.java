@@ -16,19 +16,36 @@
 
 package io.github.divinator.wgapi.client;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Абстрактный класс, который описывает функционал клиента для передачи GET, POST запросов к Wargaming.net Public API
@@ -46,6 +63,92 @@ public abstract class AbstractHttpClient extends AbstractClient {
      */
     protected abstract CloseableHttpClient getHttpClient();
 
+    /**
+     * Метод возвращает неблокирующий транспорт HTTP-соединения
+     *
+     * @return Неблокирующий транспорт HTTP-соединения
+     */
+    protected abstract CloseableHttpAsyncClient getHttpAsyncClient();
+
+    /**
+     * Метод возвращает планировщик фоновых задач клиента.
+     *
+     * @return Планировщик фоновых задач клиента
+     */
+    protected abstract ScheduledExecutorService getScheduler();
+
+    /**
+     * Метод возвращает ограничитель частоты запросов для указанного приложения.
+     *
+     * @param applicationId Идентификатор приложения (application_id)
+     * @return Ограничитель частоты запросов, либо null, если ограничение отключено
+     */
+    protected abstract RateLimiter getRateLimiter(String applicationId);
+
+    /**
+     * Метод возвращает политику повторных запросов клиента.
+     *
+     * @return Политика повторных запросов
+     */
+    protected abstract RetryPolicy getRetryPolicy();
+
+    /**
+     * Метод возвращает объект, объединяющий одновременные одинаковые запросы клиента.
+     *
+     * @return Объект, объединяющий одновременные одинаковые запросы
+     */
+    protected abstract SingleFlight getSingleFlight();
+
+    /**
+     * Метод возвращает статистику HTTP-кеша клиента.
+     *
+     * @return Статистика HTTP-кеша, либо null, если кеширование выключено
+     */
+    protected abstract CacheStatistics getCacheStatistics();
+
+    /**
+     * Метод возвращает получателя метрик клиента.
+     *
+     * @return Получатель метрик, либо {@link WgApiMetrics#NOOP}, если метрики не записываются
+     */
+    protected abstract WgApiMetrics getMetrics();
+
+    /**
+     * Метод возвращает объект Gson, которым разбираются ответы от Wargaming.net Public API.
+     * <p>
+     * Объект потокобезопасен и создается один раз на всё время жизни клиента.
+     * </p>
+     *
+     * @return Объект Gson клиента
+     */
+    protected abstract Gson getGson();
+
+    /**
+     * Метод возвращает адаптер Gson для указанного типа ответа.
+     * <p>
+     * Адаптер создается при первом обращении и кешируется клиентом, поэтому рефлексивный разбор
+     * структуры класса выполняется один раз на тип ответа.
+     * </p>
+     *
+     * @param typeToken Тип ответа
+     * @param <T>       Тип ответа
+     * @return Адаптер Gson для указанного типа ответа
+     */
+    protected abstract <T> TypeAdapter<T> getTypeAdapter(TypeToken<T> typeToken);
+
+    /**
+     * Метод возвращает объект, собирающий одиночные запросы по идентификаторам в пакетные запросы.
+     * <p>
+     * Для каждого ключа создается единственный объект на всё время жизни клиента.
+     * </p>
+     *
+     * @param key    Ключ, однозначно описывающий метод и параметры запроса
+     * @param loader Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param <V>    Тип сущности в ответе
+     * @return Объект, собирающий одиночные запросы в пакетные запросы
+     */
+    protected abstract <V> RequestBatcher<V> getRequestBatcher(String key, RequestBatcher.Loader<V> loader);
+
     /**
      * Метод возвращает строителя конфигурации запроса HTTP-соединения.
      *
@@ -53,7 +156,9 @@ public abstract class AbstractHttpClient extends AbstractClient {
      */
     protected RequestConfig.Builder getDefaultRequestConfigBuilder() {
         return RequestConfig.custom()
-                .setConnectTimeout(getProperties().getConnectionTimeout());
+                .setConnectTimeout(getProperties().getConnectionTimeout())
+                .setConnectionRequestTimeout(getProperties().getConnectionRequestTimeout())
+                .setSocketTimeout(getProperties().getSocketTimeout());
     }
 
     /**
@@ -82,12 +187,14 @@ public abstract class AbstractHttpClient extends AbstractClient {
                     new HttpHost(getProperties().getProxyHost(), getProperties().getProxyPort())
             );
 
-            log.debug(String.format(
-                    "USE PROXY-HOST: \"%s:%s\"",
-                    getProperties().getProxyHost(),
-                    getProperties().getProxyPort()
-                    )
-            );
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(
+                        "USE PROXY-HOST: \"%s:%s\"",
+                        getProperties().getProxyHost(),
+                        getProperties().getProxyPort()
+                        )
+                );
+            }
         }
 
         return configBuilder.build();
@@ -102,11 +209,13 @@ public abstract class AbstractHttpClient extends AbstractClient {
      */
     protected HttpResponse get(WgApiUriBuilder uriBuilder) throws WgApiException {
         try {
-            return request(new HttpGet(uriBuilder.build()));
+            return request(uriBuilder, new HttpGet(uriBuilder.build()));
         } catch (WgApiException e) {
             throw new WgApiException(ErrorCode.CLIENT_REQUEST_GET_FAILED, e);
         } finally {
-            log.debug(String.format("SEND **GET** request: \"%s\".", uriBuilder));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("SEND **GET** request: \"%s\".", uriBuilder));
+            }
         }
     }
 
@@ -121,34 +230,428 @@ public abstract class AbstractHttpClient extends AbstractClient {
         try {
             HttpPost httpPost = new HttpPost(uriBuilder.build());
             httpPost.setEntity(new UrlEncodedFormEntity(uriBuilder.getHttpContent()));
-            return request(httpPost);
+            return request(uriBuilder, httpPost);
         } catch (WgApiException | UnsupportedEncodingException e) {
             throw new WgApiException(ErrorCode.CLIENT_REQUEST_POST_FAILED, e);
         } finally {
-            try {
-                log.debug(String.format(
-                        "SEND **POST** request: \"%s\" with HTTP CONTENT: %s.",
-                        uriBuilder,
-                        new UrlEncodedFormEntity(uriBuilder.getHttpContent()))
-                );
-            } catch (UnsupportedEncodingException e) {
-                log.warn(e);
+            // Тело запроса формируется для журнала только при включённом уровне DEBUG
+            if (log.isDebugEnabled()) {
+                try {
+                    log.debug(String.format(
+                            "SEND **POST** request: \"%s\" with HTTP CONTENT: %s.",
+                            uriBuilder,
+                            EntityUtils.toString(new UrlEncodedFormEntity(uriBuilder.getHttpContent())))
+                    );
+                } catch (IOException e) {
+                    log.warn(e);
+                }
             }
         }
     }
 
     /**
      * Метод отправляет HTTP-запрос к Wargaming.net Public API.
+     * <p>
+     * Перед отправкой запроса поток ожидает разрешения ограничителя частоты запросов приложения; при включённом
+     * кеше - только если ответа нет в кеше. Если задан срок выполнения запроса, ожидание разрешения и таймауты
+     * запроса ограничиваются оставшимся временем.
+     * </p>
      *
+     * @param uriBuilder  Строитель URL запроса
      * @param requestType Тип запроса
      * @return HTTP ответ
-     * @throws WgApiException В случае, если возникла ошибка отправки HTTP-запроса
+     * @throws WgApiException В случае, если возникла ошибка отправки HTTP-запроса, ожидание было прервано,
+     *                        либо истёк срок выполнения запроса
      */
-    private HttpResponse request(HttpUriRequest requestType) throws WgApiException {
+    private HttpResponse request(WgApiUriBuilder uriBuilder, HttpUriRequest requestType) throws WgApiException {
+        RateLimiter rateLimiter = getRateLimiter(uriBuilder.getApplicationID());
+        OriginPermit permit = rateLimiter == null ? null : new OriginPermit(rateLimiter, uriBuilder.getDeadline());
+        CacheStatistics cacheStatistics = getCacheStatistics();
+
+        // С кешем разрешение получает звено цепочки после поиска в кеше, см. OriginPermit
+        if (permit != null && cacheStatistics == null) {
+            permit.acquire();
+        }
+
+        applyDeadline(uriBuilder, requestType);
+
+        WgApiMetrics metrics = getMetrics();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
         try {
-            return getHttpClient().execute(requestType);
+            if (cacheStatistics == null) {
+                HttpResponse response = getHttpClient().execute(requestType);
+                recordStreamedExchange(metrics, uriBuilder, requestType, start, response);
+                return response;
+            }
+
+            HttpCacheContext context = HttpCacheContext.create();
+
+            if (permit != null) {
+                context.setAttribute(OriginPermit.ATTRIBUTE, permit);
+            }
+
+            HttpResponse response = getHttpClient().execute(requestType, context);
+            cacheStatistics.record(context.getCacheResponseStatus());
+            recordStreamedExchange(metrics, uriBuilder, requestType, start + waited(permit), response);
+
+            if (metrics.isEnabled() && context.getCacheResponseStatus() != null) {
+                metrics.onCache(uriBuilder.getEndpoint(), context.getCacheResponseStatus() == CacheResponseStatus.CACHE_HIT);
+            }
+
+            return response;
+        } catch (OriginPermit.DeniedException e) {
+            recordExchange(metrics, uriBuilder, requestType, start + waited(permit), e.getReason().getErrorCode());
+            throw e.getReason();
         } catch (IOException e) {
-            throw new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED);
+            // Таймаут, вызванный сроком выполнения запроса, не повторяется
+            ErrorCode error = isExpired(uriBuilder)
+                    ? ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED
+                    : ErrorCode.CLIENT_REQUEST_FAILED;
+
+            recordExchange(metrics, uriBuilder, requestType, start + waited(permit), error);
+            throw new WgApiException(error, e);
+        }
+    }
+
+    /**
+     * Метод возвращает время ожидания разрешения ограничителя частоты запросов внутри HTTP-клиента,
+     * чтобы не учитывать его во времени HTTP-обмена.
+     *
+     * @param permit Разрешение, либо null
+     * @return Время ожидания в наносекундах
+     */
+    private static long waited(OriginPermit permit) {
+        return permit == null ? 0 : permit.getWaited();
+    }
+
+    /**
+     * Метод ограничивает таймауты запроса временем, оставшимся до срока выполнения запроса.
+     *
+     * @param uriBuilder  Строитель URL запроса
+     * @param requestType Запрос
+     * @throws WgApiException В случае, если срок выполнения запроса истёк
+     */
+    private void applyDeadline(WgApiUriBuilder uriBuilder, HttpUriRequest requestType) throws WgApiException {
+        Deadline deadline = uriBuilder.getDeadline();
+
+        if (deadline == null) {
+            return;
+        }
+
+        long remaining = deadline.getRemaining(TimeUnit.MILLISECONDS);
+
+        if (remaining <= 0) {
+            throw new WgApiException(ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED);
+        }
+
+        if (requestType instanceof HttpRequestBase) {
+            int timeout = (int) Math.min(remaining, Integer.MAX_VALUE);
+            RequestConfig defaults = getDefaultRequestConfig();
+
+            ((HttpRequestBase) requestType).setConfig(RequestConfig.copy(defaults)
+                    .setConnectTimeout(limit(defaults.getConnectTimeout(), timeout))
+                    .setConnectionRequestTimeout(limit(defaults.getConnectionRequestTimeout(), timeout))
+                    .setSocketTimeout(limit(defaults.getSocketTimeout(), timeout))
+                    .build());
+        }
+    }
+
+    /**
+     * Метод ограничивает таймаут сверху.
+     *
+     * @param timeout Таймаут в миллисекундах; 0 или меньше означает бесконечное ожидание
+     * @param limit   Ограничение в миллисекундах
+     * @return Ограниченный таймаут
+     */
+    private static int limit(int timeout, int limit) {
+        return timeout <= 0 ? limit : Math.min(timeout, limit);
+    }
+
+    /**
+     * Метод проверяет, истёк ли срок выполнения запроса.
+     *
+     * @param uriBuilder Строитель URL запроса
+     * @return true, если срок задан и истёк
+     */
+    private static boolean isExpired(WgApiUriBuilder uriBuilder) {
+        return uriBuilder.getDeadline() != null && uriBuilder.getDeadline().isExpired();
+    }
+
+    /**
+     * Метод записывает метрики успешного HTTP-обмена блокирующего клиента, если метрики включены.
+     * <p>
+     * Тело ответа читается из соединения уже при разборе, поэтому обмен с телом ответа записывается
+     * после разбора, см. {@link MeteredEntity}: в сетевое время входит и ожидание чтения тела ответа.
+     * </p>
+     *
+     * @param metrics     Получатель метрик
+     * @param uriBuilder  Строитель URL запроса
+     * @param requestType Запрос
+     * @param start       Время отправки запроса, см. {@link System#nanoTime()}
+     * @param response    HTTP-ответ
+     */
+    private static void recordStreamedExchange(WgApiMetrics metrics, WgApiUriBuilder uriBuilder,
+                                               HttpUriRequest requestType, long start, HttpResponse response) {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+
+        if (response.getEntity() == null) {
+            recordExchange(metrics, uriBuilder, requestType, start, null);
+            return;
+        }
+
+        response.setEntity(new MeteredEntity(response.getEntity(), metrics, uriBuilder.getEndpoint(),
+                getBytesOut(requestType), System.nanoTime() - start));
+    }
+
+    /**
+     * Метод записывает метрики HTTP-обмена, если метрики включены.
+     *
+     * @param metrics     Получатель метрик
+     * @param uriBuilder  Строитель URL запроса
+     * @param requestType Запрос
+     * @param start       Время отправки запроса, см. {@link System#nanoTime()}
+     * @param error       Код ошибки транспорта, либо null
+     */
+    private static void recordExchange(WgApiMetrics metrics, WgApiUriBuilder uriBuilder, HttpUriRequest requestType,
+                                       long start, ErrorCode error) {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+
+        metrics.onExchange(uriBuilder.getEndpoint(), System.nanoTime() - start, getBytesOut(requestType), error);
+    }
+
+    /**
+     * Метод возвращает количество отправленных байт запроса: URI и тело запроса.
+     *
+     * @param requestType Запрос
+     * @return Количество отправленных байт
+     */
+    private static long getBytesOut(HttpUriRequest requestType) {
+        long bytesOut = requestType.getRequestLine().getUri().length();
+
+        if (requestType instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) requestType).getEntity();
+            bytesOut += entity == null ? 0 : Math.max(entity.getContentLength(), 0);
+        }
+
+        return bytesOut;
+    }
+
+    /**
+     * Метод асинхронно выполняет HTTP-запрос методом GET.
+     *
+     * @param uriBuilder Строитель URL для получения данных от Wargaming.net Public API
+     * @return Объект {@link CompletableFuture}, который будет завершён HTTP-ответом от Wargaming.net Public API
+     */
+    protected CompletableFuture<HttpResponse> getAsync(WgApiUriBuilder uriBuilder) {
+        try {
+            return requestAsync(uriBuilder, new HttpGet(uriBuilder.build()), ErrorCode.CLIENT_REQUEST_GET_ASYNC_FAILED);
+        } catch (WgApiException e) {
+            return failedFuture(new WgApiException(ErrorCode.CLIENT_REQUEST_GET_ASYNC_FAILED, e));
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("SEND **GET** async request: \"%s\".", uriBuilder));
+            }
+        }
+    }
+
+    /**
+     * Метод асинхронно выполняет HTTP-запрос методом POST.
+     *
+     * @param uriBuilder Строитель URL для получения данных от Wargaming.net Public API
+     * @return Объект {@link CompletableFuture}, который будет завершён HTTP-ответом от Wargaming.net Public API
+     */
+    protected CompletableFuture<HttpResponse> postAsync(WgApiUriBuilder uriBuilder) {
+        try {
+            HttpPost httpPost = new HttpPost(uriBuilder.build());
+            httpPost.setEntity(new UrlEncodedFormEntity(uriBuilder.getHttpContent()));
+            return requestAsync(uriBuilder, httpPost, ErrorCode.CLIENT_REQUEST_POST_ASYNC_FAILED);
+        } catch (WgApiException | UnsupportedEncodingException e) {
+            return failedFuture(new WgApiException(ErrorCode.CLIENT_REQUEST_POST_ASYNC_FAILED, e));
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("SEND **POST** async request: \"%s\".", uriBuilder));
+            }
+        }
+    }
+
+    /**
+     * Метод асинхронно отправляет HTTP-запрос к Wargaming.net Public API.
+     * <p>
+     * Запрос отправляется после получения разрешения ограничителя частоты запросов приложения,
+     * поток вызова при этом не блокируется. Отмена возвращаемого {@link CompletableFuture} прерывает
+     * выполнение HTTP-запроса. Если задан срок выполнения запроса, по его истечении запрос прерывается
+     * и результат завершается ошибкой {@link ErrorCode#CLIENT_REQUEST_DEADLINE_EXCEEDED}.
+     * </p>
+     *
+     * @param uriBuilder  Строитель URL запроса
+     * @param requestType Тип запроса
+     * @param errorCode   Код ошибки, с которым будет завершён запрос в случае сбоя
+     * @return Объект {@link CompletableFuture}, который будет завершён HTTP-ответом
+     */
+    private CompletableFuture<HttpResponse> requestAsync(WgApiUriBuilder uriBuilder, HttpUriRequest requestType,
+                                                         ErrorCode errorCode) {
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+
+        try {
+            applyDeadline(uriBuilder, requestType);
+        } catch (WgApiException e) {
+            return failedFuture(new WgApiException(errorCode, e));
+        }
+
+        try {
+            scheduleAndExecute(uriBuilder, requestType, errorCode, result);
+        } catch (RuntimeException e) {
+            // Например, клиент уже закрыт и планировщик не принимает задачи
+            result.completeExceptionally(new WgApiException(errorCode, e));
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод запускает таймер срока выполнения запроса и отправляет запрос после получения разрешения
+     * ограничителя частоты запросов.
+     *
+     * @param uriBuilder  Строитель URL запроса
+     * @param requestType Тип запроса
+     * @param errorCode   Код ошибки, с которым будет завершён запрос в случае сбоя
+     * @param result      Объект {@link CompletableFuture}, который будет завершён HTTP-ответом
+     */
+    private void scheduleAndExecute(WgApiUriBuilder uriBuilder, HttpUriRequest requestType, ErrorCode errorCode,
+                                    CompletableFuture<HttpResponse> result) {
+        if (uriBuilder.getDeadline() != null) {
+            ScheduledFuture<?> timer = getScheduler().schedule(
+                    () -> result.completeExceptionally(new WgApiException(
+                            errorCode,
+                            new WgApiException(ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED)
+                    )),
+                    uriBuilder.getDeadline().getRemaining(TimeUnit.MILLISECONDS),
+                    TimeUnit.MILLISECONDS
+            );
+
+            result.whenComplete((response, throwable) -> timer.cancel(false));
+        }
+
+        RateLimiter rateLimiter = getRateLimiter(uriBuilder.getApplicationID());
+
+        if (rateLimiter == null) {
+            execute(uriBuilder, requestType, errorCode, result);
+        } else {
+            rateLimiter.acquireAsync(getScheduler()).whenComplete((permit, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(new WgApiException(errorCode, throwable));
+                } else if (!result.isDone()) {
+                    execute(uriBuilder, requestType, errorCode, result);
+                }
+            });
+        }
+    }
+
+    /**
+     * Метод передает HTTP-запрос неблокирующему транспорту и связывает его выполнение с результатом.
+     *
+     * @param uriBuilder  Строитель URL запроса
+     * @param requestType Тип запроса
+     * @param errorCode   Код ошибки, с которым будет завершён запрос в случае сбоя
+     * @param result      Объект {@link CompletableFuture}, который будет завершён HTTP-ответом
+     */
+    private void execute(WgApiUriBuilder uriBuilder, HttpUriRequest requestType, ErrorCode errorCode,
+                         CompletableFuture<HttpResponse> result) {
+        WgApiMetrics metrics = getMetrics();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        Future<HttpResponse> future;
+
+        try {
+            future = getHttpAsyncClient().execute(requestType, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse response) {
+                    recordExchange(metrics, uriBuilder, requestType, start, null);
+                    result.complete(response);
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    ErrorCode error = isExpired(uriBuilder)
+                            ? ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED
+                            : ErrorCode.CLIENT_REQUEST_FAILED;
+
+                    recordExchange(metrics, uriBuilder, requestType, start, error);
+                    result.completeExceptionally(new WgApiException(errorCode, new WgApiException(error, e)));
+                }
+
+                @Override
+                public void cancelled() {
+                    result.cancel(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Например, транспорт уже закрыт или отклонил запрос
+            recordExchange(metrics, uriBuilder, requestType, start, ErrorCode.CLIENT_REQUEST_FAILED);
+            result.completeExceptionally(new WgApiException(errorCode, new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, e)));
+            return;
+        }
+
+        // Отмена результата или истечение срока прерывает HTTP-запрос
+        result.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                future.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Метод возвращает {@link CompletableFuture}, завершённый с ошибкой.
+     *
+     * @param throwable Ошибка
+     * @param <T>       Тип результата
+     * @return {@link CompletableFuture}, завершённый с ошибкой
+     */
+    static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Тело ответа блокирующего клиента, HTTP-обмен по которому записывается в метрики после чтения тела.
+     * <p>
+     * Разбор ответа замеряет время ожидания чтения тела из соединения и передаёт его в {@link #complete(long)},
+     * поэтому тело ответа не читается в память заранее и разбирается потоково.
+     * </p>
+     */
+    static final class MeteredEntity extends HttpEntityWrapper {
+
+        private final WgApiMetrics metrics;
+        private final String endpoint;
+        private final long bytesOut;
+        private final long headersNanos;
+        private boolean recorded;
+
+        private MeteredEntity(HttpEntity entity, WgApiMetrics metrics, String endpoint, long bytesOut,
+                              long headersNanos) {
+            super(entity);
+            this.metrics = metrics;
+            this.endpoint = endpoint;
+            this.bytesOut = bytesOut;
+            this.headersNanos = headersNanos;
+        }
+
+        /**
+         * Метод записывает HTTP-обмен в метрики один раз.
+         *
+         * @param readNanos Время ожидания чтения тела ответа из соединения в наносекундах
+         */
+        void complete(long readNanos) {
+            if (!recorded) {
+                recorded = true;
+                metrics.onExchange(endpoint, headersNanos + readNanos, bytesOut, null);
+            }
         }
     }
 }
@@ -16,15 +16,44 @@
 
 package io.github.divinator.wgapi.client;
 
-import com.google.gson.GsonBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.JsonResponseError;
+import io.github.divinator.wgapi.entity.JsonResponseMeta;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.ParseException;
+import org.apache.http.entity.ContentType;
 import org.apache.http.util.EntityUtils;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Абстрактный класс, который описывает "Метод-блок".
@@ -59,7 +88,7 @@ public abstract class AbstractMethodBlock {
      *                        HTTP-запроса методом GET
      */
     protected <T extends JsonResponse> T get(WgApiUriBuilder url, TypeToken<T> typeToken) throws WgApiException {
-        return parseHttpResponse(client.get(url), typeToken);
+        return coalesce(url, typeToken, () -> client.getRetryPolicy().execute(attempts(url, () -> parseHttpResponse(url, client.get(url), typeToken))));
     }
 
     /**
@@ -74,33 +103,661 @@ public abstract class AbstractMethodBlock {
      *                        HTTP-запроса методом POST
      */
     protected <T extends JsonResponse> T post(WgApiUriBuilder url, TypeToken<T> typeToken) throws WgApiException {
-        return parseHttpResponse(client.post(url), typeToken);
+        return coalesce(url, typeToken, () -> client.getRetryPolicy().execute(attempts(url, () -> parseHttpResponse(url, client.post(url), typeToken))));
+    }
+
+    /**
+     * Метод отправлет http-запрос методом POST ровно один раз, без повторов при ошибках.
+     * <p>
+     * Используется для неидемпотентных методов Wargaming.net Public API, которые изменяют данные
+     * (например активация резерва клана или добавление комментария): повтор такого запроса может
+     * выполнить действие дважды.
+     * </p>
+     *
+     * @param url       Строитель URL для получения данных от Wargaming.net Public API
+     * @param typeToken Универсальный тип. Вынуждает клиентов создавать подкласс этого класса,
+     *                  который позволяет получать информацию о типе во время выполнения.
+     * @param <T>       Тип данных после парсинга.
+     * @return Обьект данных типа "Т"
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    protected <T extends JsonResponse> T postOnce(WgApiUriBuilder url, TypeToken<T> typeToken) throws WgApiException {
+        return parseHttpResponse(url, client.post(url), typeToken);
+    }
+
+    /**
+     * Метод асинхронно отправлет http-запрос методом GET и получает данные от Wargaming.net Public API
+     * <p>
+     * Поток вызова не блокируется. Разбор ответа выполняется вне потоков ввода-вывода HTTP-клиента.
+     * В случае ошибки {@link CompletableFuture} завершается исключением {@link CompletionException},
+     * причиной которого является {@link WgApiException}.
+     * </p>
+     *
+     * @param <T>       Тип данных после парсинга.
+     * @param url       Строитель URL для получения данных от Wargaming.net Public API
+     * @param typeToken Универсальный тип. Вынуждает клиентов создавать подкласс этого класса,
+     *                  который позволяет получать информацию о типе во время выполнения.
+     * @return Объект {@link CompletableFuture}, который будет завершён объектом данных типа "T"
+     */
+    protected <T extends JsonResponse> CompletableFuture<T> getAsync(WgApiUriBuilder url, TypeToken<T> typeToken) {
+        return coalesceAsync(url, typeToken, () -> client.getRetryPolicy().executeAsync(
+                attemptsAsync(url, () -> parseHttpResponseAsync(url, client.getAsync(url), typeToken)),
+                client.getScheduler()
+        ));
+    }
+
+    /**
+     * Метод асинхронно отправлет http-запрос методом POST и получает данные от Wargaming.net Public API
+     * <p>
+     * Поток вызова не блокируется. Разбор ответа выполняется вне потоков ввода-вывода HTTP-клиента.
+     * В случае ошибки {@link CompletableFuture} завершается исключением {@link CompletionException},
+     * причиной которого является {@link WgApiException}.
+     * </p>
+     *
+     * @param <T>       Тип данных после парсинга.
+     * @param url       Строитель URL для получения данных от Wargaming.net Public API
+     * @param typeToken Универсальный тип. Вынуждает клиентов создавать подкласс этого класса,
+     *                  который позволяет получать информацию о типе во время выполнения.
+     * @return Объект {@link CompletableFuture}, который будет завершён объектом данных типа "T"
+     */
+    protected <T extends JsonResponse> CompletableFuture<T> postAsync(WgApiUriBuilder url, TypeToken<T> typeToken) {
+        return coalesceAsync(url, typeToken, () -> client.getRetryPolicy().executeAsync(
+                attemptsAsync(url, () -> parseHttpResponseAsync(url, client.postAsync(url), typeToken)),
+                client.getScheduler()
+        ));
+    }
+
+    /**
+     * Метод отправлет http-запрос методом POST и разбирает поле "data" ответа переданным адаптером.
+     * <p>
+     * Используется, когда данные разбираются не в новые объекты, а, например, в переиспользуемый буфер
+     * вызывающего. Такие запросы не объединяются с одновременными одинаковыми запросами, так как результат
+     * каждого из них принадлежит своему адаптеру. При ошибке разбора запрос может быть повторён, поэтому
+     * адаптер должен отменять частично разобранные данные.
+     * </p>
+     *
+     * @param url         Строитель URL для получения данных от Wargaming.net Public API
+     * @param dataAdapter Адаптер поля "data"
+     * @param <D>         Тип данных после парсинга
+     * @return Ответ, данные которого получены адаптером
+     * @throws WgApiException В случае если парсинг данных не удался, либо если возникла ошибка отправки
+     *                        HTTP-запроса методом POST
+     */
+    protected <D> JsonResponse<D> post(WgApiUriBuilder url, TypeAdapter<D> dataAdapter) throws WgApiException {
+        TypeAdapter<JsonResponse<D>> adapter = new ResponseAdapter<>(client.getGson(), dataAdapter);
+        return client.getRetryPolicy().execute(attempts(url, () -> parseHttpResponse(url, client.post(url), adapter)));
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #post(WgApiUriBuilder, TypeAdapter)}.
+     *
+     * @param url         Строитель URL для получения данных от Wargaming.net Public API
+     * @param dataAdapter Адаптер поля "data"
+     * @param <D>         Тип данных после парсинга
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом, данные которого получены адаптером
+     */
+    protected <D> CompletableFuture<JsonResponse<D>> postAsync(WgApiUriBuilder url, TypeAdapter<D> dataAdapter) {
+        TypeAdapter<JsonResponse<D>> adapter = new ResponseAdapter<>(client.getGson(), dataAdapter);
+        return client.getRetryPolicy().executeAsync(
+                attemptsAsync(url, () -> parseHttpResponseAsync(url, client.postAsync(url), adapter)),
+                client.getScheduler()
+        );
+    }
+
+    /**
+     * Метод асинхронно отправлет http-запрос методом POST ровно один раз, без повторов при ошибках.
+     * <p>
+     * Используется для неидемпотентных методов Wargaming.net Public API, см. {@link #postOnce(WgApiUriBuilder, TypeToken)}.
+     * </p>
+     *
+     * @param <T>       Тип данных после парсинга.
+     * @param url       Строитель URL для получения данных от Wargaming.net Public API
+     * @param typeToken Универсальный тип. Вынуждает клиентов создавать подкласс этого класса,
+     *                  который позволяет получать информацию о типе во время выполнения.
+     * @return Объект {@link CompletableFuture}, который будет завершён объектом данных типа "T"
+     */
+    protected <T extends JsonResponse> CompletableFuture<T> postOnceAsync(WgApiUriBuilder url, TypeToken<T> typeToken) {
+        return parseHttpResponseAsync(url, client.postAsync(url), typeToken);
+    }
+
+    /**
+     * Метод добавляет запрос по одному идентификатору в пакет, который будет отправлен одним запросом.
+     * <p>
+     * Пакеты собираются отдельно для каждого ключа, поэтому ключ должен включать все параметры запроса.
+     * Если ключа нет (запрос со сроком выполнения), запрос отправляется отдельно, в обход пакетов.
+     * </p>
+     *
+     * @param key    Ключ пакета, см. {@link #batchKey(String, String, Parameter...)}, либо null
+     * @param id     Идентификатор сущности
+     * @param loader Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param <V>    Тип сущности в ответе
+     * @return Объект {@link CompletableFuture}, который будет завершён сущностью с указанным идентификатором
+     */
+    protected <V> CompletableFuture<V> submitBatched(String key, int id, RequestBatcher.Loader<V> loader) {
+        if (key == null) {
+            return RequestBatcher.load(id, loader);
+        }
+
+        return client.<V>getRequestBatcher(key, loader).submit(id);
+    }
+
+    /**
+     * Метод выполняет запросы по произвольному количеству идентификаторов, разбивая их на пакеты
+     * допустимого размера, и объединяет ответы в один.
+     *
+     * @param ids    Идентификаторы сущностей
+     * @param loader Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param <V>    Тип сущности в ответе
+     * @return Объект {@link CompletableFuture}, который будет завершён объединённым ответом
+     */
+    protected <V> CompletableFuture<JsonResponse<Map<String, V>>> loadAllAsync(Collection<Integer> ids,
+                                                                              RequestBatcher.Loader<V> loader) {
+        return RequestBatcher.loadAll(ids, client.getProperties().getBatchSize(), loader);
+    }
+
+    /**
+     * Метод возвращает ленивый поток элементов постраничного списка, загружающий следующие страницы заранее.
+     *
+     * @param limit      Количество элементов на странице, либо 0, если метод не принимает "limit"
+     * @param loader     Функция, запрашивающая страницу с переданными параметрами
+     * @param parameters Параметры запроса, кроме "page_no" и "limit"
+     * @param <T>        Тип элемента списка
+     * @return Поток элементов списка, см. {@link PageIterator}
+     */
+    protected <T> Stream<T> streamPages(int limit, PageIterator.Loader<T> loader, Parameter... parameters) {
+        return new PageIterator<>(loader, limit, client.getProperties().getPagePrefetch(), parameters).stream();
+    }
+
+    /**
+     * Метод возвращает ключ пакета запросов, однозначно описывающий метод и параметры запроса.
+     *
+     * @param methodBlock Название группы методов
+     * @param methodName  Название метода
+     * @param parameters  Параметры запроса
+     * @return Ключ пакета запросов, либо null, если задан срок выполнения запроса {@link Deadline}
+     */
+    protected static String batchKey(String methodBlock, String methodName, Parameter... parameters) {
+        // Пакет живёт дольше одного вызова и запрашивается с параметрами открывшего его вызова, поэтому
+        // срок одного вызова достался бы всем последующим, а их собственные сроки игнорировались бы
+        if (Arrays.stream(parameters).anyMatch(parameter -> parameter instanceof Deadline)) {
+            return null;
+        }
+
+        return Arrays.stream(parameters)
+                .sorted(Comparator.comparing(Parameter::getName).thenComparing(Parameter::getValue))
+                .map(parameter -> parameter.getName() + "=" + parameter.getValue())
+                .collect(Collectors.joining("&", methodBlock + "/" + methodName + "?", ""));
+    }
+
+    /**
+     * Метод ожидает завершения асинхронного запроса и возвращает его результат.
+     *
+     * @param future Асинхронный запрос
+     * @param <T>    Тип результата
+     * @return Результат запроса
+     * @throws WgApiException В случае, если запрос завершился ошибкой, либо ожидание было прервано
+     */
+    protected static <T> T await(CompletableFuture<T> future) throws WgApiException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WgApiException) {
+                throw (WgApiException) e.getCause();
+            }
+            throw new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, e);
+        }
+    }
+
+    /**
+     * Метод выполняет запрос, объединяя его с одновременными одинаковыми запросами.
+     *
+     * @param url       Строитель URL запроса
+     * @param typeToken Тип ответа
+     * @param call      Запрос
+     * @param <T>       Тип ответа
+     * @return Ответ от Wargaming.net Public API
+     * @throws WgApiException В случае, если запрос завершился ошибкой
+     */
+    private <T extends JsonResponse> T coalesce(WgApiUriBuilder url, TypeToken<T> typeToken,
+                                                RetryPolicy.Call<T> call) throws WgApiException {
+        String key = flightKey(url, typeToken);
+
+        if (key == null) {
+            return call.call();
+        }
+
+        WgApiMetrics metrics = client.getMetrics();
+
+        if (!metrics.isEnabled()) {
+            return client.getSingleFlight().execute(key, call);
+        }
+
+        AtomicBoolean leader = new AtomicBoolean();
+        T result = client.getSingleFlight().execute(key, () -> {
+            leader.set(true);
+            return call.call();
+        });
+
+        if (!leader.get()) {
+            metrics.onCoalesced(url.getEndpoint());
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод асинхронно выполняет запрос, объединяя его с одновременными одинаковыми запросами.
+     *
+     * @param url       Строитель URL запроса
+     * @param typeToken Тип ответа
+     * @param call      Запрос
+     * @param <T>       Тип ответа
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    private <T extends JsonResponse> CompletableFuture<T> coalesceAsync(WgApiUriBuilder url, TypeToken<T> typeToken,
+                                                                        Supplier<CompletableFuture<T>> call) {
+        String key = flightKey(url, typeToken);
+
+        if (key == null) {
+            return call.get();
+        }
+
+        WgApiMetrics metrics = client.getMetrics();
+
+        if (!metrics.isEnabled()) {
+            return client.getSingleFlight().executeAsync(key, call);
+        }
+
+        AtomicBoolean leader = new AtomicBoolean();
+        CompletableFuture<T> result = client.getSingleFlight().executeAsync(key, () -> {
+            leader.set(true);
+            return call.get();
+        });
+
+        if (!leader.get()) {
+            metrics.onCoalesced(url.getEndpoint());
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод оборачивает попытку запроса так, чтобы каждая повторная попытка записывалась в метрики.
+     *
+     * @param url  Строитель URL запроса
+     * @param call Попытка запроса
+     * @param <T>  Тип ответа
+     * @return Попытка запроса, записывающая повторы, либо исходная попытка, если метрики выключены
+     */
+    private <T> RetryPolicy.Call<T> attempts(WgApiUriBuilder url, RetryPolicy.Call<T> call) {
+        WgApiMetrics metrics = client.getMetrics();
+
+        if (!metrics.isEnabled()) {
+            return call;
+        }
+
+        AtomicBoolean first = new AtomicBoolean(true);
+        return () -> {
+            if (!first.compareAndSet(true, false)) {
+                metrics.onRetry(url.getEndpoint());
+            }
+
+            return call.call();
+        };
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #attempts(WgApiUriBuilder, RetryPolicy.Call)}.
+     *
+     * @param url  Строитель URL запроса
+     * @param call Попытка запроса
+     * @param <T>  Тип ответа
+     * @return Попытка запроса, записывающая повторы, либо исходная попытка, если метрики выключены
+     */
+    private <T> Supplier<CompletableFuture<T>> attemptsAsync(WgApiUriBuilder url, Supplier<CompletableFuture<T>> call) {
+        WgApiMetrics metrics = client.getMetrics();
+
+        if (!metrics.isEnabled()) {
+            return call;
+        }
+
+        AtomicBoolean first = new AtomicBoolean(true);
+        return () -> {
+            if (!first.compareAndSet(true, false)) {
+                metrics.onRetry(url.getEndpoint());
+            }
+
+            return call.get();
+        };
+    }
+
+    /**
+     * Метод возвращает ключ объединения запросов: тип ответа и канонический URL запроса.
+     *
+     * @param url       Строитель URL запроса
+     * @param typeToken Тип ответа
+     * @return Ключ объединения запросов, либо null, если объединение отключено, задан срок выполнения запроса
+     * или URL не строится
+     */
+    private String flightKey(WgApiUriBuilder url, TypeToken<?> typeToken) {
+        // Запрос со сроком выполнения не объединяется: участник ждал бы чужой запрос без своего срока,
+        // а ошибка истечения чужого срока досталась бы участникам, которые срок не задавали
+        if (!client.getProperties().isCoalescingEnabled() || url.getDeadline() != null) {
+            return null;
+        }
+
+        try {
+            return typeToken.getType().getTypeName() + " " + url.getCanonicalKey();
+        } catch (WgApiException e) {
+            // Ошибка построения URL будет получена при отправке запроса
+            return null;
+        }
+    }
+
+    /**
+     * Метод разбирает асинхронный Http-ответ от Wargaming.net Public API
+     *
+     * @param url      Строитель URL запроса
+     * @param response Асинхронный Http-ответ
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом в виде объекта {@link JsonResponse}
+     */
+    private <T extends JsonResponse> CompletableFuture<T> parseHttpResponseAsync(WgApiUriBuilder url,
+                                                                                  CompletableFuture<HttpResponse> response,
+                                                                                  TypeToken<T> typeToken) {
+        return parseHttpResponseAsync(url, response, client.getTypeAdapter(typeToken));
+    }
+
+    /**
+     * Метод разбирает асинхронный Http-ответ от Wargaming.net Public API указанным адаптером
+     *
+     * @param url      Строитель URL запроса
+     * @param response Асинхронный Http-ответ
+     * @param adapter  Адаптер ответа
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом в виде объекта {@link JsonResponse}
+     */
+    private <T extends JsonResponse> CompletableFuture<T> parseHttpResponseAsync(WgApiUriBuilder url,
+                                                                                  CompletableFuture<HttpResponse> response,
+                                                                                  TypeAdapter<T> adapter) {
+        CompletableFuture<T> result = response.thenApplyAsync(httpResponse -> {
+            try {
+                return parseHttpResponse(url, httpResponse, adapter);
+            } catch (WgApiException e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        // Отмена результата прерывает HTTP-запрос
+        result.whenComplete((data, throwable) -> {
+            if (result.isCancelled()) {
+                response.cancel(false);
+            }
+        });
+
+        return result;
     }
 
     /**
      * Метод анализирует Http-ответ от Wargaming.net Public API на наличие ошибки
+     * <p>
+     * Ответ разбирается потоково, непосредственно из {@link InputStream} тела ответа, без промежуточной строки.
+     * Тело ответа целиком читается в строку только при включённом уровне журналирования DEBUG.
+     * Время разбора, объём тела ответа и код ошибки записываются в метрики, если они включены. Время разбора
+     * не включает ожидание чтения тела ответа из соединения: оно записывается как сетевое время HTTP-обмена.
+     * </p>
      *
+     * @param url      Строитель URL запроса
      * @param response Http-ответ до анализа
      * @return Http-ответ после анализа в виде объекта {@link JsonResponse}
      * @throws WgApiException В случае если ошибки разбора ответа от Wargaming.net Public API
      */
+    private <T extends JsonResponse> T parseHttpResponse(WgApiUriBuilder url, HttpResponse response,
+                                                         TypeToken<T> typeToken) throws WgApiException {
+        return parseHttpResponse(url, response, client.getTypeAdapter(typeToken));
+    }
+
+    /**
+     * Метод разбирает Http-ответ от Wargaming.net Public API указанным адаптером,
+     * см. {@link #parseHttpResponse(WgApiUriBuilder, HttpResponse, TypeToken)}
+     *
+     * @param url      Строитель URL запроса
+     * @param response Http-ответ до анализа
+     * @param adapter  Адаптер ответа
+     * @return Http-ответ после анализа в виде объекта {@link JsonResponse}
+     * @throws WgApiException В случае если ошибки разбора ответа от Wargaming.net Public API
+     */
+    private <T extends JsonResponse> T parseHttpResponse(WgApiUriBuilder url, HttpResponse response,
+                                                         TypeAdapter<T> adapter) throws WgApiException {
+        HttpEntity entity = response.getEntity();
+        WgApiMetrics metrics = client.getMetrics();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        CountingInputStream counter = null;
+        ErrorCode error = ErrorCode.CLIENT_PARSING_FAILED;
 
-    private <T extends JsonResponse> T parseHttpResponse(HttpResponse response, TypeToken<T> typeToken) throws WgApiException {
         try {
-            String json = EntityUtils.toString(response.getEntity());
+            InputStream content = entity == null ? null : entity.getContent();
+
+            if (content == null) {
+                throw new WgApiException(ErrorCode.CLIENT_PARSING_FAILED);
+            }
+
+            if (metrics.isEnabled()) {
+                content = counter = new CountingInputStream(content);
+            }
+
+            Reader reader = new InputStreamReader(content, getCharset(entity));
 
             if (log.isDebugEnabled()) {
+                String json = readFully(reader);
                 log.debug(String.format("[RESPONSE BODY]: %s", json));
+                reader = new StringReader(json);
             }
 
-            return new GsonBuilder()
-                    .create()
-                    .fromJson(json, typeToken.getType());
+            T result;
+
+            try (JsonReader jsonReader = new JsonReader(reader)) {
+                jsonReader.setLenient(true);
+                result = adapter.read(jsonReader);
+            }
+
+            error = result == null || result.isOk() || result.getError() == null ? null : result.getError().getExceptionCode();
+            return result;
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            // Шлюз перед Wargaming.net Public API отвечает на 502/503/504 страницей HTML, а не JSON
+            if (response.getStatusLine() != null && response.getStatusLine().getStatusCode() >= 500) {
+                error = ErrorCode.SOURCE_NOT_AVAILABLE;
+            }
 
-        } catch (IOException e) {
-            throw new WgApiException(ErrorCode.CLIENT_PARSING_FAILED);
+            throw new WgApiException(error, e);
         } finally {
-            log.debug(String.format("Response body converted to %s object.", JsonResponse.class));
+            // Возвращаем соединение в пул, даже если ответ не был прочитан полностью
+            EntityUtils.consumeQuietly(entity);
+
+            long readNanos = 0;
+
+            if (entity instanceof AbstractHttpClient.MeteredEntity) {
+                // Тело ответа блокирующего клиента читается из соединения во время разбора
+                readNanos = counter == null ? 0 : counter.nanos;
+                ((AbstractHttpClient.MeteredEntity) entity).complete(readNanos);
+            }
+
+            if (metrics.isEnabled()) {
+                metrics.onResponse(url.getEndpoint(), System.nanoTime() - start - readNanos,
+                        counter == null ? 0 : counter.count, error);
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Response body converted to %s object.", JsonResponse.class));
+            }
+        }
+    }
+
+    /**
+     * Метод читает все символы из потока.
+     *
+     * @param reader Поток символов
+     * @return Прочитанные символы
+     * @throws IOException В случае, если прочитать поток не удалось
+     */
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[4096];
+
+        for (int read; (read = reader.read(buffer)) != -1; ) {
+            builder.append(buffer, 0, read);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Метод возвращает кодировку тела Http-ответа.
+     * <p>
+     * Если сервер не указал кодировку, используется UTF-8, как того требует спецификация JSON.
+     * </p>
+     *
+     * @param entity Тело Http-ответа
+     * @return Кодировка тела Http-ответа
+     */
+    private static Charset getCharset(HttpEntity entity) {
+        try {
+            ContentType contentType = ContentType.get(entity);
+
+            if (contentType != null && contentType.getCharset() != null) {
+                return contentType.getCharset();
+            }
+        } catch (ParseException | UnsupportedCharsetException e) {
+            // ignored
+        }
+
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Адаптер Json-ответа, разбирающий поле "data" отдельным адаптером, а остальные поля - общим экземпляром Gson.
+     *
+     * @param <D> Тип данных
+     */
+    private static final class ResponseAdapter<D> extends TypeAdapter<JsonResponse<D>> {
+
+        private final TypeAdapter<JsonResponseMeta> metaAdapter;
+        private final TypeAdapter<JsonResponseError> errorAdapter;
+        private final TypeAdapter<D> dataAdapter;
+
+        private ResponseAdapter(Gson gson, TypeAdapter<D> dataAdapter) {
+            this.metaAdapter = gson.getAdapter(JsonResponseMeta.class);
+            this.errorAdapter = gson.getAdapter(JsonResponseError.class);
+            this.dataAdapter = dataAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, JsonResponse<D> response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("status").value(response.getStatus());
+            out.name("meta");
+            metaAdapter.write(out, response.getMeta());
+            out.name("error");
+            errorAdapter.write(out, response.getError());
+            out.name("data");
+            dataAdapter.write(out, response.getData());
+            out.endObject();
+        }
+
+        @Override
+        public JsonResponse<D> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            String status = null;
+            JsonResponseMeta meta = null;
+            JsonResponseError error = null;
+            D data = null;
+
+            in.beginObject();
+
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        status = in.nextString();
+                        break;
+                    case "meta":
+                        meta = metaAdapter.read(in);
+                        break;
+                    case "error":
+                        error = errorAdapter.read(in);
+                        break;
+                    case "data":
+                        data = dataAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            in.endObject();
+
+            return new JsonResponse<>(status,
+                    meta == null ? new JsonResponseMeta() : meta,
+                    error == null ? new JsonResponseError() : error,
+                    data);
+        }
+    }
+
+    /**
+     * Поток, считающий прочитанные байты тела ответа и время ожидания чтения для метрик.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+        private long nanos;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            int read = super.read();
+            nanos += System.nanoTime() - start;
+
+            if (read != -1) {
+                count++;
+            }
+
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            int read = super.read(b, off, len);
+            nanos += System.nanoTime() - start;
+
+            if (read > 0) {
+                count += read;
+            }
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long start = System.nanoTime();
+            long skipped = super.skip(n);
+            nanos += System.nanoTime() - start;
+            count += skipped;
+            return skipped;
         }
     }
 }
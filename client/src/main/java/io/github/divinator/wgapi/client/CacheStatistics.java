@@ -0,0 +1,81 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.divinator.wgapi.client;
+
+import org.apache.http.client.cache.CacheResponseStatus;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Класс описывает статистику HTTP-кеша клиента.
+ *
+ * @author Sergey Divin
+ */
+public final class CacheStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong validated = new AtomicLong();
+
+    /**
+     * Метод учитывает результат обращения к кешу.
+     *
+     * @param status Результат обращения к кешу, либо null, если запрос не обрабатывался кешем
+     */
+    void record(CacheResponseStatus status) {
+        if (status == null) {
+            return;
+        }
+
+        switch (status) {
+            case CACHE_HIT:
+                hits.incrementAndGet();
+                break;
+            case VALIDATED:
+                validated.incrementAndGet();
+                break;
+            default:
+                misses.incrementAndGet();
+        }
+    }
+
+    /**
+     * Метод возвращает количество ответов, полученных из кеша без обращения к серверу.
+     *
+     * @return Количество попаданий в кеш
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Метод возвращает количество ответов, полученных от сервера.
+     *
+     * @return Количество промахов кеша
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Метод возвращает количество ответов из кеша, актуальность которых подтвердил сервер (по ETag).
+     *
+     * @return Количество подтверждённых ответов
+     */
+    public long getValidatedCount() {
+        return validated.get();
+    }
+}
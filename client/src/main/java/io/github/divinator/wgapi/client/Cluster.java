@@ -16,9 +16,7 @@
 
 package io.github.divinator.wgapi.client;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.NoSuchElementException;
+import java.util.*;
 
 /**
  * Перечисление кластеров и URL серверов Wargaming.net Public API
@@ -136,6 +134,30 @@ public enum Cluster {
         throw new NoSuchElementException("По указанному региону имя сервера не найдено");
     }
 
+    /**
+     * Метод возвращает имена серверов кластера по всем регионам.
+     *
+     * @return Имена серверов кластера
+     */
+    public Collection<String> getServers() {
+        return Collections.unmodifiableCollection(this.servers.values());
+    }
+
+    /**
+     * Метод возвращает количество различных серверов во всех кластерах.
+     *
+     * @return Количество различных серверов во всех кластерах
+     */
+    public static int getServerCount() {
+        Set<String> servers = new HashSet<>();
+
+        for (Cluster cluster : values()) {
+            servers.addAll(cluster.getServers());
+        }
+
+        return servers.size();
+    }
+
     /**
      * Интерфейс для создания карты серверов
      */
@@ -0,0 +1,441 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Класс выполняет массовый обход сущностей по большому набору идентификаторов.
+ * <p>
+ * Идентификаторы упаковываются в пакеты (до 100 штук, ограничение Wargaming.net Public API), и одновременно
+ * выполняется не более заданного количества пакетных запросов. Ограничение частоты запросов и повторные попытки
+ * обеспечиваются клиентом (см. {@link RateLimiter}, {@link RetryPolicy}). Результаты передаются в {@link Sink}
+ * по мере поступления ответов.
+ * </p>
+ * <p>
+ * Прогресс сохраняется в файл контрольной точки: в нём хранится количество идентификаторов от начала источника,
+ * все пакеты которых уже обработаны. Повторный запуск с тем же источником и файлом пропускает эти идентификаторы.
+ * Пакеты, завершившиеся после последней записи контрольной точки, при повторном запуске будут обработаны снова,
+ * поэтому {@link Sink} должен допускать повторную доставку.
+ * </p>
+ * <p>
+ * Чтобы медленные запросы не задерживали обход, загрузчику можно задать срок выполнения каждого пакета
+ * ({@link Deadline}): запрос, не уложившийся в срок, прерывается, и обход останавливается с сохранённым прогрессом.
+ * </p>
+ * <pre>{@code
+ * Crawler<AccountInformation> crawler = new Crawler<>(
+ *         ids -> accounts.getAccountsInformationAsync(ids, Deadline.after(10, TimeUnit.SECONDS)),
+ *         100, 8, Paths.get("accounts.checkpoint"));
+ * crawler.crawl(Crawler.range(1, 10_000_000), (id, account) -> store(id, account)).join();
+ * }</pre>
+ *
+ * @param <V> Тип сущности в ответе
+ * @author Sergey Divin
+ */
+public final class Crawler<V> {
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final RequestBatcher.Loader<V> loader;
+    private final int batchSize;
+    private final int concurrency;
+    private final Path checkpoint;
+
+    /**
+     * Конструктор объекта, выполняющего массовый обход.
+     *
+     * @param loader      Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param batchSize   Максимальное количество идентификаторов в одном запросе
+     * @param concurrency Максимальное количество одновременно выполняемых запросов
+     * @param checkpoint  Файл контрольной точки, либо null, если прогресс сохранять не нужно
+     */
+    public Crawler(RequestBatcher.Loader<V> loader, int batchSize, int concurrency, Path checkpoint) {
+        if (batchSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Batch size and concurrency must be positive.");
+        }
+
+        this.loader = loader;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Метод возвращает источник идентификаторов из диапазона.
+     *
+     * @param from Первый идентификатор (включительно)
+     * @param to   Последний идентификатор (не включительно)
+     * @return Источник идентификаторов
+     */
+    public static PrimitiveIterator.OfInt range(int from, int to) {
+        return IntStream.range(from, to).iterator();
+    }
+
+    /**
+     * Метод запускает обход.
+     * <p>
+     * Если файл контрольной точки существует, из источника пропускается сохранённое в нём количество
+     * идентификаторов. Источник должен при каждом запуске выдавать идентификаторы в одном и том же порядке.
+     * Ошибка запроса или исключение в {@link Sink} останавливают отправку новых пакетов и отменяют выполняющиеся
+     * запросы; результат завершается исключением после их завершения. Отмена результата также останавливает
+     * отправку новых пакетов и прерывает выполняющиеся запросы.
+     * </p>
+     *
+     * @param ids  Источник идентификаторов
+     * @param sink Получатель результатов
+     * @return Объект {@link CompletableFuture}, который будет завершён количеством обработанных идентификаторов
+     * от начала источника, включая пропущенные по контрольной точке
+     */
+    public CompletableFuture<Long> crawl(PrimitiveIterator.OfInt ids, Sink<V> sink) {
+        long resumed;
+
+        try {
+            resumed = readCheckpoint();
+        } catch (IOException | NumberFormatException e) {
+            CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        long skipped = 0;
+
+        while (skipped < resumed && ids.hasNext()) {
+            ids.nextInt();
+            skipped++;
+        }
+
+        if (skipped > 0 && log.isDebugEnabled()) {
+            log.debug(String.format("Crawler resumed after %d identifiers.", skipped));
+        }
+
+        Run run = new Run(ids, sink, skipped);
+        run.pump();
+        return run.result;
+    }
+
+    /**
+     * Метод читает контрольную точку.
+     *
+     * @return Количество обработанных идентификаторов, либо 0, если контрольной точки нет
+     * @throws IOException В случае, если прочитать файл не удалось
+     */
+    private long readCheckpoint() throws IOException {
+        if (checkpoint == null || !Files.exists(checkpoint)) {
+            return 0;
+        }
+
+        return Long.parseLong(new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * Метод атомарно записывает контрольную точку.
+     *
+     * @param processed Количество обработанных идентификаторов
+     * @throws IOException В случае, если записать файл не удалось
+     */
+    private void writeCheckpoint(long processed) throws IOException {
+        Path directory = checkpoint.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, checkpoint.getFileName().toString(), ".tmp");
+
+        try {
+            Files.write(temp, String.valueOf(processed).getBytes(StandardCharsets.UTF_8));
+
+            try {
+                Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Состояние одного обхода.
+     */
+    private final class Run {
+
+        private final PrimitiveIterator.OfInt ids;
+        private final Sink<V> sink;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        private final AtomicInteger pumping = new AtomicInteger();
+        private final Set<CompletableFuture<?>> running = new HashSet<>();
+
+        /**
+         * Завершённые пакеты, идущие после непрерывно обработанного префикса: начало пакета - конец пакета.
+         */
+        private final Map<Long, Long> completed = new HashMap<>();
+
+        private long dispatched;
+        private long processed;
+        private int inFlight;
+        private boolean exhausted;
+        private Throwable failure;
+
+        private Run(PrimitiveIterator.OfInt ids, Sink<V> sink, long start) {
+            this.ids = ids;
+            this.sink = sink;
+            this.dispatched = start;
+            this.processed = start;
+
+            result.whenComplete((processed, throwable) -> {
+                if (result.isCancelled()) {
+                    cancelRunning();
+                }
+            });
+        }
+
+        /**
+         * Метод отправляет пакеты, пока не достигнуто ограничение одновременных запросов.
+         * <p>
+         * Если ответ завершается в том же потоке, повторный вызов не углубляет стек, а повторяет цикл
+         * уже работающего вызова.
+         * </p>
+         */
+        private void pump() {
+            if (pumping.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                dispatch();
+            } while (pumping.decrementAndGet() != 0);
+        }
+
+        /**
+         * Метод выбирает пакеты для отправки и отправляет их.
+         */
+        private void dispatch() {
+            List<Batch> batches = new ArrayList<>();
+
+            synchronized (this) {
+                while (inFlight < concurrency && !exhausted && failure == null && !result.isDone()) {
+                    int[] batch = new int[batchSize];
+                    int size = 0;
+
+                    while (size < batchSize && ids.hasNext()) {
+                        batch[size++] = ids.nextInt();
+                    }
+
+                    if (size == 0) {
+                        exhausted = true;
+                        break;
+                    }
+
+                    exhausted = !ids.hasNext();
+                    batches.add(new Batch(dispatched, Arrays.copyOf(batch, size)));
+                    dispatched += size;
+                    inFlight++;
+                }
+
+                if (inFlight == 0 && (exhausted || failure != null)) {
+                    finish();
+                }
+            }
+
+            for (Batch batch : batches) {
+                CompletableFuture<JsonResponse<Map<String, V>>> future;
+
+                try {
+                    future = loader.load(batch.join());
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+
+                boolean stopped;
+
+                synchronized (this) {
+                    running.add(future);
+                    stopped = failure != null || result.isDone();
+                }
+
+                if (stopped) {
+                    future.cancel(true);
+                }
+
+                CompletableFuture<JsonResponse<Map<String, V>>> request = future;
+                future.whenComplete((response, throwable) -> complete(batch, request, response, throwable));
+            }
+        }
+
+        /**
+         * Метод обрабатывает ответ на пакетный запрос.
+         *
+         * @param batch     Пакет
+         * @param request   Запрос пакета
+         * @param response  Ответ от Wargaming.net Public API
+         * @param throwable Исключение, если запрос не удался
+         */
+        private void complete(Batch batch, CompletableFuture<?> request, JsonResponse<Map<String, V>> response,
+                              Throwable throwable) {
+            Throwable error = throwable;
+
+            if (error == null && !response.isOk()) {
+                error = new WgApiException(response.getError().getExceptionCode());
+            }
+
+            if (error == null) {
+                try {
+                    Map<String, V> data = response.getData() == null ? Collections.emptyMap() : response.getData();
+
+                    for (int id : batch.ids) {
+                        sink.accept(id, data.get(String.valueOf(id)));
+                    }
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+            }
+
+            boolean failed = false;
+
+            synchronized (this) {
+                inFlight--;
+                running.remove(request);
+
+                if (error != null) {
+                    if (failure == null) {
+                        failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        failed = true;
+                    }
+                } else {
+                    completed.put(batch.start, batch.start + batch.ids.length);
+                    advance();
+                }
+            }
+
+            if (failed) {
+                cancelRunning();
+            }
+
+            pump();
+        }
+
+        /**
+         * Метод отменяет выполняющиеся запросы.
+         */
+        private void cancelRunning() {
+            List<CompletableFuture<?>> requests;
+
+            synchronized (this) {
+                requests = new ArrayList<>(running);
+            }
+
+            for (CompletableFuture<?> request : requests) {
+                request.cancel(true);
+            }
+        }
+
+        /**
+         * Метод сдвигает непрерывно обработанный префикс и сохраняет контрольную точку. Вызывается под блокировкой.
+         */
+        private void advance() {
+            long before = processed;
+            Long end;
+
+            while ((end = completed.remove(processed)) != null) {
+                processed = end;
+            }
+
+            if (checkpoint != null && processed != before) {
+                try {
+                    writeCheckpoint(processed);
+                } catch (IOException e) {
+                    log.warn(String.format("Crawler checkpoint %s could not be written.", checkpoint), e);
+                }
+            }
+        }
+
+        /**
+         * Метод завершает обход. Вызывается под блокировкой.
+         */
+        private void finish() {
+            if (result.isDone()) {
+                return;
+            }
+
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(processed);
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Crawler stopped after %d identifiers.", processed));
+            }
+        }
+    }
+
+    /**
+     * Пакет идентификаторов и его положение в источнике.
+     */
+    private static final class Batch {
+
+        private final long start;
+        private final int[] ids;
+
+        private Batch(long start, int[] ids) {
+            this.start = start;
+            this.ids = ids;
+        }
+
+        private String join() {
+            StringBuilder builder = new StringBuilder(ids.length * 10);
+
+            for (int id : ids) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+
+                builder.append(id);
+            }
+
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Получатель результатов обхода.
+     * <p>
+     * Вызывается в потоке, завершившем запрос; вызовы для разных пакетов могут выполняться одновременно.
+     * </p>
+     *
+     * @param <V> Тип сущности в ответе
+     */
+    @FunctionalInterface
+    public interface Sink<V> {
+
+        /**
+         * Метод принимает результат по одному идентификатору.
+         *
+         * @param id    Идентификатор
+         * @param value Сущность, либо null, если сущность с таким идентификатором не найдена
+         */
+        void accept(int id, V value);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.divinator.wgapi.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс описывает срок выполнения запроса к Wargaming.net Public API.
+ * <p>
+ * Срок передается в метод метод-блока вместе с остальными параметрами и не отправляется в запросе:
+ * {@code tanks.getStatsAsync("12345", Deadline.after(2, TimeUnit.SECONDS))}. Таймауты соединения и чтения
+ * запроса ограничиваются оставшимся временем, повторы после истечения срока не выполняются, а асинхронный
+ * запрос по истечении срока прерывается и завершается ошибкой {@link ErrorCode#CLIENT_REQUEST_DEADLINE_EXCEEDED}.
+ * </p>
+ * <p>
+ * Срок относится ко всему вызову, включая ожидание ограничителя частоты и повторы. Запрос со сроком
+ * не объединяется с одновременными одинаковыми запросами (см. {@link SingleFlight}) и не собирается в пакет
+ * (см. {@link RequestBatcher}): пакетный метод со сроком отправляет отдельный запрос.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class Deadline extends Parameter {
+
+    private final long deadline;
+
+    /**
+     * Конструктор срока выполнения запроса.
+     *
+     * @param timeout Время на выполнение запроса в наносекундах
+     */
+    private Deadline(long timeout) {
+        super("deadline", TimeUnit.NANOSECONDS.toMillis(timeout));
+        this.deadline = System.nanoTime() + timeout;
+    }
+
+    /**
+     * Метод возвращает срок, истекающий через указанное время.
+     *
+     * @param timeout Время на выполнение запроса
+     * @param unit    Единица измерения времени
+     * @return Срок выполнения запроса
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(unit.toNanos(timeout));
+    }
+
+    /**
+     * Метод возвращает время, оставшееся до истечения срока.
+     *
+     * @param unit Единица измерения времени
+     * @return Оставшееся время, либо 0, если срок истёк
+     */
+    public long getRemaining(TimeUnit unit) {
+        return unit.convert(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Метод проверяет, истёк ли срок.
+     *
+     * @return true, если срок истёк
+     */
+    public boolean isExpired() {
+        return deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Метод возвращает более ранний из двух сроков.
+     *
+     * @param first  Первый срок, может быть null
+     * @param second Второй срок, может быть null
+     * @return Более ранний срок, либо null, если оба срока не заданы
+     */
+    static Deadline earliest(Deadline first, Deadline second) {
+        if (first == null) {
+            return second;
+        }
+
+        if (second == null) {
+            return first;
+        }
+
+        return first.deadline - second.deadline <= 0 ? first : second;
+    }
+}
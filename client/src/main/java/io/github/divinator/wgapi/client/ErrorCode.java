@@ -94,6 +94,11 @@ public enum ErrorCode {
      */
     CLIENT_REQUEST_POST_ASYNC_FAILED(1204, "Error sending asynchronous HTTP request using POST method"),
 
+    /**
+     * Истек срок выполнения запроса
+     */
+    CLIENT_REQUEST_DEADLINE_EXCEEDED(1205, "HTTP request deadline exceeded"),
+
     /**
      * Получена неизвестная ошибка от публичного API Wargaming.net
      */
@@ -0,0 +1,351 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.divinator.wgapi.client;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Класс описывает карту с ключами типа int на открытой адресации.
+ * <p>
+ * Предназначен для ответов Wargaming.net Public API, сгруппированных по числовому идентификатору
+ * (аккаунта, клана, техники, модуля): ключи хранятся в массиве int, поэтому поиск и обход не упаковывают
+ * ключи в {@link Integer} и не создают строк и узлов карты. Значение null допустимо - так Wargaming.net
+ * Public API отвечает на несуществующие идентификаторы. Json-объект разбирается в эту карту
+ * фабрикой {@link IntObjectMapTypeAdapterFactory}. Объект не потокобезопасен.
+ * </p>
+ *
+ * @param <V> Тип значения
+ * @author Sergey Divin
+ */
+public final class IntObjectMap<V> {
+
+    private static final Object NULL = new Object();
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    /**
+     * Конструктор пустой карты.
+     */
+    public IntObjectMap() {
+        this(8);
+    }
+
+    /**
+     * Конструктор пустой карты, вмещающей указанное количество элементов без перестроения.
+     *
+     * @param expectedSize Ожидаемое количество элементов
+     */
+    public IntObjectMap(int expectedSize) {
+        allocate(capacity(expectedSize));
+    }
+
+    /**
+     * Метод возвращает значение по ключу.
+     *
+     * @param key Ключ
+     * @return Значение, либо null, если ключа нет или его значение null
+     */
+    public V get(int key) {
+        int index = find(key);
+        return index < 0 ? null : unmask(values[index]);
+    }
+
+    /**
+     * Метод проверяет наличие ключа, в том числе со значением null.
+     *
+     * @param key Ключ
+     * @return true, если ключ есть в карте
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Метод добавляет или заменяет значение по ключу.
+     *
+     * @param key   Ключ
+     * @param value Значение, может быть null
+     * @return Прежнее значение, либо null
+     */
+    public V put(int key, V value) {
+        Object stored = value == null ? NULL : value;
+
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            if (values[index] == null) {
+                keys[index] = key;
+                values[index] = stored;
+
+                if (++size > threshold) {
+                    rehash(keys.length << 1);
+                }
+
+                return null;
+            }
+
+            if (keys[index] == key) {
+                V previous = unmask(values[index]);
+                values[index] = stored;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает количество ключей.
+     *
+     * @return Количество ключей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Метод проверяет, пуста ли карта.
+     *
+     * @return true, если в карте нет ключей
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Метод возвращает ключи карты в порядке их хранения.
+     *
+     * @return Новый массив ключей
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                result[count++] = keys[index];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод передаёт все пары ключ-значение получателю без упаковки ключей.
+     *
+     * @param consumer Получатель пар ключ-значение
+     */
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                consumer.accept(keys[index], unmask(values[index]));
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает курсор для обхода карты в цикле без создания объектов на каждую пару.
+     *
+     * @return Курсор, стоящий перед первой парой
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        forEach((key, value) -> result.append(result.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return result.append('}').toString();
+    }
+
+    /**
+     * Метод ищет позицию ключа.
+     *
+     * @param key Ключ
+     * @return Позиция ключа, либо -1, если ключа нет
+     */
+    private int find(int key) {
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            if (values[index] == null) {
+                return -1;
+            }
+
+            if (keys[index] == key) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Метод перестраивает карту с новой ёмкостью.
+     *
+     * @param capacity Ёмкость, степень двойки
+     */
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int old = 0; old < oldValues.length; old++) {
+            if (oldValues[old] != null) {
+                int index = hash(oldKeys[old]) & mask;
+
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = oldKeys[old];
+                values[index] = oldValues[old];
+            }
+        }
+    }
+
+    /**
+     * Метод выделяет пустые массивы указанной ёмкости.
+     *
+     * @param capacity Ёмкость, степень двойки
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Метод возвращает ёмкость, при которой указанное количество элементов не вызывает перестроения.
+     *
+     * @param expectedSize Ожидаемое количество элементов
+     * @return Ёмкость, степень двойки
+     */
+    private static int capacity(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        int capacity = 4;
+
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Метод возвращает хеш ключа. Идентификаторы Wargaming.net Public API часто идут подряд,
+     * поэтому биты перемешиваются, чтобы соседние ключи не занимали соседние позиции.
+     *
+     * @param key Ключ
+     * @return Хеш ключа
+     */
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Метод возвращает хранимое значение, заменяя метку null на null.
+     *
+     * @param value Хранимое значение
+     * @param <V>   Тип значения
+     * @return Значение
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value) {
+        return value == NULL ? null : (V) value;
+    }
+
+    /**
+     * Получатель пар ключ-значение карты.
+     *
+     * @param <V> Тип значения
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Метод принимает пару ключ-значение.
+         *
+         * @param key   Ключ
+         * @param value Значение, может быть null
+         */
+        void accept(int key, V value);
+    }
+
+    /**
+     * Курсор для обхода карты.
+     * <pre>{@code
+     * for (IntObjectMap<AccountInformation>.Cursor cursor = accounts.cursor(); cursor.next(); ) {
+     *     process(cursor.key(), cursor.value());
+     * }
+     * }</pre>
+     */
+    public final class Cursor {
+
+        private int index = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Метод переводит курсор на следующую пару.
+         *
+         * @return true, если пара есть; false, если обход завершён
+         */
+        public boolean next() {
+            while (++index < values.length) {
+                if (values[index] != null) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Метод возвращает ключ текущей пары.
+         *
+         * @return Ключ
+         * @throws NoSuchElementException В случае, если курсор не стоит на паре
+         */
+        public int key() {
+            check();
+            return keys[index];
+        }
+
+        /**
+         * Метод возвращает значение текущей пары.
+         *
+         * @return Значение, может быть null
+         * @throws NoSuchElementException В случае, если курсор не стоит на паре
+         */
+        public V value() {
+            check();
+            return unmask(values[index]);
+        }
+
+        /**
+         * Метод проверяет, что курсор стоит на паре.
+         */
+        private void check() {
+            if (index < 0 || index >= values.length) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.divinator.wgapi.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Класс описывает фабрику Gson-адаптеров для {@link IntObjectMap}.
+ * <p>
+ * Адаптер читает Json-объект с числовыми ключами, например поле "data" ответа по списку идентификаторов,
+ * сразу в {@link IntObjectMap}: ключ разбирается в int, а значение - адаптером типа значения.
+ * Фабрика регистрируется в общем экземпляре Gson клиента.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class IntObjectMapTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != IntObjectMap.class) {
+            return null;
+        }
+
+        Type valueType = type.getType() instanceof ParameterizedType
+                ? ((ParameterizedType) type.getType()).getActualTypeArguments()[0]
+                : Object.class;
+
+        return (TypeAdapter<T>) new Adapter<>(gson.getAdapter(TypeToken.get(valueType)));
+    }
+
+    /**
+     * Адаптер {@link IntObjectMap}.
+     *
+     * @param <V> Тип значения
+     */
+    private static final class Adapter<V> extends TypeAdapter<IntObjectMap<V>> {
+
+        private final TypeAdapter<V> valueAdapter;
+
+        private Adapter(TypeAdapter<V> valueAdapter) {
+            this.valueAdapter = valueAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, IntObjectMap<V> map) throws IOException {
+            if (map == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+
+            for (IntObjectMap<V>.Cursor cursor = map.cursor(); cursor.next(); ) {
+                out.name(Integer.toString(cursor.key()));
+                valueAdapter.write(out, cursor.value());
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public IntObjectMap<V> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            IntObjectMap<V> map = new IntObjectMap<>();
+            in.beginObject();
+
+            while (in.hasNext()) {
+                String name = in.nextName();
+                int key;
+
+                try {
+                    key = Integer.parseInt(name);
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(String.format("Key \"%s\" is not a numeric ID.", name), e);
+                }
+
+                map.put(key, valueAdapter.read(in));
+            }
+
+            in.endObject();
+            return map;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс описывает разрешение ограничителя частоты запросов, которое получается только перед отправкой
+ * запроса серверу Wargaming.net Public API.
+ * <p>
+ * Кешируемый запрос передает разрешение в контексте HTTP-запроса (атрибут {@link #ATTRIBUTE}), а звено
+ * цепочки {@link WgApiCachingHttpClientBuilder} получает его уже после поиска в кеше. Поэтому ответ из кеша
+ * не расходует разрешение и не ждет его, а повторная проверка актуальности ответа на сервере - расходует.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+final class OriginPermit {
+
+    /**
+     * Название атрибута контекста HTTP-запроса.
+     */
+    static final String ATTRIBUTE = "io.github.divinator.wgapi.origin-permit";
+
+    private final RateLimiter rateLimiter;
+    private final Deadline deadline;
+    private long waited;
+
+    /**
+     * Конструктор разрешения.
+     *
+     * @param rateLimiter Ограничитель частоты запросов
+     * @param deadline    Срок выполнения запроса, либо null
+     */
+    OriginPermit(RateLimiter rateLimiter, Deadline deadline) {
+        this.rateLimiter = rateLimiter;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Метод ожидает разрешения ограничителя частоты запросов, но не дольше срока выполнения запроса.
+     *
+     * @throws WgApiException В случае, если ожидание было прервано, либо разрешение не появится до срока
+     *                        выполнения запроса
+     */
+    void acquire() throws WgApiException {
+        long start = System.nanoTime();
+
+        try {
+            if (deadline == null) {
+                rateLimiter.acquire();
+            } else if (!rateLimiter.tryAcquire(deadline.getRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)) {
+                throw new WgApiException(ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, e);
+        } finally {
+            waited += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Метод возвращает время ожидания разрешений.
+     *
+     * @return Время ожидания в наносекундах
+     */
+    long getWaited() {
+        return waited;
+    }
+
+    /**
+     * Исключение, которым звено цепочки HTTP-клиента передает отказ в разрешении.
+     */
+    static final class DeniedException extends IOException {
+
+        private final WgApiException reason;
+
+        DeniedException(WgApiException reason) {
+            super(reason);
+            this.reason = reason;
+        }
+
+        /**
+         * Метод возвращает причину отказа.
+         *
+         * @return Причина отказа
+         */
+        WgApiException getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.JsonResponseMeta;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Класс описывает ленивый обход постраничного списка Wargaming.net Public API.
+ * <p>
+ * Страницы запрашиваются по мере чтения ("page_no" и "limit"): пока читается страница N, страницы
+ * N+1..N+k уже загружаются параллельно. В памяти находятся не больше k+1 страниц, а прекращение обхода
+ * не загружает оставшиеся страницы. Последняя страница определяется по "page_total" или "total"
+ * в мета-данных ответа, а если их нет - по неполной или пустой странице; заранее запрошенные страницы
+ * за последней отменяются.
+ * </p>
+ * <p>
+ * Ошибка ответа или запроса выбрасывается из {@link #hasNext()} и {@link #next()} как {@link CompletionException}
+ * с причиной {@link WgApiException}. Объект не потокобезопасен.
+ * </p>
+ * <pre>{@code
+ * try (Stream<Clan> clans = client.getMethodBlock(ClanMethod.class).streamClans()) {
+ *     clans.filter(clan -> clan.getMembersCount() > 90).limit(10).forEach(System.out::println);
+ * }
+ * }</pre>
+ *
+ * @param <T> Тип элемента списка
+ * @author Sergey Divin
+ */
+public final class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Loader<T> loader;
+    private final Parameter[] parameters;
+    private final int limit;
+    private final int prefetch;
+    private final Deque<CompletableFuture<JsonResponse<List<T>>>> window = new ArrayDeque<>();
+
+    private Iterator<T> page = Collections.emptyIterator();
+    private int requested;
+    private int consumed;
+    private int lastPage = Integer.MAX_VALUE;
+    private int pageSize;
+    private boolean finished;
+
+    /**
+     * Конструктор постраничного обхода.
+     * <p>
+     * Первая страница запрашивается при первом обращении к {@link #hasNext()}.
+     * </p>
+     *
+     * @param loader     Функция, запрашивающая страницу с переданными параметрами
+     * @param limit      Количество элементов на странице ("limit"), либо 0, если метод не принимает "limit"
+     * @param prefetch   Количество страниц, загружаемых заранее
+     * @param parameters Параметры запроса, кроме "page_no" и "limit"
+     */
+    public PageIterator(Loader<T> loader, int limit, int prefetch, Parameter... parameters) {
+        this.loader = loader;
+        this.limit = limit;
+        this.prefetch = Math.max(0, prefetch);
+        this.parameters = parameters.clone();
+    }
+
+    /**
+     * Метод возвращает последовательный поток элементов списка.
+     * <p>
+     * Закрытие потока отменяет заранее запрошенные страницы.
+     * </p>
+     *
+     * @return Поток элементов списка
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (finished) {
+                return false;
+            }
+
+            if (window.isEmpty()) {
+                request();
+            }
+
+            List<T> data = read(window.poll());
+            consumed++;
+
+            if (pageSize == 0) {
+                pageSize = limit > 0 ? limit : data.size();
+            }
+
+            if (data.size() < pageSize || data.isEmpty()) {
+                lastPage = Math.min(lastPage, consumed);
+            }
+
+            if (consumed >= lastPage) {
+                close();
+            } else {
+                while (window.size() < prefetch && requested < lastPage) {
+                    request();
+                }
+            }
+
+            page = data.iterator();
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return page.next();
+    }
+
+    /**
+     * Метод прекращает обход и отменяет заранее запрошенные страницы.
+     * Элементы уже прочитанной страницы остаются доступны.
+     */
+    @Override
+    public void close() {
+        finished = true;
+
+        for (CompletableFuture<JsonResponse<List<T>>> future : window) {
+            future.cancel(true);
+        }
+
+        window.clear();
+    }
+
+    /**
+     * Метод запрашивает следующую страницу.
+     */
+    private void request() {
+        Parameter[] pageParameters = Arrays.copyOf(parameters, parameters.length + (limit > 0 ? 2 : 1));
+        pageParameters[parameters.length] = new Parameter("page_no", ++requested);
+
+        if (limit > 0) {
+            pageParameters[parameters.length + 1] = new Parameter("limit", limit);
+        }
+
+        window.add(loader.load(pageParameters));
+    }
+
+    /**
+     * Метод ожидает страницу и возвращает её элементы, уточняя номер последней страницы по мета-данным.
+     *
+     * @param future Запрос страницы
+     * @return Элементы страницы
+     * @throws CompletionException С причиной {@link WgApiException}, если запрос завершился ошибкой
+     */
+    private List<T> read(CompletableFuture<JsonResponse<List<T>>> future) {
+        JsonResponse<List<T>> response;
+
+        try {
+            response = future.join();
+        } catch (CompletionException | CancellationException e) {
+            close();
+            throw e instanceof CompletionException ? (CompletionException) e
+                    : new CompletionException(new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, e));
+        }
+
+        if (!response.isOk()) {
+            close();
+            throw new CompletionException(new WgApiException(response.getError().getExceptionCode()));
+        }
+
+        JsonResponseMeta meta = response.getMeta();
+
+        if (meta != null && meta.getPageTotal() > 0) {
+            lastPage = Math.min(lastPage, meta.getPageTotal());
+        } else if (meta != null && meta.getTotal() > 0 && limit > 0) {
+            lastPage = Math.min(lastPage, (meta.getTotal() + limit - 1) / limit);
+        }
+
+        return response.getData() == null ? Collections.emptyList() : response.getData();
+    }
+
+    /**
+     * Функция, запрашивающая страницу списка.
+     *
+     * @param <T> Тип элемента списка
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * Метод запрашивает страницу списка.
+         *
+         * @param parameters Параметры запроса, включая "page_no" и "limit"
+         * @return Объект {@link CompletableFuture}, который будет завершён страницей списка
+         */
+        CompletableFuture<JsonResponse<List<T>>> load(Parameter... parameters);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Класс строит параметр "fields" запроса к Wargaming.net Public API по полям сущности, которые нужны вызывающему.
+ * <p>
+ * Поля задаются путями через точку (вложенные поля), где каждый сегмент - имя поля в ответе
+ * (значение {@link SerializedName}) или имя поля Java-класса, а сегмент после поля-карты - ключ карты, либо ссылками на методы доступа сущности верхнего уровня.
+ * Пути проверяются по классу сущности, поэтому опечатка обнаруживается сразу, а не пустым полем в ответе.
+ * Построенные параметры кэшируются.
+ * </p>
+ * <pre>{@code
+ * Parameter fields = Projection.fields(AccountInformation.class, "nickname", "statistics.all.battles");
+ * Parameter times = Projection.fields(AccountInformation.class,
+ *         AccountInformation::getLastBattleTime, AccountInformation::getUpdatedAt);
+ * }</pre>
+ * <p>
+ * Сервер возвращает только запрошенные поля, поэтому сокращаются и объём ответа, и время его разбора;
+ * остальные поля сущности остаются со значениями по умолчанию.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class Projection {
+
+    private static final String FIELDS = "fields";
+
+    private static final ConcurrentMap<String, Parameter> PARAMETERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, String> GETTERS = new ConcurrentHashMap<>();
+
+    private Projection() {
+    }
+
+    /**
+     * Метод возвращает параметр "fields" по путям полей сущности.
+     *
+     * @param type  Класс сущности
+     * @param paths Пути полей через точку
+     * @return Параметр "fields"
+     * @throws IllegalArgumentException В случае, если поле не найдено в классе сущности
+     */
+    public static Parameter fields(Class<?> type, String... paths) {
+        String key = type.getName() + ':' + String.join(",", paths);
+        Parameter parameter = PARAMETERS.get(key);
+
+        if (parameter == null) {
+            Set<String> fields = new LinkedHashSet<>();
+
+            for (String path : paths) {
+                fields.add(resolve(type, path));
+            }
+
+            parameter = new Parameter(FIELDS, new ArrayList<>(fields));
+            Parameter previous = PARAMETERS.putIfAbsent(key, parameter);
+            parameter = previous == null ? parameter : previous;
+        }
+
+        return parameter;
+    }
+
+    /**
+     * Метод возвращает параметр "fields" по методам доступа сущности.
+     *
+     * @param type    Класс сущности
+     * @param getters Ссылки на методы доступа сущности, например <code>AccountInformation::getNickname</code>
+     * @param <T>     Тип сущности
+     * @return Параметр "fields"
+     * @throws IllegalArgumentException В случае, если метод доступа не соответствует полю сущности
+     */
+    @SafeVarargs
+    public static <T> Parameter fields(Class<T> type, Getter<T, ?>... getters) {
+        String[] paths = new String[getters.length];
+
+        for (int i = 0; i < getters.length; i++) {
+            Getter<T, ?> getter = getters[i];
+            paths[i] = GETTERS.computeIfAbsent(getter.getClass(), ignored -> fieldName(getter));
+        }
+
+        return fields(type, paths);
+    }
+
+    /**
+     * Метод проверяет путь по классу сущности и возвращает его с именами полей в ответе.
+     *
+     * @param type Класс сущности
+     * @param path Путь поля через точку
+     * @return Путь поля с именами полей в ответе
+     */
+    private static String resolve(Class<?> type, String path) {
+        StringBuilder result = new StringBuilder(path.length());
+        Type current = type;
+
+        for (String segment : path.split("\\.")) {
+            if (result.length() > 0) {
+                result.append('.');
+            }
+
+            Type value = mapValueType(current);
+
+            if (value != null) {
+                // Сегмент после карты - ключ карты, дальше путь продолжается по значению.
+                result.append(segment);
+                current = value;
+                continue;
+            }
+
+            Class<?> owner = elementClass(current);
+
+            if (owner == null) {
+                // Содержимое без описанной структуры (Object, Map<String, Object>) не проверяется.
+                result.append(segment);
+                continue;
+            }
+
+            Field field = findField(owner, segment);
+
+            if (field == null) {
+                throw new IllegalArgumentException(String.format("Field \"%s\" of \"%s\" not found in %s.",
+                        segment, path, owner.getName()));
+            }
+
+            SerializedName name = field.getAnnotation(SerializedName.class);
+            result.append(name == null ? field.getName() : name.value());
+            current = field.getGenericType();
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Метод возвращает тип значения, если тип поля - карта.
+     *
+     * @param type Тип поля
+     * @return Тип значения карты, либо null, если тип поля - не карта
+     */
+    private static Type mapValueType(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+
+            if (Map.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+                return parameterized.getActualTypeArguments()[1];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Метод возвращает класс элемента, поля которого описывают следующий сегмент пути:
+     * для коллекций и массивов - класс элемента.
+     *
+     * @param type Тип поля
+     * @return Класс элемента, либо null, если структура элемента не описана
+     */
+    private static Class<?> elementClass(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+
+            if (Map.class.isAssignableFrom(raw)) {
+                return null;
+            }
+
+            if (Collection.class.isAssignableFrom(raw)) {
+                return elementClass(arguments[0]);
+            }
+
+            return raw;
+        }
+
+        if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+
+            if (clazz.isArray()) {
+                return elementClass(clazz.getComponentType());
+            }
+
+            boolean opaque = clazz == Object.class || clazz.isPrimitive() || clazz.getName().startsWith("java.");
+            return opaque ? null : clazz;
+        }
+
+        return null;
+    }
+
+    /**
+     * Метод ищет поле класса или его предков по имени в ответе или имени Java-поля.
+     *
+     * @param type Класс
+     * @param name Имя поля
+     * @return Поле, либо null, если поле не найдено
+     */
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+
+                if (serializedName != null && serializedName.value().equals(name)) {
+                    return field;
+                }
+            }
+
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Метод возвращает имя Java-поля по ссылке на метод доступа.
+     *
+     * @param getter Ссылка на метод доступа
+     * @return Имя Java-поля
+     */
+    private static String fieldName(Getter<?, ?> getter) {
+        SerializedLambda lambda;
+
+        try {
+            Method writeReplace = getter.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            lambda = (SerializedLambda) writeReplace.invoke(getter);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Getter must be a method reference.", e);
+        }
+
+        String method = lambda.getImplMethodName();
+
+        int prefix = method.startsWith("get") ? 3 : method.startsWith("is") ? 2 : 0;
+
+        if (prefix > 0 && method.length() > prefix) {
+            return Character.toLowerCase(method.charAt(prefix)) + method.substring(prefix + 1);
+        }
+
+        throw new IllegalArgumentException(String.format("Method \"%s\" is not a getter.", method));
+    }
+
+    /**
+     * Ссылка на метод доступа сущности.
+     *
+     * @param <T> Тип сущности
+     * @param <R> Тип поля
+     */
+    @FunctionalInterface
+    public interface Getter<T, R> extends Function<T, R>, Serializable {
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Класс описывает ограничитель частоты запросов к Wargaming.net Public API по алгоритму "ведро с токенами".
+ * <p>
+ * Wargaming.net Public API ограничивает количество запросов в секунду для каждого приложения (application_id)
+ * и при превышении квоты возвращает ошибку {@link ErrorCode#REQUEST_LIMIT_EXCEEDED}. Ограничитель выдает
+ * не более {@code rate} разрешений в секунду и допускает единовременный всплеск до {@code burst} запросов.
+ * </p>
+ * <p>
+ * Ограничитель не использует блокировок: состояние ведра хранится как теоретическое время выдачи
+ * следующего разрешения и изменяется атомарной операцией compare-and-set.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class RateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong nextFreeTime;
+
+    /**
+     * Конструктор ограничителя частоты запросов.
+     *
+     * @param rate  Количество разрешений в секунду
+     * @param burst Максимальное количество разрешений, выдаваемых единовременно
+     * @throws IllegalArgumentException В случае, если частота или размер всплеска не положительны
+     */
+    public RateLimiter(double rate, int burst) {
+        if (rate <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+
+        this.interval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.tolerance = interval * (burst - 1);
+        this.nextFreeTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Метод получает разрешение, если оно доступно немедленно.
+     *
+     * @return true, если разрешение получено, иначе false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextFreeTime.get();
+            long start = Math.max(next, now);
+
+            if (start - now > tolerance) {
+                return false;
+            }
+
+            if (nextFreeTime.compareAndSet(next, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Метод получает разрешение, если его можно дождаться за указанное время.
+     * <p>
+     * Если разрешение не появится до истечения времени ожидания, оно не резервируется и метод сразу
+     * возвращает false.
+     * </p>
+     *
+     * @param timeout Максимальное время ожидания
+     * @param unit    Единица измерения времени ожидания
+     * @return true, если разрешение получено, иначе false
+     * @throws InterruptedException В случае, если ожидание было прервано
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long limit = unit.toNanos(timeout);
+        long deadline;
+
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextFreeTime.get();
+            long start = Math.max(next, now);
+            long wait = start - now - tolerance;
+
+            if (wait > limit) {
+                return false;
+            }
+
+            if (nextFreeTime.compareAndSet(next, start + interval)) {
+                deadline = now + wait;
+                break;
+            }
+        }
+
+        for (long wait = deadline - System.nanoTime(); wait > 0; wait = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, wait);
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Метод получает разрешение, при необходимости ожидая его появления.
+     *
+     * @throws InterruptedException В случае, если ожидание было прервано
+     */
+    public void acquire() throws InterruptedException {
+        long deadline = System.nanoTime() + reserve();
+
+        for (long wait = deadline - System.nanoTime(); wait > 0; wait = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, wait);
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Метод асинхронно получает разрешение, не блокируя поток вызова.
+     *
+     * @param scheduler Планировщик, по которому завершается ожидание разрешения
+     * @return Объект {@link CompletableFuture}, который будет завершён при получении разрешения
+     */
+    public CompletableFuture<Void> acquireAsync(ScheduledExecutorService scheduler) {
+        long wait = reserve();
+
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(null), wait, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Метод резервирует ближайшее разрешение.
+     *
+     * @return Время в наносекундах, через которое зарезервированное разрешение станет доступным
+     */
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextFreeTime.get();
+            long start = Math.max(next, now);
+
+            if (nextFreeTime.compareAndSet(next, start + interval)) {
+                return start - now - tolerance;
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.JsonResponseError;
+import io.github.divinator.wgapi.entity.JsonResponseMeta;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Класс собирает одиночные запросы по идентификаторам в пакетные запросы к Wargaming.net Public API.
+ * <p>
+ * Wargaming.net Public API принимает до 100 идентификаторов через запятую в одном запросе. Запросы, пришедшие
+ * в течение короткого окна ожидания, объединяются в один запрос; пакет отправляется сразу, как только набрано
+ * максимальное количество идентификаторов. Данные ответа раздаются каждому вызывающему по его идентификатору.
+ * </p>
+ *
+ * @param <V> Тип сущности в ответе
+ * @author Sergey Divin
+ */
+public final class RequestBatcher<V> {
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final Loader<V> loader;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final long window;
+
+    private Map<Integer, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> timer;
+    private boolean closed;
+
+    /**
+     * Конструктор объекта, собирающего одиночные запросы в пакетные запросы.
+     *
+     * @param loader    Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param scheduler Планировщик, по которому отправляется неполный пакет
+     * @param batchSize Максимальное количество идентификаторов в одном запросе
+     * @param window    Время ожидания в миллисекундах, в течение которого собирается пакет
+     */
+    public RequestBatcher(Loader<V> loader, ScheduledExecutorService scheduler, int batchSize, long window) {
+        this.loader = loader;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.window = window;
+    }
+
+    /**
+     * Метод добавляет идентификатор в текущий пакет.
+     * <p>
+     * Повторный запрос того же идентификатора в пределах одного пакета получает тот же результат.
+     * Если Wargaming.net Public API вернул ошибку, {@link CompletableFuture} завершается исключением
+     * {@link WgApiException}. Для несуществующих идентификаторов результатом будет null. После закрытия
+     * объекта, а также если планировщик не принимает задачи, {@link CompletableFuture} завершается исключением
+     * {@link WgApiException} с кодом {@link ErrorCode#CLIENT_REQUEST_FAILED}.
+     * </p>
+     *
+     * @param id Идентификатор сущности
+     * @return Объект {@link CompletableFuture}, который будет завершён сущностью с указанным идентификатором
+     */
+    public CompletableFuture<V> submit(int id) {
+        CompletableFuture<V> future;
+        Map<Integer, CompletableFuture<V>> ready = null;
+        Map<Integer, CompletableFuture<V>> rejected = null;
+        RejectedExecutionException rejection = null;
+
+        synchronized (this) {
+            if (closed) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED));
+                return future;
+            }
+
+            future = pending.get(id);
+
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(id, future);
+            }
+
+            if (pending.size() >= batchSize) {
+                ready = drain();
+            } else if (timer == null) {
+                try {
+                    timer = scheduler.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Без таймера неполный пакет никогда не будет отправлен
+                    closed = true;
+                    rejected = drain();
+                    rejection = e;
+                }
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+
+        if (rejected != null) {
+            fail(rejected, new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, rejection));
+        }
+
+        return future;
+    }
+
+    /**
+     * Метод закрывает объект: ожидающие отправки запросы и все последующие запросы завершаются исключением
+     * {@link WgApiException} с кодом {@link ErrorCode#CLIENT_REQUEST_FAILED}.
+     */
+    public void close() {
+        Map<Integer, CompletableFuture<V>> rejected;
+
+        synchronized (this) {
+            closed = true;
+            rejected = drain();
+        }
+
+        fail(rejected, new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED));
+    }
+
+    /**
+     * Метод немедленно отправляет текущий неполный пакет.
+     */
+    public void flush() {
+        Map<Integer, CompletableFuture<V>> ready;
+
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                timer = null;
+                return;
+            }
+
+            ready = drain();
+        }
+
+        dispatch(ready);
+    }
+
+    /**
+     * Метод забирает текущий пакет и начинает новый. Вызывается под блокировкой.
+     *
+     * @return Текущий пакет
+     */
+    private Map<Integer, CompletableFuture<V>> drain() {
+        Map<Integer, CompletableFuture<V>> ready = pending;
+        pending = new LinkedHashMap<>();
+
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+
+        return ready;
+    }
+
+    /**
+     * Метод завершает ожидающие результаты пакета исключением.
+     *
+     * @param batch     Пакет идентификаторов с ожидающими результатами
+     * @param exception Исключение
+     * @param <V>       Тип сущности в ответе
+     */
+    private static <V> void fail(Map<Integer, CompletableFuture<V>> batch, WgApiException exception) {
+        batch.values().forEach(future -> future.completeExceptionally(exception));
+    }
+
+    /**
+     * Метод отправляет пакетный запрос и раздает результат вызывающим.
+     *
+     * @param batch Пакет идентификаторов с ожидающими результатами
+     */
+    private void dispatch(Map<Integer, CompletableFuture<V>> batch) {
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Dispatch batch of %d identifiers.", batch.size()));
+        }
+
+        load(batch, loader);
+    }
+
+    /**
+     * Метод выполняет запрос по одному идентификатору в обход пакетов, раздавая результат так же, как пакетный запрос.
+     *
+     * @param id     Идентификатор сущности
+     * @param loader Функция, выполняющая запрос по списку идентификаторов через запятую
+     * @param <V>    Тип сущности в ответе
+     * @return Объект {@link CompletableFuture}, который будет завершён сущностью с указанным идентификатором
+     */
+    static <V> CompletableFuture<V> load(int id, Loader<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        load(Collections.singletonMap(id, future), loader);
+        return future;
+    }
+
+    /**
+     * Метод выполняет запрос по идентификаторам пакета и раздает результат вызывающим.
+     *
+     * @param batch  Пакет идентификаторов с ожидающими результатами
+     * @param loader Функция, выполняющая запрос по списку идентификаторов через запятую
+     * @param <V>    Тип сущности в ответе
+     */
+    private static <V> void load(Map<Integer, CompletableFuture<V>> batch, Loader<V> loader) {
+        loader.load(join(batch.keySet())).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                batch.values().forEach(future -> future.completeExceptionally(throwable));
+            } else if (!response.isOk()) {
+                WgApiException exception = new WgApiException(response.getError().getExceptionCode());
+                batch.values().forEach(future -> future.completeExceptionally(exception));
+            } else {
+                Map<String, V> data = response.getData() == null ? Collections.emptyMap() : response.getData();
+                batch.forEach((id, future) -> future.complete(data.get(String.valueOf(id))));
+            }
+        });
+    }
+
+    /**
+     * Метод выполняет запросы по произвольному количеству идентификаторов, разбивая их на пакеты,
+     * и объединяет ответы в один.
+     * <p>
+     * Пакеты отправляются параллельно. В случае, если хотя бы один из ответов содержит ошибку,
+     * возвращается этот ответ.
+     * </p>
+     *
+     * @param ids       Идентификаторы сущностей
+     * @param batchSize Максимальное количество идентификаторов в одном запросе
+     * @param loader    Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param <V>       Тип сущности в ответе
+     * @return Объект {@link CompletableFuture}, который будет завершён объединённым ответом
+     */
+    public static <V> CompletableFuture<JsonResponse<Map<String, V>>> loadAll(Collection<Integer> ids, int batchSize,
+                                                                             Loader<V> loader) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<CompletableFuture<JsonResponse<Map<String, V>>>> futures = new ArrayList<>();
+
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            futures.add(loader.load(join(distinct.subList(from, Math.min(from + batchSize, distinct.size())))));
+        }
+
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> merge(futures));
+    }
+
+    /**
+     * Метод объединяет завершённые ответы в один.
+     *
+     * @param futures Завершённые ответы
+     * @param <V>     Тип сущности в ответе
+     * @return Объединённый ответ
+     */
+    private static <V> JsonResponse<Map<String, V>> merge(List<CompletableFuture<JsonResponse<Map<String, V>>>> futures) {
+        Map<String, V> data = new LinkedHashMap<>();
+
+        for (CompletableFuture<JsonResponse<Map<String, V>>> future : futures) {
+            JsonResponse<Map<String, V>> response = future.join();
+
+            if (!response.isOk()) {
+                return response;
+            }
+
+            if (response.getData() != null) {
+                data.putAll(response.getData());
+            }
+        }
+
+        return new JsonResponse<>("ok", new JsonResponseMeta(data.size()), new JsonResponseError(), data);
+    }
+
+    /**
+     * Метод объединяет идентификаторы в строку через запятую.
+     *
+     * @param ids Идентификаторы
+     * @return Идентификаторы через запятую
+     */
+    private static String join(Collection<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Функция, выполняющая пакетный запрос по списку идентификаторов.
+     *
+     * @param <V> Тип сущности в ответе
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+
+        /**
+         * Метод выполняет пакетный запрос.
+         *
+         * @param ids Идентификаторы через запятую
+         * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+         */
+        CompletableFuture<JsonResponse<Map<String, V>>> load(String ids);
+    }
+}
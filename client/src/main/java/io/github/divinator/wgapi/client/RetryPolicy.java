@@ -0,0 +1,342 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Класс описывает политику повторных запросов к Wargaming.net Public API.
+ * <p>
+ * Запрос повторяется, если Wargaming.net Public API вернул ошибку с кодом из списка повторяемых
+ * (например {@link ErrorCode#REQUEST_LIMIT_EXCEEDED} или {@link ErrorCode#SOURCE_NOT_AVAILABLE}),
+ * либо если произошел сбой транспорта ({@link ErrorCode#CLIENT_REQUEST_FAILED}). Пауза перед повтором
+ * растет экспоненциально и содержит случайную составляющую, чтобы повторы разных клиентов не совпадали.
+ * </p>
+ * <p>
+ * Общее количество повторов ограничено бюджетом: каждый первый запрос пополняет бюджет на заданную долю
+ * повтора, каждый повтор расходует один повтор из бюджета. Это не позволяет повторам многократно увеличить
+ * нагрузку во время длительного сбоя.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class RetryPolicy {
+
+    private static final long TOKEN = 100;
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final int maxAttempts;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final long budgetCapacity;
+    private final long budgetDeposit;
+    private final Set<ErrorCode> retryable;
+    private final AtomicLong budget;
+
+    /**
+     * Конструктор политики повторных запросов.
+     *
+     * @param maxAttempts   Максимальное количество попыток, включая первую
+     * @param baseDelay     Пауза перед первым повтором в миллисекундах
+     * @param maxDelay      Максимальная пауза перед повтором в миллисекундах
+     * @param budget        Максимальное количество повторов, накапливаемое в бюджете
+     * @param budgetPercent Доля повтора в процентах, на которую каждый первый запрос пополняет бюджет
+     * @param retryable     Коды ошибок, при которых запрос повторяется
+     */
+    public RetryPolicy(int maxAttempts, long baseDelay, long maxDelay, int budget, int budgetPercent,
+                       Set<ErrorCode> retryable) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = Math.max(0, baseDelay);
+        this.maxDelay = Math.max(this.baseDelay, maxDelay);
+        this.budgetCapacity = Math.max(0, budget) * TOKEN;
+        this.budgetDeposit = Math.max(0, budgetPercent) * TOKEN / 100;
+        this.retryable = retryable.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(retryable));
+        this.budget = new AtomicLong(budgetCapacity);
+    }
+
+    /**
+     * Метод возвращает максимальное количество попыток, включая первую.
+     *
+     * @return Максимальное количество попыток
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Метод возвращает коды ошибок, при которых запрос повторяется.
+     *
+     * @return Коды ошибок
+     */
+    public Set<ErrorCode> getRetryableCodes() {
+        return retryable;
+    }
+
+    /**
+     * Метод проверяет, повторяется ли запрос при указанном коде ошибки.
+     *
+     * @param errorCode Код ошибки
+     * @return true, если запрос с такой ошибкой повторяется
+     */
+    public boolean isRetryable(ErrorCode errorCode) {
+        return errorCode != null && retryable.contains(errorCode);
+    }
+
+    /**
+     * Метод проверяет, повторяется ли запрос, завершившийся исключением.
+     * <p>
+     * Проверяется вся цепочка причин исключения. Прерванный запрос и запрос с истёкшим сроком выполнения
+     * не повторяются.
+     * </p>
+     *
+     * @param throwable Исключение
+     * @return true, если запрос с таким исключением повторяется
+     */
+    public boolean isRetryable(Throwable throwable) {
+        boolean result = false;
+
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return false;
+            }
+
+            if (cause instanceof WgApiException
+                    && ((WgApiException) cause).getErrorCode() == ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED) {
+                return false;
+            }
+
+            if (cause instanceof WgApiException && isRetryable(((WgApiException) cause).getErrorCode())) {
+                result = true;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод выполняет запрос, повторяя его согласно политике.
+     * <p>
+     * Если после всех попыток Wargaming.net Public API вернул ошибку, возвращается последний ответ.
+     * </p>
+     *
+     * @param call Запрос
+     * @param <T>  Тип ответа
+     * @return Ответ от Wargaming.net Public API
+     * @throws WgApiException В случае, если запрос завершился неповторяемой ошибкой, закончились попытки,
+     *                        либо ожидание повтора было прервано
+     */
+    public <T extends JsonResponse> T execute(Call<T> call) throws WgApiException {
+        deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T response = call.call();
+
+                if (response == null || response.isOk()
+                        || !isRetryable(response.getError().getExceptionCode()) || !canRetry(attempt)) {
+                    return response;
+                }
+            } catch (WgApiException e) {
+                if (!isRetryable(e) || !canRetry(attempt)) {
+                    throw e;
+                }
+            }
+
+            try {
+                Thread.sleep(getDelay(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED, e);
+            }
+        }
+    }
+
+    /**
+     * Метод асинхронно выполняет запрос, повторяя его согласно политике.
+     * <p>
+     * Паузы между повторами выполняются планировщиком без блокировки потоков. Отмена возвращаемого
+     * {@link CompletableFuture} отменяет текущую попытку и последующие повторы.
+     * </p>
+     *
+     * @param call      Запрос
+     * @param scheduler Планировщик, по которому выполняются повторы
+     * @param <T>       Тип ответа
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public <T extends JsonResponse> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call,
+                                                                       ScheduledExecutorService scheduler) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        deposit();
+        attemptAsync(call, scheduler, result, 1);
+        return result;
+    }
+
+    /**
+     * Метод выполняет очередную асинхронную попытку запроса.
+     *
+     * @param call      Запрос
+     * @param scheduler Планировщик, по которому выполняются повторы
+     * @param result    Итоговый результат запроса
+     * @param attempt   Номер попытки
+     * @param <T>       Тип ответа
+     */
+    private <T extends JsonResponse> void attemptAsync(Supplier<CompletableFuture<T>> call,
+                                                       ScheduledExecutorService scheduler,
+                                                       CompletableFuture<T> result, int attempt) {
+        if (result.isDone()) {
+            return;
+        }
+
+        CompletableFuture<T> future = call.get();
+
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                future.cancel(false);
+            }
+        });
+
+        future.whenComplete((response, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+
+            boolean retry = cause != null
+                    ? isRetryable(cause)
+                    : response != null && !response.isOk() && isRetryable(response.getError().getExceptionCode());
+
+            if (retry && !result.isDone() && canRetry(attempt) && schedule(scheduler,
+                    () -> attemptAsync(call, scheduler, result, attempt + 1), getDelay(attempt))) {
+                return;
+            }
+
+            if (cause != null) {
+                result.completeExceptionally(cause);
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    /**
+     * Метод планирует повтор запроса.
+     *
+     * @param scheduler Планировщик
+     * @param retry     Повтор запроса
+     * @param delay     Задержка в миллисекундах
+     * @return true, если повтор запланирован; false, если планировщик уже остановлен
+     */
+    private static boolean schedule(ScheduledExecutorService scheduler, Runnable retry, long delay) {
+        try {
+            scheduler.schedule(retry, delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Клиент закрыт: результат завершается исходом последней попытки
+            return false;
+        }
+    }
+
+    /**
+     * Метод проверяет, допустим ли повтор после указанной попытки, и списывает повтор из бюджета.
+     *
+     * @param attempt Номер завершившейся попытки
+     * @return true, если повтор допустим
+     */
+    private boolean canRetry(int attempt) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+
+        while (true) {
+            long current = budget.get();
+
+            if (current < TOKEN) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Retry budget exhausted.");
+                }
+                return false;
+            }
+
+            if (budget.compareAndSet(current, current - TOKEN)) {
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Retry attempt %d of %d.", attempt + 1, maxAttempts));
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Метод пополняет бюджет повторов при выполнении нового запроса.
+     */
+    private void deposit() {
+        while (true) {
+            long current = budget.get();
+            long next = Math.min(budgetCapacity, current + budgetDeposit);
+
+            if (current == next || budget.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает паузу перед повтором: половина паузы экспоненциально растет с номером попытки,
+     * вторая половина выбирается случайно.
+     *
+     * @param attempt Номер завершившейся попытки
+     * @return Пауза в миллисекундах
+     */
+    long getDelay(int attempt) {
+        long delay = Math.min(maxDelay, baseDelay << Math.min(attempt - 1, 20));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * Запрос к Wargaming.net Public API, который может быть повторен.
+     *
+     * @param <T> Тип ответа
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+
+        /**
+         * Метод выполняет запрос.
+         *
+         * @return Ответ от Wargaming.net Public API
+         * @throws WgApiException В случае ошибки выполнения запроса
+         */
+        T call() throws WgApiException;
+    }
+}
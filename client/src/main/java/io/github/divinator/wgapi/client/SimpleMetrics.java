@@ -0,0 +1,249 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс описывает получателя метрик, хранящего их в памяти без внешних зависимостей.
+ * <p>
+ * Для каждой конечной точки (например "tanks/stats") считаются запросы, повторы, объединённые запросы,
+ * обращения к HTTP-кешу, отправленные и полученные байты, ошибки по {@link ErrorCode}, а также гистограммы
+ * сетевой задержки и времени разбора ответа. Включается значением "simple" свойства
+ * "io.github.divinator.wgapi.metrics"; метрики доступны через {@link WgApiClient#getMetrics()}.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class SimpleMetrics implements WgApiMetrics {
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void onExchange(String endpoint, long networkNanos, long bytesOut, ErrorCode error) {
+        Endpoint metrics = getEndpoint(endpoint);
+        metrics.requests.increment();
+        metrics.latency.record(networkNanos);
+        metrics.bytesOut.add(bytesOut);
+        metrics.error(error);
+    }
+
+    @Override
+    public void onResponse(String endpoint, long parseNanos, long bytesIn, ErrorCode error) {
+        Endpoint metrics = getEndpoint(endpoint);
+        metrics.parseTime.record(parseNanos);
+        metrics.bytesIn.add(bytesIn);
+        metrics.error(error);
+    }
+
+    @Override
+    public void onRetry(String endpoint) {
+        getEndpoint(endpoint).retries.increment();
+    }
+
+    @Override
+    public void onCoalesced(String endpoint) {
+        getEndpoint(endpoint).coalesced.increment();
+    }
+
+    @Override
+    public void onCache(String endpoint, boolean hit) {
+        Endpoint metrics = getEndpoint(endpoint);
+        (hit ? metrics.cacheHits : metrics.cacheMisses).increment();
+    }
+
+    /**
+     * Метод возвращает метрики всех конечных точек, к которым были запросы.
+     *
+     * @return Неизменяемая карта метрик по конечной точке
+     */
+    public Map<String, Endpoint> getEndpoints() {
+        return Collections.unmodifiableMap(endpoints);
+    }
+
+    /**
+     * Метод возвращает метрики конечной точки.
+     *
+     * @param endpoint Конечная точка, например "tanks/stats"
+     * @return Метрики конечной точки
+     */
+    public Endpoint getEndpoint(String endpoint) {
+        Endpoint metrics = endpoints.get(endpoint);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+    }
+
+    /**
+     * Класс описывает метрики одной конечной точки.
+     */
+    public static final class Endpoint {
+
+        private static final ErrorCode[] ERROR_CODES = ErrorCode.values();
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final AtomicLongArray errors = new AtomicLongArray(ERROR_CODES.length);
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram parseTime = new LatencyHistogram();
+
+        private Endpoint() {
+        }
+
+        private void error(ErrorCode error) {
+            if (error != null) {
+                errors.incrementAndGet(error.ordinal());
+            }
+        }
+
+        /**
+         * Метод возвращает количество HTTP-обменов, включая повторные попытки.
+         *
+         * @return Количество HTTP-обменов
+         */
+        public long getRequestCount() {
+            return requests.sum();
+        }
+
+        /**
+         * Метод возвращает количество повторных попыток.
+         *
+         * @return Количество повторных попыток
+         */
+        public long getRetryCount() {
+            return retries.sum();
+        }
+
+        /**
+         * Метод возвращает количество запросов, объединённых с одновременными одинаковыми запросами.
+         *
+         * @return Количество объединённых запросов
+         */
+        public long getCoalescedCount() {
+            return coalesced.sum();
+        }
+
+        /**
+         * Метод возвращает количество ответов, полученных из HTTP-кеша.
+         *
+         * @return Количество попаданий в кеш
+         */
+        public long getCacheHitCount() {
+            return cacheHits.sum();
+        }
+
+        /**
+         * Метод возвращает количество обращений к HTTP-кешу, потребовавших запроса к серверу.
+         *
+         * @return Количество промахов кеша
+         */
+        public long getCacheMissCount() {
+            return cacheMisses.sum();
+        }
+
+        /**
+         * Метод возвращает количество полученных байт тел ответов.
+         *
+         * @return Количество полученных байт
+         */
+        public long getBytesIn() {
+            return bytesIn.sum();
+        }
+
+        /**
+         * Метод возвращает количество отправленных байт.
+         *
+         * @return Количество отправленных байт
+         */
+        public long getBytesOut() {
+            return bytesOut.sum();
+        }
+
+        /**
+         * Метод возвращает количество ошибок с указанным кодом.
+         *
+         * @param errorCode Код ошибки
+         * @return Количество ошибок
+         */
+        public long getErrorCount(ErrorCode errorCode) {
+            return errors.get(errorCode.ordinal());
+        }
+
+        /**
+         * Метод возвращает количество ошибок по кодам ошибок.
+         *
+         * @return Количество ошибок по кодам; коды без ошибок не включаются
+         */
+        public Map<ErrorCode, Long> getErrorCounts() {
+            Map<ErrorCode, Long> result = new EnumMap<>(ErrorCode.class);
+
+            for (ErrorCode errorCode : ERROR_CODES) {
+                long count = errors.get(errorCode.ordinal());
+
+                if (count > 0) {
+                    result.put(errorCode, count);
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * Метод возвращает гистограмму сетевой задержки.
+         *
+         * @return Гистограмма сетевой задержки
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Метод возвращает гистограмму времени разбора ответа.
+         *
+         * @return Гистограмма времени разбора ответа
+         */
+        public LatencyHistogram getParseTime() {
+            return parseTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "requests=%d, retries=%d, coalesced=%d, cache=%d/%d, bytes in/out=%d/%d, errors=%s, " +
+                            "latency p50/p99/p999=%d/%d/%d us, parse p50/p99=%d/%d us",
+                    getRequestCount(), getRetryCount(), getCoalescedCount(), getCacheHitCount(), getCacheMissCount(),
+                    getBytesIn(), getBytesOut(), getErrorCounts(),
+                    latency.getPercentile(50) / 1000, latency.getPercentile(99) / 1000, latency.getPercentile(99.9) / 1000,
+                    parseTime.getPercentile(50) / 1000, parseTime.getPercentile(99) / 1000
+            );
+        }
+    }
+}
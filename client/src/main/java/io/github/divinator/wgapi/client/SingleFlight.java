@@ -0,0 +1,217 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Класс объединяет одновременные одинаковые запросы к Wargaming.net Public API в один.
+ * <p>
+ * Пока запрос с некоторым ключом выполняется, все остальные запросы с тем же ключом не отправляются,
+ * а дожидаются его результата. Все участники получают один и тот же разобранный объект ответа,
+ * поэтому изменять полученные данные не следует.
+ * </p>
+ * <p>
+ * Асинхронный участник, отменивший свой {@link CompletableFuture}, только перестает ждать результат.
+ * Сам запрос отменяется, когда его отменили все асинхронные участники.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class SingleFlight {
+
+    private final ConcurrentMap<String, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Метод возвращает количество запросов, которые не были отправлены, а получили результат
+     * одновременного одинакового запроса.
+     *
+     * @return Количество объединённых запросов
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Метод возвращает количество выполняющихся в данный момент запросов.
+     *
+     * @return Количество выполняющихся запросов
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Метод выполняет запрос, либо дожидается результата выполняющегося запроса с тем же ключом.
+     *
+     * @param key  Ключ запроса
+     * @param call Запрос
+     * @param <T>  Тип результата
+     * @return Результат запроса
+     * @throws WgApiException В случае, если запрос завершился ошибкой
+     */
+    public <T> T execute(String key, RetryPolicy.Call<T> call) throws WgApiException {
+        while (true) {
+            Flight<T> existing = getFlight(key);
+
+            if (existing != null) {
+                CompletableFuture<T> follower = existing.join();
+
+                if (follower != null) {
+                    coalesced.incrementAndGet();
+                    return AbstractMethodBlock.await(follower);
+                }
+
+                flights.remove(key, existing);
+                continue;
+            }
+
+            Flight<T> flight = new Flight<>();
+
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+
+            // Синхронный участник никогда не отменяет запрос
+            flight.join();
+
+            try {
+                T result = call.call();
+                flight.result.complete(result);
+                return result;
+            } catch (Throwable e) {
+                flight.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * Метод асинхронно выполняет запрос, либо присоединяется к выполняющемуся запросу с тем же ключом.
+     *
+     * @param key  Ключ запроса
+     * @param call Запрос
+     * @param <T>  Тип результата
+     * @return Объект {@link CompletableFuture}, который будет завершён результатом запроса
+     */
+    public <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> call) {
+        while (true) {
+            Flight<T> existing = getFlight(key);
+
+            if (existing != null) {
+                CompletableFuture<T> follower = existing.join();
+
+                if (follower != null) {
+                    coalesced.incrementAndGet();
+                    return follower;
+                }
+
+                flights.remove(key, existing);
+                continue;
+            }
+
+            Flight<T> flight = new Flight<>();
+
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+
+            CompletableFuture<T> leader = flight.join();
+            CompletableFuture<T> source = call.get();
+
+            source.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    flight.result.completeExceptionally(throwable);
+                } else {
+                    flight.result.complete(value);
+                }
+            });
+
+            flight.result.whenComplete((value, throwable) -> {
+                flights.remove(key, flight);
+
+                if (flight.result.isCancelled()) {
+                    source.cancel(false);
+                }
+            });
+
+            return leader;
+        }
+    }
+
+    /**
+     * Метод возвращает выполняющийся запрос по ключу.
+     *
+     * @param key Ключ запроса
+     * @param <T> Тип результата
+     * @return Выполняющийся запрос, либо null
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Flight<T> getFlight(String key) {
+        return (Flight<T>) flights.get(key);
+    }
+
+    /**
+     * Выполняющийся запрос и счетчик его участников.
+     * <p>
+     * Когда все участники отменили ожидание, счетчик переводится в -1 и запрос отменяется;
+     * присоединиться к такому запросу уже нельзя.
+     * </p>
+     *
+     * @param <T> Тип результата
+     */
+    private static final class Flight<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        /**
+         * Метод добавляет участника запроса.
+         *
+         * @return Объект {@link CompletableFuture} участника, либо null, если запрос уже отменён
+         */
+        private CompletableFuture<T> join() {
+            int current;
+
+            do {
+                current = waiters.get();
+
+                if (current < 0) {
+                    return null;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+
+            CompletableFuture<T> waiter = result.thenApply(value -> value);
+
+            waiter.whenComplete((value, throwable) -> {
+                if (waiter.isCancelled() && waiters.decrementAndGet() == 0 && waiters.compareAndSet(0, -1)) {
+                    result.cancel(false);
+                }
+            });
+
+            return waiter;
+        }
+    }
+}
@@ -16,11 +16,18 @@
 
 package io.github.divinator.wgapi.client;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 /**
  * Интерфейс описывает Wargaming.net Public API — набор общедоступных методов API, которые предоставляют доступ к
  * проектам Wargaming.net, включая игровой контент, статистику игроков, данные энциклопедии и многое другое.
+ * <p>
+ * Объект держит пул HTTP-соединений, поэтому его следует создавать один раз и закрывать методом {@link #close()}
+ * по окончании работы.
+ * </p>
  */
-public interface WgApi {
+public interface WgApi extends Closeable {
 
     /**
      * Метод возвращает объект группы методов Wargaming.net Public API по указанному классу группы методов.
@@ -60,4 +67,12 @@ public interface WgApi {
      * @return Таймаут соединения в миллисекундах
      */
     int getConnectTimeout();
+
+    /**
+     * Метод закрывает клиент и освобождает все HTTP-соединения.
+     *
+     * @throws IOException В случае, если при закрытии соединений возникла ошибка
+     */
+    @Override
+    void close() throws IOException;
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.divinator.wgapi.client;
+
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Класс описывает строитель HTTP-клиента с кешированием ответов Wargaming.net Public API.
+ * <p>
+ * Кеш соблюдает заголовки Cache-Control, Expires и ETag, которые отдает сервер. Если сервер не указал
+ * срок актуальности ответа, ответу назначается время жизни из настроек для метод-блока запроса,
+ * см. {@link WgApiProperties#getCacheTtl(String)}. Кешируются только ответы на запросы методом GET.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+final class WgApiCachingHttpClientBuilder extends CachingHttpClientBuilder {
+
+    private final WgApiProperties properties;
+
+    /**
+     * Конструктор строителя HTTP-клиента с кешированием ответов.
+     * <p>
+     * Ответы хранятся в памяти, либо на диске, если указан каталог кеша {@link WgApiProperties#getCacheDir()}.
+     * </p>
+     *
+     * @param properties Конфигурация клиента
+     */
+    WgApiCachingHttpClientBuilder(WgApiProperties properties) {
+        this.properties = properties;
+
+        setCacheConfig(CacheConfig.custom()
+                .setMaxCacheEntries(properties.getCacheMaxEntries())
+                .setMaxObjectSize(properties.getCacheMaxObjectSize())
+                .setSharedCache(false)
+                .build()
+        );
+
+        if (properties.getCacheDir() != null) {
+            setCacheDir(new File(properties.getCacheDir()));
+        }
+    }
+
+    /**
+     * Метод добавляет между кешем и транспортом звенья, которые назначают время жизни ответам без заголовков кеширования
+     * и получают разрешение ограничителя частоты запросов.
+     *
+     * @param mainExec Звено, выполняющее HTTP-запрос
+     * @return Звено кеширования
+     */
+    @Override
+    protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+        return super.decorateMainExec(new CacheTtlExec(new OriginPermitExec(mainExec), properties));
+    }
+
+    /**
+     * Звено, получающее разрешение ограничителя частоты запросов перед отправкой запроса серверу,
+     * то есть только для запросов, на которые нет ответа в кеше, см. {@link OriginPermit}.
+     */
+    private static final class OriginPermitExec implements ClientExecChain {
+
+        private final ClientExecChain backend;
+
+        private OriginPermitExec(ClientExecChain backend) {
+            this.backend = backend;
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpRoute route, HttpRequestWrapper request, HttpClientContext context,
+                                             HttpExecutionAware execAware) throws IOException, HttpException {
+            OriginPermit permit = context.getAttribute(OriginPermit.ATTRIBUTE, OriginPermit.class);
+
+            if (permit != null) {
+                try {
+                    permit.acquire();
+                } catch (WgApiException e) {
+                    throw new OriginPermit.DeniedException(e);
+                }
+            }
+
+            return backend.execute(route, request, context, execAware);
+        }
+    }
+
+    /**
+     * Звено, назначающее время жизни ответам, для которых сервер не указал срок актуальности.
+     */
+    private static final class CacheTtlExec implements ClientExecChain {
+
+        private final ClientExecChain backend;
+        private final WgApiProperties properties;
+
+        private CacheTtlExec(ClientExecChain backend, WgApiProperties properties) {
+            this.backend = backend;
+            this.properties = properties;
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpRoute route, HttpRequestWrapper request, HttpClientContext context,
+                                             HttpExecutionAware execAware) throws IOException, HttpException {
+            CloseableHttpResponse response = backend.execute(route, request, context, execAware);
+
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK
+                    && !response.containsHeader(HttpHeaders.CACHE_CONTROL)
+                    && !response.containsHeader(HttpHeaders.EXPIRES)) {
+
+                int ttl = properties.getCacheTtl(getMethodBlock(request.getURI()));
+
+                if (ttl > 0) {
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=" + ttl);
+                }
+            }
+
+            return response;
+        }
+
+        /**
+         * Метод возвращает название метод-блока из пути запроса вида "/wot/encyclopedia/vehicles/".
+         *
+         * @param uri URI запроса
+         * @return Название метод-блока, либо null
+         */
+        private static String getMethodBlock(URI uri) {
+            String[] segments = uri.getPath().split("/");
+            return segments.length > 2 ? segments[2] : null;
+        }
+    }
+}
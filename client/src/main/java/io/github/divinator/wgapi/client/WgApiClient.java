@@ -16,10 +16,30 @@
 
 package io.github.divinator.wgapi.client;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Класс описывает объект клиента для получения данных от Wargaming.net Public API.
@@ -34,6 +54,19 @@ public final class WgApiClient extends AbstractHttpClient {
     private final Log log = LogFactory.getLog(getClass());
     private final WgApiUriBuilder wgApiUriBuilder;
     private final WgApiProperties properties;
+    private final CloseableHttpClient httpClient;
+    private volatile CloseableHttpAsyncClient httpAsyncClient;
+    private final ConcurrentMap<String, RequestBatcher<?>> batchers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final RetryPolicy retryPolicy;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final CacheStatistics cacheStatistics;
+    private volatile WgApiMetrics metrics;
+    private volatile ScheduledExecutorService scheduler;
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new IntObjectMapTypeAdapterFactory())
+            .create();
+    private final ConcurrentMap<TypeToken<?>, TypeAdapter<?>> typeAdapters = new ConcurrentHashMap<>();
 
     /**
      * Конструктор объекта клиента {@link WgApiClient}
@@ -41,8 +74,21 @@ public final class WgApiClient extends AbstractHttpClient {
      * @param wgApiUriBuilder Строитель URI запроса для Wargaming.net Public API
      */
     public WgApiClient(WgApiUriBuilder wgApiUriBuilder) {
-        this.wgApiUriBuilder = wgApiUriBuilder;
         this.properties = new WgApiProperties();
+        this.wgApiUriBuilder = properties.getHost() == null
+                ? wgApiUriBuilder
+                : wgApiUriBuilder.withHost(properties.getHost());
+        this.cacheStatistics = properties.isCacheEnabled() ? new CacheStatistics() : null;
+        this.metrics = createMetrics(properties.getMetrics());
+        this.httpClient = createHttpClient();
+        this.retryPolicy = new RetryPolicy(
+                properties.getRetryMaxAttempts(),
+                properties.getRetryBaseDelay(),
+                properties.getRetryMaxDelay(),
+                properties.getRetryBudget(),
+                properties.getRetryBudgetPercent(),
+                properties.getRetryCodes()
+        );
         log.debug("WgApiClient initialized.");
     }
 
@@ -94,8 +140,330 @@ public final class WgApiClient extends AbstractHttpClient {
      */
     @Override
     protected CloseableHttpClient getHttpClient() {
-        return HttpClientBuilder
+        return httpClient;
+    }
+
+    /**
+     * Метод возвращает объект Gson клиента.
+     *
+     * @return Объект Gson клиента
+     */
+    @Override
+    protected Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Метод возвращает кешированный адаптер Gson для указанного типа ответа.
+     *
+     * @param typeToken Тип ответа
+     * @param <T>       Тип ответа
+     * @return Адаптер Gson для указанного типа ответа
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> TypeAdapter<T> getTypeAdapter(TypeToken<T> typeToken) {
+        return (TypeAdapter<T>) typeAdapters.computeIfAbsent(typeToken, gson::getAdapter);
+    }
+
+    /**
+     * Метод возвращает объект неблокирующего HTTP-клиента.
+     * <p>
+     * Клиент создается при первом асинхронном запросе.
+     * </p>
+     *
+     * @return Объект неблокирующего HTTP-клиента
+     */
+    @Override
+    protected CloseableHttpAsyncClient getHttpAsyncClient() {
+        CloseableHttpAsyncClient client = httpAsyncClient;
+
+        if (client == null) {
+            synchronized (this) {
+                client = httpAsyncClient;
+
+                if (client == null) {
+                    client = createHttpAsyncClient();
+                    client.start();
+                    httpAsyncClient = client;
+                    log.debug("WgApiClient async transport started.");
+                }
+            }
+        }
+
+        return client;
+    }
+
+    /**
+     * Метод возвращает планировщик фоновых задач клиента.
+     * <p>
+     * Планировщик создается при первом обращении и использует один поток-демон. После закрытия клиента
+     * планировщик отклоняет задачи исключением {@link java.util.concurrent.RejectedExecutionException}.
+     * </p>
+     *
+     * @return Планировщик фоновых задач клиента
+     */
+    @Override
+    protected ScheduledExecutorService getScheduler() {
+        ScheduledExecutorService executor = scheduler;
+
+        if (executor == null) {
+            synchronized (this) {
+                executor = scheduler;
+
+                if (executor == null) {
+                    executor = createScheduler();
+                    scheduler = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Метод создает планировщик фоновых задач с одним потоком-демоном. Поток запускается с первой задачей.
+     *
+     * @return Планировщик фоновых задач
+     */
+    private static ScheduledExecutorService createScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wgapi-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Метод возвращает ограничитель частоты запросов для указанного приложения.
+     * <p>
+     * Ограничитель создается при первом запросе приложения и общий для всех запросов клиента с этим
+     * application_id. Через него можно проверить доступность квоты без отправки запроса, например
+     * {@code client.getRateLimiter(applicationId).tryAcquire()}.
+     * </p>
+     *
+     * @param applicationId Идентификатор приложения (application_id)
+     * @return Ограничитель частоты запросов, либо null, если ограничение отключено
+     */
+    @Override
+    public RateLimiter getRateLimiter(String applicationId) {
+        if (getProperties().getRateLimit() <= 0) {
+            return null;
+        }
+
+        return rateLimiters.computeIfAbsent(applicationId == null ? "" : applicationId, key -> new RateLimiter(
+                getProperties().getRateLimit(),
+                getProperties().getRateLimitBurst()
+        ));
+    }
+
+    /**
+     * Метод возвращает политику повторных запросов клиента.
+     *
+     * @return Политика повторных запросов
+     */
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Метод возвращает объект, объединяющий одновременные одинаковые запросы клиента.
+     * <p>
+     * Через него доступно количество объединённых запросов {@link SingleFlight#getCoalescedCount()}.
+     * </p>
+     *
+     * @return Объект, объединяющий одновременные одинаковые запросы
+     */
+    @Override
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Метод возвращает статистику HTTP-кеша клиента: количество попаданий и промахов.
+     * <p>
+     * Кеширование включается свойством "io.github.divinator.wgapi.cache.enabled".
+     * </p>
+     *
+     * @return Статистика HTTP-кеша, либо null, если кеширование выключено
+     */
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
+    /**
+     * Метод возвращает получателя метрик клиента.
+     * <p>
+     * Получатель выбирается свойством "io.github.divinator.wgapi.metrics"; для значения "simple" это
+     * {@link SimpleMetrics} с метриками по каждой конечной точке.
+     * </p>
+     *
+     * @return Получатель метрик, либо {@link WgApiMetrics#NOOP}, если метрики не записываются
+     */
+    @Override
+    public WgApiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Метод устанавливает получателя метрик клиента, например адаптер к внешней системе мониторинга.
+     *
+     * @param metrics Получатель метрик, либо null, чтобы отключить запись метрик
+     */
+    public void setMetrics(WgApiMetrics metrics) {
+        this.metrics = metrics == null ? WgApiMetrics.NOOP : metrics;
+    }
+
+    /**
+     * Метод возвращает объект, собирающий одиночные запросы по идентификаторам в пакетные запросы.
+     *
+     * @param key    Ключ, однозначно описывающий метод и параметры запроса
+     * @param loader Функция, выполняющая пакетный запрос по списку идентификаторов через запятую
+     * @param <V>    Тип сущности в ответе
+     * @return Объект, собирающий одиночные запросы в пакетные запросы
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <V> RequestBatcher<V> getRequestBatcher(String key, RequestBatcher.Loader<V> loader) {
+        return (RequestBatcher<V>) batchers.computeIfAbsent(key, k -> new RequestBatcher<>(
+                loader,
+                getScheduler(),
+                getProperties().getBatchSize(),
+                getProperties().getBatchWindow()
+        ));
+    }
+
+    /**
+     * Метод закрывает HTTP-клиент и освобождает все соединения пула.
+     * <p>
+     * Запросы, ожидающие отправки в пакете, завершаются исключением {@link WgApiException}
+     * с кодом {@link ErrorCode#CLIENT_REQUEST_FAILED}.
+     * </p>
+     *
+     * @throws IOException В случае, если при закрытии соединений возникла ошибка
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            httpClient.close();
+        } finally {
+            synchronized (this) {
+                if (scheduler == null) {
+                    // Закрытый планировщик без потока: задачи, поставленные после закрытия, отклоняются
+                    scheduler = createScheduler();
+                }
+
+                scheduler.shutdownNow();
+                batchers.values().forEach(RequestBatcher::close);
+
+                if (httpAsyncClient != null) {
+                    httpAsyncClient.close();
+                }
+            }
+        }
+
+        log.debug("WgApiClient closed.");
+    }
+
+    /**
+     * Метод создает получателя метрик по значению свойства "io.github.divinator.wgapi.metrics".
+     *
+     * @param name Значение свойства: "none", "simple" либо полное имя класса, реализующего {@link WgApiMetrics}
+     * @return Получатель метрик
+     */
+    private WgApiMetrics createMetrics(String name) {
+        if (name == null || name.isEmpty() || "none".equalsIgnoreCase(name)) {
+            return WgApiMetrics.NOOP;
+        }
+
+        if ("simple".equalsIgnoreCase(name)) {
+            return new SimpleMetrics();
+        }
+
+        try {
+            return Class.forName(name).asSubclass(WgApiMetrics.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            log.warn(String.format("Metrics \"%s\" could not be created, metrics are disabled.", name), e);
+            return WgApiMetrics.NOOP;
+        }
+    }
+
+    /**
+     * Метод создает HTTP-клиент с пулом соединений, который используется на протяжении всей жизни клиента.
+     * <p>
+     * Настройки пула указываются в файле "wgapiclient.properties".
+     * </p>
+     *
+     * @return Объект HTTP-клиента
+     */
+    private CloseableHttpClient createHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(getProperties().getPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(getProperties().getPoolMaxPerRoute());
+        connectionManager.setValidateAfterInactivity(getProperties().getPoolValidateAfterInactivity());
+
+        long keepAlive = getProperties().getPoolKeepAlive();
+
+        HttpClientBuilder builder = getProperties().isCacheEnabled()
+                ? new WgApiCachingHttpClientBuilder(getProperties())
+                : HttpClientBuilder.create();
+
+        return builder
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? duration : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(getProperties().getPoolIdleTimeout(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(
+                        getDefaultRequestConfig()
+                )
+                .build();
+    }
+
+    /**
+     * Метод создает неблокирующий HTTP-клиент с собственным пулом соединений.
+     * <p>
+     * Использует те же настройки пула, что и блокирующий клиент. Простаивающие соединения удаляются
+     * фоновой задачей.
+     * </p>
+     *
+     * @return Объект неблокирующего HTTP-клиента
+     */
+    private CloseableHttpAsyncClient createHttpAsyncClient() {
+        PoolingNHttpClientConnectionManager connectionManager;
+
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                            .setIoThreadCount(Runtime.getRuntime().availableProcessors())
+                            .build())
+            );
+        } catch (IOReactorException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        connectionManager.setMaxTotal(getProperties().getPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(getProperties().getPoolMaxPerRoute());
+
+        long idleTimeout = getProperties().getPoolIdleTimeout();
+        long keepAlive = getProperties().getPoolKeepAlive();
+
+        getScheduler().scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+
+        return HttpAsyncClientBuilder
                 .create()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? duration : keepAlive;
+                })
                 .setDefaultRequestConfig(
                         getDefaultRequestConfig()
                 )
@@ -23,19 +23,33 @@ package io.github.divinator.wgapi.client;
  */
 public class WgApiException extends Throwable {
 
+    private final ErrorCode errorCode;
+
     public WgApiException() {
         super();
+        this.errorCode = null;
     }
 
     public WgApiException(String message) {
         super(message);
+        this.errorCode = null;
     }
 
     public WgApiException(ErrorCode errorCode, Throwable throwable) {
         super(String.format("[%s][%s] \"%s\"", errorCode.getCode(), errorCode.name(), errorCode.getTitle()), throwable);
+        this.errorCode = errorCode;
     }
 
     public WgApiException(ErrorCode errorCode) {
         this(errorCode, null);
     }
+
+    /**
+     * Метод возвращает код ошибки исключения.
+     *
+     * @return Код ошибки, либо null, если исключение создано без кода ошибки
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright [2020] [Sergey Divin]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.divinator.wgapi.client;
+
+/**
+ * Интерфейс описывает получателя метрик клиента Wargaming.net Public API.
+ * <p>
+ * Метрики записываются по конечной точке - названию метод-блока и метода через "/", например "tanks/stats".
+ * Реализация выбирается свойством "io.github.divinator.wgapi.metrics" (см. {@link WgApiProperties#getMetrics()})
+ * либо устанавливается методом {@link WgApiClient#setMetrics(WgApiMetrics)}. По умолчанию используется {@link #NOOP}:
+ * пока {@link #isEnabled()} возвращает false, клиент не замеряет время и не считает байты.
+ * </p>
+ * <p>
+ * Время запроса делится на сетевое ({@link #onExchange}) и время разбора ({@link #onResponse}). Сетевое время
+ * включает получение тела ответа. Неблокирующий клиент получает тело целиком до разбора; блокирующий клиент
+ * разбирает тело потоково, по мере чтения из соединения, поэтому ожидание чтения замеряется отдельно,
+ * прибавляется к сетевому времени и не входит во время разбора, а {@link #onExchange} вызывается после разбора.
+ * </p>
+ * <p>
+ * Методы вызываются из потоков запросов, в том числе из потоков ввода-вывода неблокирующего клиента,
+ * поэтому реализация должна быть потокобезопасной и не должна блокировать поток.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public interface WgApiMetrics {
+
+    /**
+     * Получатель, отбрасывающий все метрики.
+     */
+    WgApiMetrics NOOP = new WgApiMetrics() {
+    };
+
+    /**
+     * Метод возвращает признак того, что метрики записываются.
+     *
+     * @return true, если метрики записываются
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Метод записывает выполненный HTTP-обмен: одна попытка запроса, включая повторные.
+     *
+     * @param endpoint     Конечная точка, например "tanks/stats"
+     * @param networkNanos Время от отправки запроса до получения ответа вместе с телом в наносекундах,
+     *                     без ожидания ограничителя частоты запросов
+     * @param bytesOut     Количество отправленных байт: URI запроса и тело запроса
+     * @param error        Код ошибки транспорта, либо null, если ответ получен
+     */
+    default void onExchange(String endpoint, long networkNanos, long bytesOut, ErrorCode error) {
+    }
+
+    /**
+     * Метод записывает разбор ответа.
+     *
+     * @param endpoint   Конечная точка, например "tanks/stats"
+     * @param parseNanos Время разбора ответа в наносекундах, без ожидания чтения тела ответа из соединения
+     * @param bytesIn    Количество прочитанных байт тела ответа
+     * @param error      Код ошибки разбора или ошибки, которую вернул Wargaming.net Public API, либо null
+     */
+    default void onResponse(String endpoint, long parseNanos, long bytesIn, ErrorCode error) {
+    }
+
+    /**
+     * Метод записывает повторную попытку запроса.
+     *
+     * @param endpoint Конечная точка, например "tanks/stats"
+     */
+    default void onRetry(String endpoint) {
+    }
+
+    /**
+     * Метод записывает запрос, объединённый с одновременным одинаковым запросом (см. {@link SingleFlight}).
+     *
+     * @param endpoint Конечная точка, например "tanks/stats"
+     */
+    default void onCoalesced(String endpoint) {
+    }
+
+    /**
+     * Метод записывает обращение к HTTP-кешу.
+     *
+     * @param endpoint Конечная точка, например "tanks/stats"
+     * @param hit      true, если ответ получен из кеша без обращения к серверу
+     */
+    default void onCache(String endpoint, boolean hit) {
+    }
+}
@@ -2,7 +2,9 @@ package io.github.divinator.wgapi.client;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.EnumSet;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Класс описывает конфигурацию приложения.
@@ -46,6 +48,343 @@ public class WgApiProperties extends Properties {
         return getIntegerProperty("io.github.divinator.wgapi.connection.timeout", 30000);
     }
 
+    /**
+     * Метод возвращает таймаут ожидания свободного соединения из пула.
+     * <p>
+     * По умолчанию таймаут задан в 10000 миллисекунд. Значение 0 означает бесконечное ожидание.
+     * </p>
+     *
+     * @return Таймаут ожидания соединения из пула.
+     */
+    public int getConnectionRequestTimeout() {
+        return getIntegerProperty("io.github.divinator.wgapi.connection.request.timeout", 10000);
+    }
+
+    /**
+     * Метод возвращает таймаут чтения: наибольшую паузу между пакетами данных ответа.
+     * <p>
+     * По умолчанию таймаут задан в 30000 миллисекунд. Значение 0 означает бесконечное ожидание.
+     * </p>
+     *
+     * @return Таймаут чтения.
+     */
+    public int getSocketTimeout() {
+        return getIntegerProperty("io.github.divinator.wgapi.socket.timeout", 30000);
+    }
+
+    /**
+     * Метод возвращает максимальное количество соединений в пуле HTTP-соединений.
+     * <p>
+     * По умолчанию размер пула вычисляется как произведение количества соединений на один сервер
+     * ({@link #getPoolMaxPerRoute()}) на количество серверов всех кластеров {@link Cluster}.
+     * </p>
+     *
+     * @return Максимальное количество соединений в пуле.
+     */
+    public int getPoolMaxTotal() {
+        return getIntegerProperty("io.github.divinator.wgapi.pool.max.total",
+                getPoolMaxPerRoute() * Cluster.getServerCount());
+    }
+
+    /**
+     * Метод возвращает максимальное количество соединений в пуле к одному серверу (кластер + регион).
+     * <p>
+     * По умолчанию 20 соединений.
+     * </p>
+     *
+     * @return Максимальное количество соединений к одному серверу.
+     */
+    public int getPoolMaxPerRoute() {
+        return getIntegerProperty("io.github.divinator.wgapi.pool.max.per.route", 20);
+    }
+
+    /**
+     * Метод возвращает время простоя, после которого соединение удаляется из пула.
+     * <p>
+     * По умолчанию 30000 миллисекунд.
+     * </p>
+     *
+     * @return Время простоя соединения в миллисекундах.
+     */
+    public int getPoolIdleTimeout() {
+        return getIntegerProperty("io.github.divinator.wgapi.pool.idle.timeout", 30000);
+    }
+
+    /**
+     * Метод возвращает время удержания соединения (keep-alive) в случае, если сервер его не указал.
+     * <p>
+     * По умолчанию 60000 миллисекунд.
+     * </p>
+     *
+     * @return Время удержания соединения в миллисекундах.
+     */
+    public int getPoolKeepAlive() {
+        return getIntegerProperty("io.github.divinator.wgapi.pool.keep.alive", 60000);
+    }
+
+    /**
+     * Метод возвращает время простоя, после которого соединение проверяется перед повторным использованием.
+     * <p>
+     * По умолчанию 2000 миллисекунд.
+     * </p>
+     *
+     * @return Время простоя соединения до проверки в миллисекундах.
+     */
+    public int getPoolValidateAfterInactivity() {
+        return getIntegerProperty("io.github.divinator.wgapi.pool.validate.after.inactivity", 2000);
+    }
+
+    /**
+     * Метод возвращает максимальное количество идентификаторов, объединяемых в один запрос.
+     * <p>
+     * По умолчанию 100 идентификаторов (ограничение Wargaming.net Public API).
+     * </p>
+     *
+     * @return Максимальное количество идентификаторов в одном запросе.
+     */
+    public int getBatchSize() {
+        return getIntegerProperty("io.github.divinator.wgapi.batch.size", 100);
+    }
+
+    /**
+     * Метод возвращает время ожидания, в течение которого одиночные запросы собираются в один пакетный запрос.
+     * <p>
+     * По умолчанию 10 миллисекунд.
+     * </p>
+     *
+     * @return Время ожидания в миллисекундах.
+     */
+    public int getBatchWindow() {
+        return getIntegerProperty("io.github.divinator.wgapi.batch.window", 10);
+    }
+
+    /**
+     * Метод возвращает количество страниц, которые загружаются заранее при постраничном обходе списков.
+     * <p>
+     * По умолчанию 4 страницы. Значение 0 отключает предзагрузку: следующая страница запрашивается только
+     * после того, как прочитана текущая.
+     * </p>
+     *
+     * @return Количество страниц, загружаемых заранее.
+     */
+    public int getPagePrefetch() {
+        return getIntegerProperty("io.github.divinator.wgapi.page.prefetch", 4);
+    }
+
+    /**
+     * Метод возвращает максимальное количество запросов в секунду для одного приложения (application_id).
+     * <p>
+     * По умолчанию 10 запросов в секунду (квота Wargaming.net Public API для клиентских приложений).
+     * Значение 0 отключает ограничение.
+     * </p>
+     *
+     * @return Количество запросов в секунду.
+     */
+    public int getRateLimit() {
+        return getIntegerProperty("io.github.divinator.wgapi.rate.limit", 10);
+    }
+
+    /**
+     * Метод возвращает максимальное количество запросов, которые могут быть отправлены единовременно
+     * после простоя.
+     * <p>
+     * По умолчанию равно количеству запросов в секунду ({@link #getRateLimit()}).
+     * </p>
+     *
+     * @return Максимальное количество единовременных запросов.
+     */
+    public int getRateLimitBurst() {
+        return getIntegerProperty("io.github.divinator.wgapi.rate.limit.burst", getRateLimit());
+    }
+
+    /**
+     * Метод возвращает максимальное количество попыток выполнения запроса, включая первую.
+     * <p>
+     * По умолчанию 3 попытки. Значение 1 отключает повторные запросы.
+     * </p>
+     *
+     * @return Максимальное количество попыток.
+     */
+    public int getRetryMaxAttempts() {
+        return getIntegerProperty("io.github.divinator.wgapi.retry.max.attempts", 3);
+    }
+
+    /**
+     * Метод возвращает паузу перед первым повторным запросом. Пауза удваивается с каждой попыткой.
+     * <p>
+     * По умолчанию 200 миллисекунд.
+     * </p>
+     *
+     * @return Пауза перед первым повтором в миллисекундах.
+     */
+    public int getRetryBaseDelay() {
+        return getIntegerProperty("io.github.divinator.wgapi.retry.base.delay", 200);
+    }
+
+    /**
+     * Метод возвращает максимальную паузу перед повторным запросом.
+     * <p>
+     * По умолчанию 5000 миллисекунд.
+     * </p>
+     *
+     * @return Максимальная пауза перед повтором в миллисекундах.
+     */
+    public int getRetryMaxDelay() {
+        return getIntegerProperty("io.github.divinator.wgapi.retry.max.delay", 5000);
+    }
+
+    /**
+     * Метод возвращает максимальное количество повторов, накапливаемое в бюджете повторов.
+     * <p>
+     * По умолчанию 10 повторов.
+     * </p>
+     *
+     * @return Размер бюджета повторов.
+     */
+    public int getRetryBudget() {
+        return getIntegerProperty("io.github.divinator.wgapi.retry.budget", 10);
+    }
+
+    /**
+     * Метод возвращает долю повтора в процентах, на которую каждый новый запрос пополняет бюджет повторов.
+     * <p>
+     * По умолчанию 10%, то есть при длительном сбое повторяется не более одного запроса из десяти.
+     * </p>
+     *
+     * @return Пополнение бюджета повторов в процентах.
+     */
+    public int getRetryBudgetPercent() {
+        return getIntegerProperty("io.github.divinator.wgapi.retry.budget.percent", 10);
+    }
+
+    /**
+     * Метод возвращает коды ошибок {@link ErrorCode}, при которых запрос повторяется.
+     * <p>
+     * Коды перечисляются через запятую. По умолчанию REQUEST_LIMIT_EXCEEDED, SOURCE_NOT_AVAILABLE
+     * и CLIENT_REQUEST_FAILED (сбой транспорта).
+     * </p>
+     *
+     * @return Коды ошибок, при которых запрос повторяется.
+     */
+    public Set<ErrorCode> getRetryCodes() {
+        String codes = getStringProperty(
+                "io.github.divinator.wgapi.retry.codes",
+                "REQUEST_LIMIT_EXCEEDED,SOURCE_NOT_AVAILABLE,CLIENT_REQUEST_FAILED"
+        );
+
+        Set<ErrorCode> result = EnumSet.noneOf(ErrorCode.class);
+
+        for (String code : codes.split(",")) {
+            if (!code.trim().isEmpty()) {
+                result.add(ErrorCode.valueOf(code.trim()));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Метод возвращает признак объединения одновременных одинаковых запросов в один.
+     * <p>
+     * По умолчанию включено.
+     * </p>
+     *
+     * @return true, если одновременные одинаковые запросы объединяются.
+     */
+    public boolean isCoalescingEnabled() {
+        return getBooleanProperty("io.github.divinator.wgapi.coalescing", true);
+    }
+
+    /**
+     * Метод возвращает получателя метрик клиента.
+     * <p>
+     * Допустимые значения: "none" - метрики не записываются (по умолчанию), "simple" - метрики хранятся
+     * в памяти ({@link SimpleMetrics}), либо полное имя класса, реализующего {@link WgApiMetrics}
+     * и имеющего публичный конструктор без параметров.
+     * </p>
+     *
+     * @return Получатель метрик клиента.
+     */
+    public String getMetrics() {
+        return getStringProperty("io.github.divinator.wgapi.metrics", "none");
+    }
+
+    /**
+     * Метод возвращает признак кеширования HTTP-ответов.
+     * <p>
+     * По умолчанию кеширование выключено.
+     * </p>
+     *
+     * @return true, если HTTP-ответы кешируются.
+     */
+    public boolean isCacheEnabled() {
+        return getBooleanProperty("io.github.divinator.wgapi.cache.enabled", false);
+    }
+
+    /**
+     * Метод возвращает максимальное количество ответов в HTTP-кеше.
+     * <p>
+     * По умолчанию 1000 ответов.
+     * </p>
+     *
+     * @return Максимальное количество ответов в кеше.
+     */
+    public int getCacheMaxEntries() {
+        return getIntegerProperty("io.github.divinator.wgapi.cache.max.entries", 1000);
+    }
+
+    /**
+     * Метод возвращает максимальный размер кешируемого ответа.
+     * <p>
+     * По умолчанию 16 мегабайт, чтобы в кеш помещались полные ответы энциклопедии.
+     * </p>
+     *
+     * @return Максимальный размер кешируемого ответа в байтах.
+     */
+    public int getCacheMaxObjectSize() {
+        return getIntegerProperty("io.github.divinator.wgapi.cache.max.object.size", 16 * 1024 * 1024);
+    }
+
+    /**
+     * Метод возвращает каталог, в котором хранятся тела кешированных ответов.
+     * <p>
+     * По умолчанию каталог не задан, и ответы хранятся в памяти.
+     * </p>
+     *
+     * @return Каталог HTTP-кеша.
+     */
+    public String getCacheDir() {
+        return getStringProperty("io.github.divinator.wgapi.cache.dir", null);
+    }
+
+    /**
+     * Метод возвращает время жизни в кеше ответов метод-блока, для которых сервер не указал срок актуальности.
+     * <p>
+     * Значение задается для метод-блока ключом "io.github.divinator.wgapi.cache.ttl.&lt;метод-блок&gt;",
+     * например "io.github.divinator.wgapi.cache.ttl.encyclopedia", либо для всех метод-блоков ключом
+     * "io.github.divinator.wgapi.cache.ttl". По умолчанию 0 - такие ответы не кешируются.
+     * </p>
+     *
+     * @param methodBlock Название метод-блока
+     * @return Время жизни ответа в кеше в секундах.
+     */
+    public int getCacheTtl(String methodBlock) {
+        int defaults = getIntegerProperty("io.github.divinator.wgapi.cache.ttl", 0);
+        return methodBlock == null
+                ? defaults
+                : getIntegerProperty("io.github.divinator.wgapi.cache.ttl." + methodBlock, defaults);
+    }
+
+    /**
+     * Метод возвращает сервер, на который отправляются запросы вместо сервера кластера,
+     * например "localhost:8080" для локального тестового сервера.
+     *
+     * @return Имя сервера и порт, либо null, если используется сервер кластера.
+     */
+    public String getHost() {
+        return getStringProperty("io.github.divinator.wgapi.host", null);
+    }
+
     /**
      * Метод возвращает прокси-хост в случае использования Прокси.
      *
@@ -19,10 +19,9 @@ package io.github.divinator.wgapi.client;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.NameValuePair;
-import org.apache.http.client.utils.URIBuilder;
 
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,41 +40,66 @@ import java.util.stream.Collectors;
  * <li>"get params" - параметры метода GET для запроса</li>
  * </ul>
  * <p>Любые текстовые параметры необходимо передавать в кодировке UTF-8</p>
+ * <p>
+ * Строитель неизменяемый: каждый метод "with" возвращает новый строитель, который разделяет с исходным
+ * уже добавленные параметры, поэтому копирование не зависит от их количества. Начало URL
+ * (схема, сервер и название API) вычисляется один раз для каждой пары кластера и региона,
+ * а параметры кодируются в переиспользуемый буфер потока.
+ * </p>
  *
  * @author Sergey Divin
  */
 public final class WgApiUriBuilder implements Cloneable {
 
-    private final Log log = LogFactory.getLog(getClass());
+    private static final Log log = LogFactory.getLog(WgApiUriBuilder.class);
 
     private static final String QUERY_APPLICATION_ID = "application_id";
     private static final String QUERY_FIELDS = "fields";
     private static final String QUERY_ACCESS_TOKEN = "access_token";
 
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final int MAX_BUFFER_CAPACITY = 8192;
+
+    /**
+     * Начало URL "схема://сервер/название API/" по схеме, кластеру и региону.
+     */
+    private static final String[] PREFIXES =
+            new String[RequestScheme.values().length * Cluster.values().length * Region.values().length];
+
+    /**
+     * Буфер потока, в котором строится URL.
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     private RequestScheme wgScheme;
     private Cluster cluster;
     private Region region;
     private String server;
+    private String host;
+    private Deadline deadline;
     private String apiName;
     private String applicationID;
     private String methodBlock;
     private String methodName;
     private List<String> fields;
     private Map<String, String> query;
-    private List<NameValuePair> params;
+    private Params params;
 
     /**
      * Конструктор строителя URL для Wargaming.net Public API
      */
     public WgApiUriBuilder() {
         this.wgScheme = RequestScheme.HTTPS;
-        this.fields = new ArrayList<>();
-        this.query = new TreeMap<>();
-        this.params = new ArrayList<>();
+        this.fields = Collections.emptyList();
+        this.query = Collections.emptyMap();
     }
 
     /**
      * Конструктор реализует клонирование объекта строителя URL для Wargaming.net Public API
+     * <p>
+     * Параметры, поля и массив параметров не копируются: они не изменяются после создания, а методы,
+     * изменяющие поля и массив параметров, сначала создают их копию.
+     * </p>
      *
      * @param clone Старый строитель URL для Wargaming.net Public API
      */
@@ -84,13 +108,15 @@ public final class WgApiUriBuilder implements Cloneable {
         this.cluster = clone.cluster;
         this.region = clone.region;
         this.server = clone.server;
+        this.host = clone.host;
+        this.deadline = clone.deadline;
         this.apiName = clone.apiName;
         this.methodBlock = clone.methodBlock;
         this.methodName = clone.methodName;
         this.applicationID = clone.applicationID;
-        this.fields = new ArrayList<>(clone.fields);
-        this.query = new TreeMap<>(clone.query);
-        this.params = new ArrayList<>(clone.params);
+        this.fields = clone.fields;
+        this.query = clone.query;
+        this.params = clone.params;
     }
 
     /**
@@ -110,7 +136,7 @@ public final class WgApiUriBuilder implements Cloneable {
 //        query.forEach((key, value) -> httpContent.add(new BasicNameValuePair(key, value)));
 //
 //        return httpContent;
-        return params;
+        return Arrays.asList(Params.toArray(params));
     }
 
     /**
@@ -152,6 +178,32 @@ public final class WgApiUriBuilder implements Cloneable {
         return builder;
     }
 
+    /**
+     * Метод возвращает объект строителя URL для Wargaming.net Public API с указанным сервером вместо сервера
+     * кластера {@link Cluster#getServerByRegion(Region)}.
+     * <p>
+     * Используется для отправки запросов на локальный или тестовый сервер, повторяющий Wargaming.net Public API,
+     * например "localhost:8080". Путь запроса по-прежнему строится по кластеру, регион при этом не обязателен.
+     * </p>
+     *
+     * @param host Имя сервера и, через двоеточие, порт; null возвращает сервер кластера
+     * @return Объект строителя URL для Wargaming.net Public API с указанным сервером
+     */
+    public WgApiUriBuilder withHost(String host) {
+        WgApiUriBuilder builder = this.clone();
+        builder.host = host == null || host.isEmpty() ? null : host;
+        return builder;
+    }
+
+    /**
+     * Метод возвращает сервер, указанный вместо сервера кластера.
+     *
+     * @return Имя сервера и порт, либо null, если используется сервер кластера
+     */
+    public String getHost() {
+        return host;
+    }
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API с указанным названием группы методов и названием метода
      *
@@ -166,6 +218,16 @@ public final class WgApiUriBuilder implements Cloneable {
         return builder;
     }
 
+    /**
+     * Метод возвращает конечную точку запроса: название группы методов и название метода через "/",
+     * например "tanks/stats".
+     *
+     * @return Конечная точка запроса
+     */
+    public String getEndpoint() {
+        return methodBlock + "/" + methodName;
+    }
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API с указанным идентификатором приложения
      *
@@ -174,7 +236,18 @@ public final class WgApiUriBuilder implements Cloneable {
      */
     public WgApiUriBuilder withApplicationID(String applicationID) {
 //        return this.withQuery(QUERY_APPLICATION_ID, applicationID);
-        return this.withParameter(new Parameter("application_id", applicationID));
+        WgApiUriBuilder builder = this.withParameter(new Parameter("application_id", applicationID));
+        builder.applicationID = applicationID;
+        return builder;
+    }
+
+    /**
+     * Метод возвращает идентификатор приложения, указанный в строителе URL.
+     *
+     * @return Идентификатор приложения, либо null, если он не указан
+     */
+    public String getApplicationID() {
+        return applicationID;
     }
 
     /**
@@ -195,19 +268,67 @@ public final class WgApiUriBuilder implements Cloneable {
      * @return Объект строителя URL для Wargaming.net Public API с указанным названием и значением параметра
      */
     public WgApiUriBuilder withParameters(Parameter... parameters) {
+        if (parameters.length == 0) {
+            return this;
+        }
+
         WgApiUriBuilder builder = this.clone();
-        if (parameters.length > 0) {
-            builder.params.addAll(Arrays.asList(parameters));
+        for (Parameter parameter : parameters) {
+            builder.add(parameter);
         }
         return builder;
     }
 
+    /**
+     * Метод возвращает объект строителя URL для Wargaming.net Public API с указанным параметром.
+     *
+     * @param parameter Параметр
+     * @return Объект строителя URL для Wargaming.net Public API с указанным параметром
+     */
     public WgApiUriBuilder withParameter(Parameter parameter) {
         WgApiUriBuilder builder = this.clone();
-        builder.params.add(parameter);
+        builder.add(parameter);
         return builder;
     }
 
+    /**
+     * Метод возвращает объект строителя URL для Wargaming.net Public API со сроком выполнения запроса.
+     * <p>
+     * Срок не отправляется в запросе. Если срок уже задан, остаётся более ранний из двух.
+     * </p>
+     *
+     * @param deadline Срок выполнения запроса
+     * @return Объект строителя URL для Wargaming.net Public API со сроком выполнения запроса
+     */
+    public WgApiUriBuilder withDeadline(Deadline deadline) {
+        WgApiUriBuilder builder = this.clone();
+        builder.deadline = Deadline.earliest(builder.deadline, deadline);
+        return builder;
+    }
+
+    /**
+     * Метод возвращает срок выполнения запроса.
+     *
+     * @return Срок выполнения запроса, либо null, если срок не задан
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Метод добавляет параметр в клон строителя. Срок выполнения запроса {@link Deadline} не добавляется
+     * в параметры запроса, а задает срок.
+     *
+     * @param parameter Параметр
+     */
+    private void add(Parameter parameter) {
+        if (parameter instanceof Deadline) {
+            deadline = Deadline.earliest(deadline, (Deadline) parameter);
+        } else {
+            params = new Params(parameter, params);
+        }
+    }
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API с указанным списком полей
      * <p>При добавлении старые значения удаляются</p>
@@ -237,6 +358,7 @@ public final class WgApiUriBuilder implements Cloneable {
     @Deprecated
     public WgApiUriBuilder withField(String field) {
         WgApiUriBuilder builder = this.clone();
+        builder.fields = new ArrayList<>(builder.fields);
         builder.fields.add(field);
         return builder;
     }
@@ -272,6 +394,7 @@ public final class WgApiUriBuilder implements Cloneable {
     public WgApiUriBuilder withQuery(String key, String value) {
         WgApiUriBuilder builder = this.clone();
         if (value != null) {
+            builder.query = new TreeMap<>(builder.query);
             builder.query.put(key, value);
         }
         return builder;
@@ -281,133 +404,249 @@ public final class WgApiUriBuilder implements Cloneable {
      * Метод строит URL для Wargaming.net Public API и возвращает в виде GenericUrl
      *
      * @return строит URL для Wargaming.net Public API и возвращает в виде GenericUrl
-     * @throws WgApiException В случае, если построить {@link URIBuilder} не удалось
+     * @throws WgApiException В случае, если построить URL не удалось
      */
     public URI build() throws WgApiException {
-        URIBuilder uriBuilder = new URIBuilder();
-
         try {
-            buildScheme(uriBuilder);
-            buildNode(uriBuilder);
-            buildMethod(uriBuilder);
-            //buildFields(uriBuilder);
-            //buildQuery(uriBuilder);
-            buildParams(uriBuilder);
+            String uri = buildString();
 
             if (log.isDebugEnabled()) {
-                log.debug(String.format("URI [%s] build.", uriBuilder));
+                log.debug(String.format("URI [%s] build.", uri));
+            }
+
+            return URI.create(uri);
+        } catch (WgApiException | IllegalArgumentException ex) {
+            throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_FAILED, ex);
+        }
+    }
+
+    /**
+     * Метод возвращает канонический ключ запроса: URL без параметров и список параметров,
+     * отсортированный по названию и значению.
+     * <p>
+     * Запросы, отличающиеся только порядком параметров, имеют одинаковый ключ.
+     * </p>
+     *
+     * @return Канонический ключ запроса
+     * @throws WgApiException В случае, если построить URL не удалось
+     */
+    public String getCanonicalKey() throws WgApiException {
+        NameValuePair[] sorted = Params.toArray(params);
+        Arrays.sort(sorted, Comparator.comparing(NameValuePair::getName).thenComparing(NameValuePair::getValue));
+
+        StringBuilder buffer = buffer();
+
+        try {
+            buildPath(buffer);
+            buffer.append('?');
+
+            for (int i = 0; i < sorted.length; i++) {
+                if (i > 0) {
+                    buffer.append('&');
+                }
+
+                buffer.append(sorted[i].getName()).append('=').append(sorted[i].getValue());
             }
 
-            return uriBuilder.build();
-        } catch (WgApiException | URISyntaxException ex) {
+            return buffer.toString();
+        } catch (WgApiException ex) {
             throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_FAILED, ex);
+        } finally {
+            release(buffer);
         }
     }
 
     /**
-     * Метод настраивает схему запроса в {@link URIBuilder}
+     * Метод строит URL в виде строки.
      *
-     * @param uriBuilder {@link URIBuilder}
+     * @return URL
+     * @throws WgApiException В случае, если построить URL не удалось
      */
-    private void buildScheme(URIBuilder uriBuilder) {
-        uriBuilder.setScheme(wgScheme.name().toLowerCase());
+    private String buildString() throws WgApiException {
+        StringBuilder buffer = buffer();
+
+        try {
+            buildPath(buffer);
+            buildParams(buffer);
+            return buffer.toString();
+        } finally {
+            release(buffer);
+        }
     }
 
+    /**
+     * Метод добавляет в буфер URL без параметров: "схема://сервер/название API/группа методов/метод/".
+     *
+     * @param buffer Буфер
+     * @throws WgApiException В случае, если не указан кластер, регион либо метод-блок
+     */
+    private void buildPath(StringBuilder buffer) throws WgApiException {
+        buildNode(buffer);
+        buildMethod(buffer);
+    }
 
     /**
-     * Метод настраивает раздел (сервер) Wargaming.net Public API
+     * Метод добавляет в буфер схему, раздел (сервер) и название API Wargaming.net Public API
      *
-     * @param uriBuilder {@link URIBuilder}
+     * @param buffer Буфер
      * @throws WgApiException В случае, если не удалось построить раздел (сервер) Wargaming.net Public API по причинам,
      *                        если кластер или регион не указан, либо указан не верно
      */
-    private void buildNode(URIBuilder uriBuilder) throws WgApiException {
+    private void buildNode(StringBuilder buffer) throws WgApiException {
         try {
-            if (!isEmpty(region)) {
-                if (!isEmpty(cluster)) {
-                    uriBuilder.setHost(cluster.getServerByRegion(region));
-                    uriBuilder.setPath(cluster.getApiName());
-                } else {
-                    throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_NULL_CLUSTER);
-                }
-            } else {
+            if (host == null && isEmpty(region)) {
                 throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_NULL_REGION);
             }
-        } catch (WgApiException ex) {
+
+            if (isEmpty(cluster)) {
+                throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_NULL_CLUSTER);
+            }
+
+            if (host == null) {
+                buffer.append(getPrefix(wgScheme, cluster, region));
+            } else {
+                buffer.append(wgScheme.toString()).append("://").append(host).append('/')
+                        .append(cluster.getApiName()).append('/');
+            }
+        } catch (WgApiException | NoSuchElementException ex) {
             throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_NODE_FAILED, ex);
         }
     }
 
     /**
-     * Метод настраивает метод-блок Wargaming.net Public API
+     * Метод добавляет в буфер метод-блок и метод Wargaming.net Public API
      *
-     * @param uriBuilder {@link URIBuilder}
+     * @param buffer Буфер
      * @throws WgApiException В случае, если метод-блок не установлен
      */
-    private void buildMethod(URIBuilder uriBuilder) throws WgApiException {
+    private void buildMethod(StringBuilder buffer) throws WgApiException {
         if (!isEmpty(methodBlock)) {
-            List<String> pathSegments = uriBuilder.getPathSegments();
-            pathSegments.add(methodBlock);
-            pathSegments.add(methodName);
-            pathSegments.add("");
-            uriBuilder.setPathSegments(pathSegments);
+            encode(buffer, methodBlock, false);
+            buffer.append('/');
+            encode(buffer, methodName, false);
+            buffer.append('/');
         } else {
             throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_NULL_METHOD);
         }
     }
 
     /**
-     * Метод настраивает параметр "fields"
+     * Метод добавляет в буфер параметры запроса в кодировке "application/x-www-form-urlencoded".
      *
-     * @deprecated use {{@link #buildParams(URIBuilder)}}
-     * @param uriBuilder {@link URIBuilder}
+     * @param buffer Буфер
      */
-    @Deprecated
-    private void buildFields(URIBuilder uriBuilder) {
-        if (!fields.isEmpty()) {
-            uriBuilder.setParameter(QUERY_FIELDS, getFieldsToString());
+    private void buildParams(StringBuilder buffer) {
+        NameValuePair[] pairs = Params.toArray(params);
+
+        for (int i = 0; i < pairs.length; i++) {
+            buffer.append(i == 0 ? '?' : '&');
+            encode(buffer, pairs[i].getName(), true);
+
+            if (pairs[i].getValue() != null) {
+                buffer.append('=');
+                encode(buffer, pairs[i].getValue(), true);
+            }
         }
     }
 
     /**
-     * Метод настраивает дополнительные параметры
+     * Метод возвращает начало URL "схема://сервер/название API/" для схемы, кластера и региона.
+     * <p>
+     * Значение вычисляется при первом обращении и хранится до конца работы приложения.
+     * </p>
      *
-     * @deprecated use {{@link #buildParams(URIBuilder)}}
-     * @param uriBuilder Google URL builder
+     * @param scheme  Схема запроса
+     * @param cluster Кластер
+     * @param region  Регион кластера
+     * @return Начало URL
+     * @throws NoSuchElementException В случае, если у кластера нет сервера в указанном регионе
      */
-    @Deprecated
-    private void buildQuery(URIBuilder uriBuilder) throws WgApiException {
-        if (!query.isEmpty()) {
-            query.forEach(uriBuilder::setParameter);
+    private static String getPrefix(RequestScheme scheme, Cluster cluster, Region region) {
+        int index = (scheme.ordinal() * Cluster.values().length + cluster.ordinal()) * Region.values().length
+                + region.ordinal();
+        String prefix = PREFIXES[index];
+
+        if (prefix == null) {
+            // Гонка безопасна: все потоки вычисляют одинаковую неизменяемую строку
+            prefix = scheme + "://" + cluster.getServerByRegion(region) + "/" + cluster.getApiName() + "/";
+            PREFIXES[index] = prefix;
+        }
+
+        return prefix;
+    }
+
+    /**
+     * Метод добавляет в буфер строку, кодируя символы UTF-8, кроме незарезервированных, в виде "%XX".
+     * <p>
+     * Набор незарезервированных символов (буквы, цифры и "-_.*") совпадает с набором
+     * {@link org.apache.http.client.utils.URLEncodedUtils}, поэтому URL, а значит и ключи HTTP-кеша,
+     * совпадают с построенными {@link org.apache.http.client.utils.URIBuilder}.
+     * </p>
+     *
+     * @param buffer Буфер
+     * @param value  Строка
+     * @param form   true для кодировки "application/x-www-form-urlencoded", в которой пробел кодируется "+"
+     */
+    private static void encode(StringBuilder buffer, String value, boolean form) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '_' || c == '-' || c == '.' || c == '*') {
+                buffer.append(c);
+            } else if (c == ' ' && form) {
+                buffer.append('+');
+            } else {
+                int end = i + 1;
+
+                // Суррогатная пара кодируется одним символом UTF-8
+                if (Character.isHighSurrogate(c) && end < value.length() && Character.isLowSurrogate(value.charAt(end))) {
+                    end++;
+                }
+
+                for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                    buffer.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+                }
+
+                i = end - 1;
+            }
         }
+    }
 
-        if (!query.containsKey(QUERY_APPLICATION_ID))
-            throw new WgApiException(ErrorCode.CLIENT_BUILD_URL_NULL_APP_ID);
+    /**
+     * Метод возвращает пустой буфер потока.
+     *
+     * @return Буфер
+     */
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return buffer;
     }
 
     /**
-     * Метод настраивает дополнительные параметры типа {@link NameValuePair}.
+     * Метод освобождает буфер потока, если он вырос для очень длинного URL.
      *
-     * @param uriBuilder Google URL builder
+     * @param buffer Буфер
      */
-    private void buildParams(URIBuilder uriBuilder) {
-        if(!params.isEmpty()) {
-            // Fix.
-            //List<NameValuePair> newParams = uriBuilder.getQueryParams();
-            //newParams.addAll(params);
-            uriBuilder.setParameters(params);
+    private static void release(StringBuilder buffer) {
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            BUFFER.remove();
         }
     }
 
+    /**
+     * Метод возвращает URL запроса без создания объекта {@link URI}.
+     *
+     * @return URL запроса, либо конечная точка и параметры, если построить URL не удалось
+     */
     @Override
     public String toString() {
         try {
-            return build().toString();
+            return buildString();
         } catch (WgApiException e) {
-            e.printStackTrace();
+            return getEndpoint() + "?" + getParamsToString();
         }
-
-        return null;
     }
 
     /**
@@ -440,8 +679,47 @@ public final class WgApiUriBuilder implements Cloneable {
     }
 
     public String getParamsToString() {
-        return params.stream()
+        return Arrays.stream(Params.toArray(params))
                 .map(nameValuePair -> String.format("%s=%s", nameValuePair.getName(), nameValuePair.getValue()))
                 .collect(Collectors.joining("&"));
     }
+
+    /**
+     * Неизменяемый список параметров запроса: каждый элемент ссылается на предыдущий, поэтому строители,
+     * созданные добавлением параметров, разделяют общее начало списка.
+     */
+    private static final class Params {
+
+        private final NameValuePair value;
+        private final Params previous;
+        private final int size;
+
+        /**
+         * Конструктор списка, полученного добавлением параметра в конец списка.
+         *
+         * @param value    Параметр
+         * @param previous Список, в конец которого добавлен параметр, либо null для пустого списка
+         */
+        private Params(NameValuePair value, Params previous) {
+            this.value = value;
+            this.previous = previous;
+            this.size = previous == null ? 1 : previous.size + 1;
+        }
+
+        /**
+         * Метод возвращает параметры списка в порядке добавления.
+         *
+         * @param params Список параметров, либо null для пустого списка
+         * @return Параметры в порядке добавления
+         */
+        private static NameValuePair[] toArray(Params params) {
+            NameValuePair[] array = new NameValuePair[params == null ? 0 : params.size];
+
+            for (Params node = params; node != null; node = node.previous) {
+                array[node.size - 1] = node.value;
+            }
+
+            return array;
+        }
+    }
 }
@@ -37,6 +37,37 @@ public final class JsonResponse<T> {
     @SerializedName("data")
     private T data;
 
+    /**
+     * Конструктор используется при разборе Json-ответа от Wargaming.net Public API
+     */
+    public JsonResponse() {
+
+    }
+
+    /**
+     * Конструктор создает Json-ответ из готовых частей, например, при объединении нескольких ответов в один.
+     *
+     * @param status Статус ответа ("ok" или "error")
+     * @param meta   Мета-данные ответа
+     * @param error  Данные об ошибке
+     * @param data   Данные ответа
+     */
+    public JsonResponse(String status, JsonResponseMeta meta, JsonResponseError error, T data) {
+        this.status = status;
+        this.meta = meta;
+        this.error = error;
+        this.data = data;
+    }
+
+    /**
+     * Метод возвращает статус ответа
+     *
+     * @return Статус ответа ("ok" или "error")
+     */
+    public String getStatus() {
+        return status;
+    }
+
     /**
      * Метод проверяет наличие ошибки в ответе от WargamingAPI
      *
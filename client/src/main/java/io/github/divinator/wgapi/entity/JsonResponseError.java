@@ -82,7 +82,7 @@ public final class JsonResponseError {
     public ErrorCode getExceptionCode() {
         for (ErrorCode errorCode : ErrorCode.values()) {
             if (errorCode.getCode() == getCode()) {
-                if (errorCode.name().contains(getMessage())) {
+                if (getMessage() != null && errorCode.name().contains(getMessage())) {
                     return errorCode;
                 }
             }
@@ -98,6 +98,10 @@ public final class JsonResponseError {
      * @return Стандартизированное сообщение об ошибке
      */
     private String prepareMessage(String message) {
+        if (message == null || getField() == null) {
+            return message;
+        }
+
         return message.replace(getField().toUpperCase(), "FIELD");
     }
 }
@@ -28,6 +28,34 @@ public final class JsonResponseMeta {
     @SerializedName("count")
     private int count;
 
+    @SerializedName("page_total")
+    private int pageTotal;
+
+    @SerializedName("total")
+    private int total;
+
+    @SerializedName("limit")
+    private int limit;
+
+    @SerializedName("page")
+    private int page;
+
+    /**
+     * Конструктор используется при разборе Json-ответа от Wargaming.net Public API
+     */
+    public JsonResponseMeta() {
+
+    }
+
+    /**
+     * Конструктор создает мета-данные с указанным количеством сущностей.
+     *
+     * @param count Количество сущностей в поле data
+     */
+    public JsonResponseMeta(int count) {
+        this.count = count;
+    }
+
     /**
      * Метод возвращает количество сущностей в поле data
      *
@@ -36,4 +64,40 @@ public final class JsonResponseMeta {
     public int getCount() {
         return count;
     }
+
+    /**
+     * Метод возвращает общее количество страниц результатов для постраничных методов
+     *
+     * @return Общее количество страниц, либо 0, если метод не постраничный
+     */
+    public int getPageTotal() {
+        return pageTotal;
+    }
+
+    /**
+     * Метод возвращает общее количество сущностей для постраничных методов
+     *
+     * @return Общее количество сущностей, либо 0, если метод не постраничный
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Метод возвращает количество сущностей на одной странице для постраничных методов
+     *
+     * @return Количество сущностей на странице, либо 0, если метод не постраничный
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Метод возвращает номер текущей страницы для постраничных методов
+     *
+     * @return Номер страницы, либо 0, если метод не постраничный
+     */
+    public int getPage() {
+        return page;
+    }
 }
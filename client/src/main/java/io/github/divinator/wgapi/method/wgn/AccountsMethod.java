@@ -24,6 +24,7 @@ import io.github.divinator.wgapi.entity.wgn.accounts.AccountInformation;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Класс описывает Метод-блок для получения информации об аккаунтах Wargaming
@@ -34,6 +35,12 @@ public class AccountsMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "account";
 
+    private final static TypeToken<JsonResponse<List<Account>>> LIST_ACCOUNTS_TYPE = new TypeToken<JsonResponse<List<Account>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Map<String, AccountInformation>>> ACCOUNT_INFO_TYPE = new TypeToken<JsonResponse<Map<String, AccountInformation>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -104,8 +111,22 @@ public class AccountsMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "list")
                 .withParameter(new Parameter("search", search))
                 .withParameters(parameters);
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Account>>>() {
-        });
+        return super.get(urlBuilder, LIST_ACCOUNTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getListAccounts(String, Parameter...)}.
+     *
+     * @param search     Строка поиска по имени игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getListAccounts(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Account>>> getListAccountsAsync(String search, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "list")
+                .withParameter(new Parameter("search", search))
+                .withParameters(parameters);
+        return super.getAsync(urlBuilder, LIST_ACCOUNTS_TYPE);
     }
 
     /**
@@ -158,7 +179,22 @@ public class AccountsMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "info")
                 .withParameter(accountId)
                 .withParameters(parameters);
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, AccountInformation>>>() {
-        });
+        return super.post(urlBuilder, ACCOUNT_INFO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getAccountInfo(Parameter, Parameter...)}.
+     *
+     * @param accountId  Идентификатор игрока.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getAccountInfo(Parameter, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, AccountInformation>>> getAccountInfoAsync(Parameter accountId, Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameter(accountId)
+                .withParameters(parameters);
+        return super.postAsync(urlBuilder, ACCOUNT_INFO_TYPE);
     }
 }
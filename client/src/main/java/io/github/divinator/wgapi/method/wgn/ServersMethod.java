@@ -23,6 +23,7 @@ import io.github.divinator.wgapi.entity.wgn.servers.GameServer;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Класс описывает Метод-блок для получения информации об игровых серверах Wargaming.
@@ -33,6 +34,9 @@ public class ServersMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "servers";
 
+    private final static TypeToken<JsonResponse<Map<String, List<GameServer>>>> GAME_SERVERS_TYPE = new TypeToken<JsonResponse<Map<String, List<GameServer>>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -87,7 +91,19 @@ public class ServersMethod extends AbstractMethodBlock {
         WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
                 .withMethod(METHOD_BLOCK, "info")
                 .withParameters(parameters);
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Map<String, List<GameServer>>>>() {
-        });
+        return super.get(urlBuilder, GAME_SERVERS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getGameServers(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getGameServers(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, List<GameServer>>>> getGameServersAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "info")
+                .withParameters(parameters);
+        return super.getAsync(urlBuilder, GAME_SERVERS_TYPE);
     }
 }
@@ -25,6 +25,9 @@ import io.github.divinator.wgapi.entity.wgn.wargag.InformationContent;
 import io.github.divinator.wgapi.entity.wgn.wargag.Tag;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 /**
  * Класс описывает Метод-блок для получения информации об контенте Wargag.
@@ -35,6 +38,18 @@ public class WargagMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "wargag";
 
+    private final static TypeToken<JsonResponse<List<InformationContent>>> CONTENT_TYPE = new TypeToken<JsonResponse<List<InformationContent>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Comment>>> COMMENTS_TYPE = new TypeToken<JsonResponse<List<Comment>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Category>>> CATEGORIES_TYPE = new TypeToken<JsonResponse<List<Category>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Tag>>> TAGS_TYPE = new TypeToken<JsonResponse<List<Tag>>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -89,8 +104,33 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "content")
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<List<InformationContent>>>() {
-        });
+        return super.post(urlBuilder, CONTENT_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getContent(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getContent(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<InformationContent>>> getContentAsync(Parameter... parameters) {
+
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "content")
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CONTENT_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток контента: страницы загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param parameters Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getContent(Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<InformationContent> streamContent(Parameter... parameters) {
+        return streamPages(0, pageParameters -> getContentAsync(pageParameters), parameters);
     }
 
     /**
@@ -126,8 +166,23 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withQuery("q", q)
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<List<InformationContent>>>() {
-        });
+        return super.post(urlBuilder, CONTENT_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #findContent(String, Parameter...)}.
+     *
+     * @param q          Текст для поиска по контенту.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #findContent(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<InformationContent>>> findContentAsync(String q, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "search")
+                .withQuery("q", q)
+                .withParameters(parameters);
+
+        return super.postAsync(urlBuilder, CONTENT_TYPE);
     }
 
     /**
@@ -151,8 +206,23 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withParameter(contentId)
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Comment>>>() {
-        });
+        return super.get(urlBuilder, COMMENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getComments(Parameter, Parameter...)}.
+     *
+     * @param contentId  Идентификатор публикации
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getComments(Parameter, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Comment>>> getCommentsAsync(Parameter contentId, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "comments")
+                .withParameter(contentId)
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, COMMENTS_TYPE);
     }
 
     /**
@@ -179,8 +249,22 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "categories")
                 .withQuery("type", type)
                 .withParameters(parameters);
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Category>>>() {
-        });
+        return super.get(urlBuilder, CATEGORIES_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getCategories(String, Parameter...)}.
+     *
+     * @param type       Тип контента.
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getCategories(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Category>>> getCategoriesAsync(String type, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "categories")
+                .withQuery("type", type)
+                .withParameters(parameters);
+        return super.getAsync(urlBuilder, CATEGORIES_TYPE);
     }
 
     /**
@@ -202,8 +286,20 @@ public class WargagMethod extends AbstractMethodBlock {
         WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
                 .withMethod(METHOD_BLOCK, "tags")
                 .withParameters(parameters);
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Tag>>>() {
-        });
+        return super.get(urlBuilder, TAGS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getTags(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getTags(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Tag>>> getTagsAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "tags")
+                .withParameters(parameters);
+        return super.getAsync(urlBuilder, TAGS_TYPE);
     }
 
     /**
@@ -229,8 +325,24 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withAccessToken(accessToken)
                 .withQuery("content_id", contentId)
                 .withQuery("rating", rating);
-        return super.post(urlBuilder, new TypeToken<JsonResponse<List<InformationContent>>>() {
-        });
+        return super.postOnce(urlBuilder, CONTENT_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #rate(String, String, String)}.
+     *
+     * @param accessToken Ключ доступа к личным данным аккаунта пользователя
+     * @param contentId   Идентификатор публикации.
+     * @param rating      Оценка.
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<InformationContent>>> rateAsync(String accessToken, String contentId, String rating) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "rate")
+                .withAccessToken(accessToken)
+                .withQuery("content_id", contentId)
+                .withQuery("rating", rating);
+        return super.postOnceAsync(urlBuilder, CONTENT_TYPE);
     }
 
     /**
@@ -254,8 +366,24 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withAccessToken(accessToken)
                 .withQuery("content_id", contentId)
                 .withQuery("text", text);
-        return super.post(urlBuilder, new TypeToken<JsonResponse<List<Comment>>>() {
-        });
+        return super.postOnce(urlBuilder, COMMENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #addComment(String, String, String)}.
+     *
+     * @param accessToken Ключ доступа к личным данным аккаунта пользователя
+     * @param contentId   Идентификатор публикации
+     * @param text        Текст комментария.
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Comment>>> addCommentAsync(String accessToken, String contentId, String text) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "newcomment")
+                .withAccessToken(accessToken)
+                .withQuery("content_id", contentId)
+                .withQuery("text", text);
+        return super.postOnceAsync(urlBuilder, COMMENTS_TYPE);
     }
 
     /**
@@ -274,7 +402,21 @@ public class WargagMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "deletecomment")
                 .withAccessToken(accessToken)
                 .withParameter(commentId);
-        return super.post(urlBuilder, new TypeToken<JsonResponse<List<Comment>>>() {
-        });
+        return super.postOnce(urlBuilder, COMMENTS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #removeComment(String, Parameter)}.
+     *
+     * @param accessToken Ключ доступа к личным данным аккаунта пользователя
+     * @param commentId   Идентификатор комментария
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Comment>>> removeCommentAsync(String accessToken, Parameter commentId) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "deletecomment")
+                .withAccessToken(accessToken)
+                .withParameter(commentId);
+        return super.postOnceAsync(urlBuilder, COMMENTS_TYPE);
     }
 }
@@ -24,6 +24,9 @@ import io.github.divinator.wgapi.entity.wgn.wgtv.Vehicle;
 import io.github.divinator.wgapi.entity.wgn.wgtv.Video;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 /**
  * Класс описывает Метод-блок для получения информации об WGTV Wargaming.
@@ -34,6 +37,15 @@ public class WgtvMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "wgtv";
 
+    private final static TypeToken<JsonResponse<Tags>> TAGS_TYPE = new TypeToken<JsonResponse<Tags>>() {
+    };
+
+    private final static TypeToken<JsonResponse<List<Video>>> VIDEOS_TYPE = new TypeToken<JsonResponse<List<Video>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Vehicle>> VEHICLES_VIDEO_TYPE = new TypeToken<JsonResponse<Vehicle>>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -79,8 +91,21 @@ public class WgtvMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "tags")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Tags>>() {
-        });
+        return super.get(urlBuilder, TAGS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getTags(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getTags(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Tags>> getTagsAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "tags")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, TAGS_TYPE);
     }
 
     /**
@@ -130,8 +155,32 @@ public class WgtvMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "videos")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<List<Video>>>() {
-        });
+        return super.get(urlBuilder, VIDEOS_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getVideos(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVideos(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<List<Video>>> getVideosAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "videos")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, VIDEOS_TYPE);
+    }
+
+    /**
+     * Метод возвращает ленивый поток видео: страницы по 100 элементов загружаются по мере чтения,
+     * следующие - заранее, см. {@link PageIterator}.
+     *
+     * @param parameters Массив необязательных параметров запроса, кроме "page_no" и "limit", см. {@link #getVideos(Parameter...)}
+     * @return Поток элементов списка; ошибка запроса выбрасывается при чтении как {@link CompletionException}
+     */
+    public Stream<Video> streamVideos(Parameter... parameters) {
+        return streamPages(100, pageParameters -> getVideosAsync(pageParameters), parameters);
     }
 
     /**
@@ -152,7 +201,20 @@ public class WgtvMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "vehicles")
                 .withParameters(parameters);
 
-        return super.get(urlBuilder, new TypeToken<JsonResponse<Vehicle>>() {
-        });
+        return super.get(urlBuilder, VEHICLES_VIDEO_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #getVehiclesVideo(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #getVehiclesVideo(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Vehicle>> getVehiclesVideoAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "vehicles")
+                .withParameters(parameters);
+
+        return super.getAsync(urlBuilder, VEHICLES_VIDEO_TYPE);
     }
 }
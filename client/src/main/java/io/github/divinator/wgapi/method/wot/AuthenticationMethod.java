@@ -22,6 +22,7 @@ import io.github.divinator.wgapi.entity.JsonResponse;
 import io.github.divinator.wgapi.entity.wot.auth.Prolongate;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Класс описывает Метод-блок для аутентификации игрока при помощи Идентификатора Wargaming.net (OpenID)
@@ -32,6 +33,15 @@ public class AuthenticationMethod extends AbstractMethodBlock {
 
     private final static String METHOD_BLOCK = "auth";
 
+    private final static TypeToken<JsonResponse<Map<String, String>>> LOGIN_TYPE = new TypeToken<JsonResponse<Map<String, String>>>() {
+    };
+
+    private final static TypeToken<JsonResponse<Prolongate>> PROLONGATE_TYPE = new TypeToken<JsonResponse<Prolongate>>() {
+    };
+
+    private final static TypeToken<JsonResponse> EXIT_TYPE = new TypeToken<JsonResponse>() {
+    };
+
     /**
      * Метод возвращает объект строителя URL для Wargaming.net Public API используемого AbstractHttpClient
      *
@@ -76,8 +86,21 @@ public class AuthenticationMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "login")
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Map<String, String>>>() {
-        });
+        return super.postOnce(urlBuilder, LOGIN_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #login(Parameter...)}.
+     *
+     * @param parameters Массив необязательных параметров запроса, см. {@link #login(Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, String>>> loginAsync(Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "login")
+                .withParameters(parameters);
+
+        return super.postOnceAsync(urlBuilder, LOGIN_TYPE);
     }
 
     /**
@@ -128,6 +151,24 @@ public class AuthenticationMethod extends AbstractMethodBlock {
         );
     }
 
+    /**
+     * Асинхронный вариант метода {@link #login(String, String, boolean, String)}.
+     *
+     * @param display     Внешний вид формы мобильных приложений.
+     * @param expiresAt   Срок действия access_token в формате UNIX.
+     * @param nofollow    При передаче параметра nofollow=true переадресация не происходит.
+     * @param redirectUri URL на который будет переброшен пользователь после того как он пройдет аутентификацию.
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Map<String, String>>> loginAsync(String display, String expiresAt, boolean nofollow, String redirectUri) {
+        return loginAsync(
+                new Parameter("display", display),
+                new Parameter("expiresAt", expiresAt),
+                new Parameter("nofollow", nofollow),
+                new Parameter("redirectUri", redirectUri)
+        );
+    }
+
     /**
      * Метод генерирует новый access_token на основе действующего.
      *
@@ -150,8 +191,23 @@ public class AuthenticationMethod extends AbstractMethodBlock {
                 .withAccessToken(accessToken)
                 .withParameters(parameters);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse<Prolongate>>() {
-        });
+        return super.postOnce(urlBuilder, PROLONGATE_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #prolongate(String, Parameter...)}.
+     *
+     * @param accessToken Старый ключ доступа к личным данным аккаунта пользователя
+     * @param parameters  Массив необязательных параметров запроса, см. {@link #prolongate(String, Parameter...)}
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Prolongate>> prolongateAsync(String accessToken, Parameter... parameters) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "prolongate")
+                .withAccessToken(accessToken)
+                .withParameters(parameters);
+
+        return super.postOnceAsync(urlBuilder, PROLONGATE_TYPE);
     }
 
     /**
@@ -172,6 +228,17 @@ public class AuthenticationMethod extends AbstractMethodBlock {
         return prolongate(accessToken, new Parameter("expires_at", expires_at));
     }
 
+    /**
+     * Асинхронный вариант метода {@link #prolongate(String, String)}.
+     *
+     * @param accessToken Старый ключ доступа к личным данным аккаунта пользователя
+     * @param expires_at  Срок действия access_token в формате UNIX.
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse<Prolongate>> prolongateAsync(String accessToken, String expires_at) {
+        return prolongateAsync(accessToken, new Parameter("expires_at", expires_at));
+    }
+
     /**
      * Метод удаляет access_token пользователя.
      * <p>
@@ -189,8 +256,21 @@ public class AuthenticationMethod extends AbstractMethodBlock {
                 .withMethod(METHOD_BLOCK, "logout")
                 .withAccessToken(accessToken);
 
-        return super.post(urlBuilder, new TypeToken<JsonResponse>() {
-        });
+        return super.postOnce(urlBuilder, EXIT_TYPE);
+    }
+
+    /**
+     * Асинхронный вариант метода {@link #exit(String)}.
+     *
+     * @param accessToken Ключ доступа к личным данным аккаунта пользователя
+     * @return Объект {@link CompletableFuture}, который будет завершён ответом от Wargaming.net Public API
+     */
+    public CompletableFuture<JsonResponse> exitAsync(String accessToken) {
+        WgApiUriBuilder urlBuilder = getWgApiUriBuilder()
+                .withMethod(METHOD_BLOCK, "logout")
+                .withAccessToken(accessToken);
+
+        return super.postOnceAsync(urlBuilder, EXIT_TYPE);
     }
 
 
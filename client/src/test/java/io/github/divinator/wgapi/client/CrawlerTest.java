@@ -0,0 +1,124 @@
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.JsonResponseError;
+import io.github.divinator.wgapi.entity.JsonResponseMeta;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrawlerTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void idsArePackedIntoBatchesAndCheckpointed() throws Exception {
+        Path checkpoint = Files.createTempDirectory("crawler").resolve("checkpoint");
+        Map<Integer, String> results = new TreeMap<>();
+
+        long processed = new Crawler<>(this::load, 100, 2, checkpoint)
+                .crawl(Crawler.range(1, 251), (id, value) -> {
+                    synchronized (results) {
+                        results.put(id, value);
+                    }
+                })
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals(250, processed);
+        assertEquals(250, results.size());
+        assertEquals("value-250", results.get(250));
+        assertEquals(3, requests.size());
+        assertEquals("250", read(checkpoint));
+    }
+
+    @Test
+    public void restartedCrawlResumesFromCheckpoint() throws Exception {
+        Path checkpoint = Files.createTempDirectory("crawler").resolve("checkpoint");
+        Files.write(checkpoint, "100".getBytes(StandardCharsets.UTF_8));
+
+        long processed = new Crawler<>(this::load, 100, 1, checkpoint)
+                .crawl(Crawler.range(1, 151), (id, value) -> { })
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals(150, processed);
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).startsWith("101,"));
+    }
+
+    @Test
+    public void failedBatchStopsCrawlAndKeepsProgress() throws Exception {
+        Path checkpoint = Files.createTempDirectory("crawler").resolve("checkpoint");
+
+        CompletableFuture<Long> result = new Crawler<String>(ids -> ids.startsWith("3,")
+                ? CompletableFuture.completedFuture(new JsonResponse<>("error", new JsonResponseMeta(), new JsonResponseError(), null))
+                : load(ids), 2, 1, checkpoint)
+                .crawl(Crawler.range(1, 11), (id, value) -> { });
+
+        assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("1,2"), requests);
+        assertEquals("2", read(checkpoint));
+    }
+
+    @Test
+    public void failedBatchCancelsRunningRequests() throws Exception {
+        CompletableFuture<JsonResponse<Map<String, String>>> slow = new CompletableFuture<>();
+        CompletableFuture<JsonResponse<Map<String, String>>> failed = new CompletableFuture<>();
+
+        CompletableFuture<Long> result = new Crawler<String>(ids -> ids.equals("1") ? slow : failed, 1, 2, null)
+                .crawl(Crawler.range(1, 3), (id, value) -> { });
+
+        failed.completeExceptionally(new WgApiException(ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED));
+
+        assertTrue(slow.isCancelled());
+        assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelledCrawlCancelsRunningRequests() {
+        CompletableFuture<JsonResponse<Map<String, String>>> slow = new CompletableFuture<>();
+
+        CompletableFuture<Long> result = new Crawler<String>(ids -> slow, 100, 1, null)
+                .crawl(Crawler.range(1, 11), (id, value) -> { });
+
+        result.cancel(true);
+
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void synchronousResponsesDoNotGrowTheStack() throws Exception {
+        AtomicLong delivered = new AtomicLong();
+
+        long processed = new Crawler<>(this::load, 1, 4, null)
+                .crawl(Crawler.range(0, 100_000), (id, value) -> delivered.incrementAndGet())
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(100_000, processed);
+        assertEquals(100_000, delivered.get());
+    }
+
+    private CompletableFuture<JsonResponse<Map<String, String>>> load(String ids) {
+        requests.add(ids);
+        Map<String, String> data = new LinkedHashMap<>();
+
+        for (String id : ids.split(",")) {
+            data.put(id, "value-" + id);
+        }
+
+        return CompletableFuture.completedFuture(new JsonResponse<>("ok", new JsonResponseMeta(data.size()), new JsonResponseError(), data));
+    }
+
+    private static String read(Path file) throws Exception {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
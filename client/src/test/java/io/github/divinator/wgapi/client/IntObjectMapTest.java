@@ -0,0 +1,83 @@
+package io.github.divinator.wgapi.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntObjectMapTest {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new IntObjectMapTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void valuesAreFoundAfterRehash() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        for (int key = -500; key < 10_000; key += 3) {
+            map.put(key, "v" + key);
+        }
+
+        assertEquals(3500, map.size());
+        assertEquals("v-497", map.get(-497));
+        assertEquals("v9997", map.get(9997));
+        assertNull(map.get(2));
+        assertFalse(map.containsKey(2));
+        assertEquals("v1", map.put(1, "new"));
+        assertEquals("new", map.get(1));
+        assertEquals(3500, map.size());
+    }
+
+    @Test
+    public void nullValuesAreKept() {
+        IntObjectMap<String> map = new IntObjectMap<>(1);
+        map.put(0, null);
+        map.put(7, "seven");
+
+        assertTrue(map.containsKey(0));
+        assertNull(map.get(0));
+
+        List<Integer> keys = new ArrayList<>();
+        for (IntObjectMap<String>.Cursor cursor = map.cursor(); cursor.next(); ) {
+            keys.add(cursor.key());
+        }
+
+        keys.sort(null);
+        assertEquals(Arrays.asList(0, 7), keys);
+        assertEquals(2, map.keys().length);
+    }
+
+    @Test
+    public void responseDataIsDecodedWithIntKeys() {
+        JsonResponse<IntObjectMap<List<Integer>>> response = GSON.fromJson(
+                "{\"status\":\"ok\",\"meta\":{\"count\":2},\"data\":{\"100\":[1,2],\"200\":null}}",
+                new TypeToken<JsonResponse<IntObjectMap<List<Integer>>>>() {
+                }.getType());
+
+        IntObjectMap<List<Integer>> data = response.getData();
+        assertEquals(2, data.size());
+        assertEquals(Arrays.asList(1, 2), data.get(100));
+        assertTrue(data.containsKey(200));
+        assertNull(data.get(200));
+
+        IntObjectMap<List<Integer>> copy = GSON.fromJson(GSON.toJson(data), new TypeToken<IntObjectMap<List<Integer>>>() {
+        }.getType());
+        assertEquals(Arrays.asList(1, 2), copy.get(100));
+    }
+
+    @Test
+    public void nonNumericKeyIsRejected() {
+        assertThrows(JsonParseException.class, () -> GSON.fromJson("{\"abc\":1}",
+                new TypeToken<IntObjectMap<Integer>>() {
+                }.getType()));
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.divinator.wgapi.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverTheirValues() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE / 3}) {
+            int index = LatencyHistogram.index(value);
+
+            assertTrue(value <= LatencyHistogram.upperBound(index), "value " + value);
+            assertTrue(index == 0 || value > LatencyHistogram.upperBound(index - 1), "value " + value);
+        }
+    }
+
+    @Test
+    public void percentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500_000L, histogram.getMean());
+        assertEquals(500_000_000L, histogram.getPercentile(50), 500_000_000L * 0.125);
+        assertEquals(990_000_000L, histogram.getPercentile(99), 990_000_000L * 0.125);
+        assertTrue(histogram.getPercentile(99.9) >= 999_000_000L);
+        assertEquals(0, new LatencyHistogram().getPercentile(99));
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.divinator.wgapi.client;
+
+import com.google.gson.Gson;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.JsonResponseError;
+import io.github.divinator.wgapi.entity.JsonResponseMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageIteratorTest {
+
+    private final List<Integer> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void allPagesAreReadInOrder() {
+        List<Integer> items = new PageIterator<>(parameters -> load(parameters, 25), 10, 2).stream()
+                .collect(Collectors.toList());
+
+        assertEquals(IntStream.range(0, 25).boxed().collect(Collectors.toList()), items);
+        assertEquals(Arrays.asList(1, 2, 3), requests);
+    }
+
+    @Test
+    public void nextPagesArePrefetchedWhileCurrentIsRead() {
+        PageIterator<Integer> iterator = new PageIterator<>(parameters -> load(parameters, 1000), 10, 3);
+
+        assertEquals(0, (int) iterator.next());
+        assertEquals(Arrays.asList(1, 2, 3, 4), requests);
+    }
+
+    @Test
+    public void earlyStopCancelsPrefetchedPages() {
+        List<CompletableFuture<JsonResponse<List<Integer>>>> pending = new ArrayList<>();
+        PageIterator.Loader<Integer> loader = parameters -> {
+            if (page(parameters) <= 2) {
+                return load(parameters, 1000);
+            }
+
+            requests.add(page(parameters));
+            CompletableFuture<JsonResponse<List<Integer>>> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        };
+
+        try (Stream<Integer> stream = new PageIterator<>(loader, 10, 2).stream()) {
+            assertEquals(15, stream.limit(15).count());
+        }
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), requests);
+        assertTrue(pending.stream().allMatch(CompletableFuture::isCancelled));
+    }
+
+    @Test
+    public void shortPageEndsListWithoutMeta() {
+        PageIterator<Integer> iterator = new PageIterator<>(parameters -> load(parameters, 15, false), 0, 4);
+        List<Integer> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+
+        assertEquals(15, items.size());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void errorIsThrownAsCompletionException() {
+        PageIterator<Integer> iterator = new PageIterator<>(parameters -> page(parameters) == 2
+                ? CompletableFuture.completedFuture(new JsonResponse<>("error", new JsonResponseMeta(), new JsonResponseError(), null))
+                : load(parameters, 100), 10, 0);
+
+        for (int i = 0; i < 10; i++) {
+            iterator.next();
+        }
+
+        CompletionException exception = assertThrows(CompletionException.class, iterator::hasNext);
+        assertTrue(exception.getCause() instanceof WgApiException);
+        assertFalse(iterator.hasNext());
+    }
+
+    private CompletableFuture<JsonResponse<List<Integer>>> load(Parameter[] parameters, int total) {
+        return load(parameters, total, true);
+    }
+
+    private CompletableFuture<JsonResponse<List<Integer>>> load(Parameter[] parameters, int total, boolean meta) {
+        int page = page(parameters);
+        int limit = 10;
+
+        for (Parameter parameter : parameters) {
+            if (parameter.getName().equals("limit")) {
+                limit = Integer.parseInt(parameter.getValue());
+            }
+        }
+
+        requests.add(page);
+        List<Integer> data = IntStream.range((page - 1) * limit, Math.min(page * limit, total)).boxed()
+                .collect(Collectors.toList());
+        String json = meta ? "{\"count\":" + data.size() + ",\"total\":" + total + "}" : "{}";
+        return CompletableFuture.completedFuture(new JsonResponse<>("ok",
+                new Gson().fromJson(json, JsonResponseMeta.class), new JsonResponseError(), data));
+    }
+
+    private static int page(Parameter[] parameters) {
+        for (Parameter parameter : parameters) {
+            if (parameter.getName().equals("page_no")) {
+                return Integer.parseInt(parameter.getValue());
+            }
+        }
+
+        throw new IllegalArgumentException("page_no");
+    }
+}
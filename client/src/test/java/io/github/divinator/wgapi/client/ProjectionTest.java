@@ -0,0 +1,68 @@
+package io.github.divinator.wgapi.client;
+
+import com.google.gson.annotations.SerializedName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionTest {
+
+    @Test
+    public void pathsAreValidatedAndTranslated() {
+        Parameter fields = Projection.fields(Player.class, "nickname", "lastBattleTime", "statistics.all.battles", "tanks.tank_id");
+
+        assertEquals("fields", fields.getName());
+        assertEquals("nickname,last_battle_time,statistics.all.battles,tanks.tank_id", fields.getValue());
+        assertSame(fields, Projection.fields(Player.class, "nickname", "lastBattleTime", "statistics.all.battles", "tanks.tank_id"));
+    }
+
+    @Test
+    public void gettersAreTranslated() {
+        Parameter fields = Projection.fields(Player.class, Player::getLastBattleTime, Player::getNickname);
+
+        assertEquals("last_battle_time,nickname", fields.getValue());
+    }
+
+    @Test
+    public void unknownFieldIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Projection.fields(Player.class, "statistics.all.batles"));
+    }
+
+    private static class Player {
+
+        @SerializedName("nickname")
+        private String nickname;
+
+        @SerializedName("last_battle_time")
+        private int lastBattleTime;
+
+        @SerializedName("statistics")
+        private Map<String, Statistics> statistics;
+
+        @SerializedName("tanks")
+        private List<Tank> tanks;
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public int getLastBattleTime() {
+            return lastBattleTime;
+        }
+    }
+
+    private static class Statistics {
+
+        @SerializedName("battles")
+        private int battles;
+    }
+
+    private static class Tank {
+
+        @SerializedName("tank_id")
+        private int tankId;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.divinator.wgapi.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    @Test
+    public void burstIsAvailableImmediately() {
+        RateLimiter rateLimiter = new RateLimiter(1, 3);
+
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    public void acquireWaitsForNextPermit() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(20, 1);
+
+        long start = System.nanoTime();
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    public void timedTryAcquireDoesNotReserveUnreachablePermit() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(20, 1);
+
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire(1, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        assertTrue(rateLimiter.tryAcquire(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    public void acquireAsyncCompletesAfterWait() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            RateLimiter rateLimiter = new RateLimiter(10, 1);
+
+            assertTrue(rateLimiter.acquireAsync(scheduler).isDone());
+
+            CompletableFuture<Void> next = rateLimiter.acquireAsync(scheduler);
+            assertFalse(next.isDone());
+            next.get(1, TimeUnit.SECONDS);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void invalidRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1));
+    }
+}
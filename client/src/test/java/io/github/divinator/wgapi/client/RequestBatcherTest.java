@@ -0,0 +1,113 @@
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.JsonResponseError;
+import io.github.divinator.wgapi.entity.JsonResponseMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestBatcherTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void fullBatchIsSentImmediately() throws Exception {
+        RequestBatcher<String> batcher = new RequestBatcher<>(this::load, scheduler, 3, TimeUnit.HOURS.toMillis(1));
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        CompletableFuture<String> third = batcher.submit(3);
+
+        assertEquals("value-1", first.get(1, TimeUnit.SECONDS));
+        assertEquals("value-2", second.get(1, TimeUnit.SECONDS));
+        assertEquals("value-3", third.get(1, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("1,2,3"), requests);
+    }
+
+    @Test
+    public void partialBatchIsSentAfterWindow() throws Exception {
+        RequestBatcher<String> batcher = new RequestBatcher<>(this::load, scheduler, 100, 10);
+
+        CompletableFuture<String> first = batcher.submit(7);
+        CompletableFuture<String> duplicate = batcher.submit(7);
+
+        assertSame(first, duplicate);
+        assertEquals("value-7", first.get(1, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("7"), requests);
+    }
+
+    @Test
+    public void errorResponseFailsEveryCaller() {
+        RequestBatcher<String> batcher = new RequestBatcher<>(
+                ids -> CompletableFuture.completedFuture(new JsonResponse<>("error", new JsonResponseMeta(), new JsonResponseError(), null)),
+                scheduler, 2, 10
+        );
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void closeFailsPendingAndLaterCallers() {
+        RequestBatcher<String> batcher = new RequestBatcher<>(this::load, scheduler, 100, TimeUnit.HOURS.toMillis(1));
+        CompletableFuture<String> pending = batcher.submit(1);
+
+        batcher.close();
+        CompletableFuture<String> later = batcher.submit(2);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> pending.get(1, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.CLIENT_REQUEST_FAILED, ((WgApiException) exception.getCause()).getErrorCode());
+        assertThrows(ExecutionException.class, () -> later.get(1, TimeUnit.SECONDS));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void rejectingSchedulerFailsCallerInsteadOfHanging() {
+        scheduler.shutdownNow();
+        RequestBatcher<String> batcher = new RequestBatcher<>(this::load, scheduler, 100, 10);
+
+        CompletableFuture<String> future = batcher.submit(1);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.CLIENT_REQUEST_FAILED, ((WgApiException) exception.getCause()).getErrorCode());
+    }
+
+    @Test
+    public void loadAllSplitsAndMerges() throws Exception {
+        List<Integer> ids = IntStream.rangeClosed(1, 250).boxed().collect(Collectors.toList());
+
+        JsonResponse<Map<String, String>> response = RequestBatcher.loadAll(ids, 100, this::load).get(1, TimeUnit.SECONDS);
+
+        assertTrue(response.isOk());
+        assertEquals(250, response.getMetaCount());
+        assertEquals("value-250", response.getData().get("250"));
+        assertEquals(3, requests.size());
+    }
+
+    private CompletableFuture<JsonResponse<Map<String, String>>> load(String ids) {
+        requests.add(ids);
+        Map<String, String> data = new LinkedHashMap<>();
+
+        for (String id : ids.split(",")) {
+            data.put(id, "value-" + id);
+        }
+
+        return CompletableFuture.completedFuture(new JsonResponse<>("ok", new JsonResponseMeta(data.size()), new JsonResponseError(), data));
+    }
+}
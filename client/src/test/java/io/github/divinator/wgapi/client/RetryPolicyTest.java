@@ -0,0 +1,113 @@
+package io.github.divinator.wgapi.client;
+
+import com.google.gson.Gson;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyTest {
+
+    private static final JsonResponse<?> OK = new Gson().fromJson("{\"status\":\"ok\"}", JsonResponse.class);
+    private static final JsonResponse<?> LIMIT = error(407, "REQUEST_LIMIT_EXCEEDED");
+    private static final JsonResponse<?> INVALID = error(407, "INVALID_APPLICATION_ID");
+
+    private final RetryPolicy retryPolicy = new RetryPolicy(
+            3, 1, 10, 10, 10, EnumSet.of(ErrorCode.REQUEST_LIMIT_EXCEEDED, ErrorCode.CLIENT_REQUEST_FAILED)
+    );
+
+    @Test
+    public void retryableErrorIsRetried() throws WgApiException {
+        AtomicInteger calls = new AtomicInteger();
+
+        JsonResponse<?> response = retryPolicy.execute(() -> calls.incrementAndGet() < 3 ? LIMIT : OK);
+
+        assertSame(OK, response);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void lastErrorIsReturnedAfterMaxAttempts() throws WgApiException {
+        AtomicInteger calls = new AtomicInteger();
+
+        JsonResponse<?> response = retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            return LIMIT;
+        });
+
+        assertSame(LIMIT, response);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void nonRetryableErrorIsReturnedImmediately() throws WgApiException {
+        AtomicInteger calls = new AtomicInteger();
+
+        retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            return INVALID;
+        });
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void transportFailureIsRetried() throws WgApiException {
+        AtomicInteger calls = new AtomicInteger();
+
+        JsonResponse<?> response = retryPolicy.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new WgApiException(ErrorCode.CLIENT_REQUEST_POST_FAILED, new WgApiException(ErrorCode.CLIENT_REQUEST_FAILED));
+            }
+            return OK;
+        });
+
+        assertSame(OK, response);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void budgetLimitsRetries() throws WgApiException {
+        RetryPolicy budgeted = new RetryPolicy(3, 1, 10, 1, 0, EnumSet.of(ErrorCode.REQUEST_LIMIT_EXCEEDED));
+        AtomicInteger calls = new AtomicInteger();
+
+        budgeted.execute(() -> {
+            calls.incrementAndGet();
+            return LIMIT;
+        });
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void asyncRetryableErrorIsRetried() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            JsonResponse<?> response = retryPolicy.<JsonResponse<?>>executeAsync(
+                    () -> CompletableFuture.completedFuture(calls.incrementAndGet() < 2 ? LIMIT : OK),
+                    scheduler
+            ).get(1, TimeUnit.SECONDS);
+
+            assertSame(OK, response);
+            assertEquals(2, calls.get());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static JsonResponse<?> error(int code, String message) {
+        return new Gson().fromJson(
+                "{\"status\":\"error\",\"error\":{\"code\":" + code + ",\"message\":\"" + message + "\"}}",
+                JsonResponse.class
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.divinator.wgapi.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    public void concurrentCallsShareOneExecution() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            Future<String> leader = executor.submit(() -> execute(() -> {
+                calls.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return "value";
+            }));
+
+            started.await(1, TimeUnit.SECONDS);
+            Future<String> follower = executor.submit(() -> execute(() -> {
+                calls.incrementAndGet();
+                return "other";
+            }));
+
+            while (singleFlight.getCoalescedCount() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals("value", leader.get(1, TimeUnit.SECONDS));
+            assertEquals("value", follower.get(1, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asyncCallsShareOneExecution() throws Exception {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        source.complete("value");
+
+        assertEquals("value", first.get(1, TimeUnit.SECONDS));
+        assertEquals("value", second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    public void sourceIsCancelledOnlyWhenAllCallersCancel() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("key", () -> source);
+        CompletableFuture<String> second = singleFlight.executeAsync("key", CompletableFuture::new);
+
+        first.cancel(false);
+        assertFalse(source.isCancelled());
+
+        second.cancel(false);
+        assertTrue(source.isCancelled());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    private String execute(RetryPolicy.Call<String> call) throws Exception {
+        try {
+            return singleFlight.execute("key", call);
+        } catch (WgApiException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.divinator.wgapi.client;
+
+import org.apache.http.client.utils.URIBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WgApiUriBuilderTest {
+
+    private final WgApiUriBuilder base = new WgApiUriBuilder()
+            .withCluster(Cluster.WORLD_OF_TANKS)
+            .withRegion(Region.RU)
+            .withApplicationID("demo");
+
+    @Test
+    public void urlIsBuiltFromPrefixMethodAndEncodedParameters() throws WgApiException {
+        WgApiUriBuilder builder = base
+                .withMethod("tanks", "stats")
+                .withParameters(new Parameter("account_id", "1,2"), new Parameter("search", "мир & co"));
+
+        assertEquals("https://api.worldoftanks.ru/wot/tanks/stats/"
+                        + "?application_id=demo&account_id=1%2C2&search=%D0%BC%D0%B8%D1%80+%26+co",
+                builder.build().toString());
+        assertEquals(builder.build().toString(), builder.toString());
+    }
+
+    @Test
+    public void parametersAreEncodedLikeUriBuilder() throws Throwable {
+        String value = "a!~'()*b,c d_-.мир\uD83D\uDE00";
+        WgApiUriBuilder builder = base
+                .withMethod("account", "list")
+                .withParameter(new Parameter("search", value));
+
+        String expected = new URIBuilder("https://api.worldoftanks.ru/wot/account/list/")
+                .addParameter("application_id", "demo")
+                .addParameter("search", value)
+                .build()
+                .toString();
+
+        assertEquals(expected, builder.build().toString());
+        assertTrue(expected.endsWith("search=a%21%7E%27%28%29*b%2Cc+d_-.%D0%BC%D0%B8%D1%80%F0%9F%98%80"));
+    }
+
+    @Test
+    public void derivedBuildersDoNotShareAddedParameters() throws WgApiException {
+        WgApiUriBuilder method = base.withMethod("account", "info");
+        WgApiUriBuilder first = method.withParameter(new Parameter("account_id", "1"));
+        WgApiUriBuilder second = method.withParameter(new Parameter("account_id", "2"));
+
+        assertEquals("https://api.worldoftanks.ru/wot/account/info/?application_id=demo", method.build().toString());
+        assertTrue(first.build().toString().endsWith("application_id=demo&account_id=1"));
+        assertTrue(second.build().toString().endsWith("application_id=demo&account_id=2"));
+        assertEquals(2, second.getHttpContent().size());
+    }
+
+    @Test
+    public void canonicalKeyIgnoresParameterOrder() throws WgApiException {
+        WgApiUriBuilder method = base.withMethod("account", "info");
+
+        assertEquals(
+                method.withParameters(new Parameter("language", "ru"), new Parameter("account_id", "1")).getCanonicalKey(),
+                method.withParameters(new Parameter("account_id", "1"), new Parameter("language", "ru")).getCanonicalKey()
+        );
+    }
+
+    @Test
+    public void hostReplacesClusterServer() throws WgApiException {
+        WgApiUriBuilder builder = new WgApiUriBuilder()
+                .withScheme(RequestScheme.HTTP)
+                .withHost("127.0.0.1:8080")
+                .withCluster(Cluster.WORLD_OF_TANKS)
+                .withMethod("tanks", "stats");
+
+        assertEquals("http://127.0.0.1:8080/wot/tanks/stats/", builder.build().toString());
+    }
+
+    @Test
+    public void missingRegionIsReported() {
+        WgApiException exception = assertThrows(WgApiException.class,
+                () -> new WgApiUriBuilder().withCluster(Cluster.WORLD_OF_TANKS).withMethod("tanks", "stats").build());
+
+        assertEquals(ErrorCode.CLIENT_BUILD_URL_FAILED, exception.getErrorCode());
+        assertEquals(ErrorCode.CLIENT_BUILD_URL_NODE_FAILED, ((WgApiException) exception.getCause()).getErrorCode());
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.divinator.wgapi.mock;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.*;
+
+/**
+ * Класс описывает запрос, полученный {@link WgApiMockServer}.
+ *
+ * @author Sergey Divin
+ */
+public final class MockRequest {
+
+    private final String method;
+    private final String endpoint;
+    private final Map<String, String> parameters;
+
+    /**
+     * Конструктор запроса.
+     *
+     * @param method     HTTP-метод запроса
+     * @param endpoint   Путь запроса без "/" в начале и в конце, например "wot/account/info"
+     * @param parameters Параметры запроса
+     */
+    public MockRequest(String method, String endpoint, Map<String, String> parameters) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+    }
+
+    /**
+     * Метод возвращает HTTP-метод запроса.
+     *
+     * @return HTTP-метод запроса, например "GET"
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Метод возвращает путь запроса без "/" в начале и в конце: название API, группы методов и метода,
+     * например "wot/account/info".
+     *
+     * @return Путь запроса
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Метод возвращает параметры запроса: параметры строки запроса и, для метода POST, параметры тела запроса.
+     *
+     * @return Параметры запроса
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Метод возвращает значение параметра запроса.
+     *
+     * @param name Название параметра
+     * @return Значение параметра, либо null, если параметр не передан
+     */
+    public String getParameter(String name) {
+        return parameters.get(name);
+    }
+
+    /**
+     * Метод возвращает идентификатор приложения (application_id) запроса.
+     *
+     * @return Идентификатор приложения, либо null, если он не передан
+     */
+    public String getApplicationId() {
+        return getParameter("application_id");
+    }
+
+    /**
+     * Метод возвращает название параметра с идентификаторами сущностей: первого параметра, название которого
+     * оканчивается на "_id", кроме application_id, например "account_id".
+     *
+     * @return Название параметра с идентификаторами, либо null, если такого параметра нет
+     */
+    public String getIdParameter() {
+        for (String name : parameters.keySet()) {
+            if (name.endsWith("_id") && !"application_id".equals(name)) {
+                return name;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Метод возвращает идентификаторы сущностей, переданные через запятую в параметре {@link #getIdParameter()}.
+     *
+     * @return Идентификаторы сущностей без повторов, либо пустой список
+     */
+    public List<String> getIds() {
+        String name = getIdParameter();
+
+        if (name == null) {
+            return Collections.emptyList();
+        }
+
+        Set<String> ids = new LinkedHashSet<>();
+
+        for (String id : parameters.get(name).split(",")) {
+            if (!id.trim().isEmpty()) {
+                ids.add(id.trim());
+            }
+        }
+
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Метод разбирает параметры из строки в формате "application/x-www-form-urlencoded".
+     *
+     * @param encoded    Строка параметров, может быть null
+     * @param parameters Параметры, в которые добавляются разобранные параметры
+     */
+    static void parseParameters(String encoded, Map<String, String> parameters) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (String pair : encoded.split("&")) {
+                int separator = pair.indexOf('=');
+
+                if (separator < 0) {
+                    parameters.put(URLDecoder.decode(pair, "UTF-8"), "");
+                } else {
+                    parameters.put(
+                            URLDecoder.decode(pair.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(pair.substring(separator + 1), "UTF-8")
+                    );
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + endpoint + " " + parameters;
+    }
+}
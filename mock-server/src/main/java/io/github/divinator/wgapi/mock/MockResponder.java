@@ -0,0 +1,21 @@
+package io.github.divinator.wgapi.mock;
+
+import java.io.IOException;
+
+/**
+ * Функция, формирующая тело ответа {@link WgApiMockServer} на запрос.
+ *
+ * @author Sergey Divin
+ */
+@FunctionalInterface
+public interface MockResponder {
+
+    /**
+     * Метод формирует тело ответа в формате JSON.
+     *
+     * @param request Запрос
+     * @return Тело ответа, либо null, если метод не найден
+     * @throws IOException В случае, если сформировать ответ не удалось
+     */
+    String respond(MockRequest request) throws IOException;
+}
@@ -0,0 +1,172 @@
+package io.github.divinator.wgapi.mock;
+
+import com.google.gson.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Класс формирует ответы по записанным ответам Wargaming.net Public API, а для путей без записи - синтетические ответы.
+ * <p>
+ * Записанный ответ на запрос "wot/account/info" лежит в файле "wot/account/info.json" каталога записей,
+ * либо в ресурсе "recordings/wot/account/info.json". Если в записи данные - объект по идентификаторам,
+ * а запрос содержит идентификаторы (например account_id), ответ строится для запрошенных идентификаторов:
+ * записанные идентификаторы возвращаются как есть, для остальных копируется первая запись, в которой
+ * поле идентификатора заменено запрошенным. Так одной записи достаточно для ответа на любой пакет
+ * идентификаторов. Без записи данные содержат null для каждого идентификатора, как для несуществующих
+ * сущностей, либо пустой объект.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class SyntheticResponder implements MockResponder {
+
+    private final Path recordings;
+    private final ConcurrentMap<String, JsonElement> cache = new ConcurrentHashMap<>();
+    private final Gson gson = new GsonBuilder().serializeNulls().create();
+
+    /**
+     * Конструктор, использующий записи из ресурсов "recordings/".
+     */
+    public SyntheticResponder() {
+        this(null);
+    }
+
+    /**
+     * Конструктор, использующий записи из каталога.
+     *
+     * @param recordings Каталог записей, либо null для записей из ресурсов "recordings/"
+     */
+    public SyntheticResponder(Path recordings) {
+        this.recordings = recordings;
+    }
+
+    @Override
+    public String respond(MockRequest request) throws IOException {
+        JsonElement recording = getRecording(request.getEndpoint());
+        String idParameter = request.getIdParameter();
+
+        if (recording.isJsonObject() && !(recording.getAsJsonObject().get("data") instanceof JsonObject)) {
+            return gson.toJson(recording);
+        }
+
+        JsonObject recorded = recording.isJsonObject() ? recording.getAsJsonObject().getAsJsonObject("data") : null;
+        JsonObject data = new JsonObject();
+
+        if (idParameter != null) {
+            Map.Entry<String, JsonElement> template = recorded == null || recorded.size() == 0
+                    ? null
+                    : recorded.entrySet().iterator().next();
+
+            for (String id : request.getIds()) {
+                if (recorded != null && recorded.has(id)) {
+                    data.add(id, recorded.get(id));
+                } else if (template != null) {
+                    data.add(id, withId(template.getValue().deepCopy(), idParameter, id));
+                } else {
+                    data.add(id, JsonNull.INSTANCE);
+                }
+            }
+        } else if (recorded != null) {
+            data = recorded;
+        }
+
+        JsonObject meta = new JsonObject();
+        meta.addProperty("count", data.size());
+
+        JsonObject response = new JsonObject();
+        response.addProperty("status", "ok");
+        response.add("meta", meta);
+        response.add("data", data);
+
+        return gson.toJson(response);
+    }
+
+    /**
+     * Метод заменяет поле идентификатора в скопированной записи.
+     *
+     * @param value       Скопированная запись: объект либо список объектов
+     * @param idParameter Название поля идентификатора, например "account_id"
+     * @param id          Запрошенный идентификатор
+     * @return Запись с запрошенным идентификатором
+     */
+    private static JsonElement withId(JsonElement value, String idParameter, String id) {
+        if (value.isJsonArray()) {
+            for (JsonElement element : value.getAsJsonArray()) {
+                withId(element, idParameter, id);
+            }
+        } else if (value.isJsonObject() && value.getAsJsonObject().has(idParameter)) {
+            value.getAsJsonObject().add(idParameter, parseId(id));
+        }
+
+        return value;
+    }
+
+    /**
+     * Метод приводит идентификатор к числу, если это возможно.
+     *
+     * @param id Идентификатор
+     * @return Числовой идентификатор, либо исходная строка
+     */
+    private static JsonPrimitive parseId(String id) {
+        try {
+            return new JsonPrimitive(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return new JsonPrimitive(id);
+        }
+    }
+
+    /**
+     * Метод возвращает запись ответа на запрос по указанному пути. Записи читаются один раз.
+     *
+     * @param endpoint Путь запроса
+     * @return Запись ответа, либо {@link JsonNull}, если записи нет
+     * @throws IOException В случае, если прочитать запись не удалось
+     */
+    private JsonElement getRecording(String endpoint) throws IOException {
+        JsonElement recording = cache.get(endpoint);
+
+        if (recording == null) {
+            recording = readRecording(endpoint);
+            cache.putIfAbsent(endpoint, recording);
+        }
+
+        return recording;
+    }
+
+    /**
+     * Метод читает запись ответа из каталога записей либо из ресурсов.
+     *
+     * @param endpoint Путь запроса
+     * @return Запись ответа, либо {@link JsonNull}, если записи нет
+     * @throws IOException В случае, если прочитать запись не удалось
+     */
+    private JsonElement readRecording(String endpoint) throws IOException {
+        InputStream in;
+
+        if (recordings != null) {
+            Path file = recordings.resolve(endpoint + ".json");
+            in = Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+        } else {
+            in = SyntheticResponder.class.getResourceAsStream("/recordings/" + endpoint + ".json");
+        }
+
+        if (in == null) {
+            return JsonNull.INSTANCE;
+        }
+
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader);
+        } catch (JsonParseException e) {
+            throw new IOException(String.format("Recording \"%s\" is not valid JSON.", endpoint), e);
+        }
+    }
+}
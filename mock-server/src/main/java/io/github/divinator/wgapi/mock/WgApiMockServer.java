@@ -0,0 +1,432 @@
+package io.github.divinator.wgapi.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.divinator.wgapi.client.ErrorCode;
+import io.github.divinator.wgapi.client.RateLimiter;
+import io.github.divinator.wgapi.client.RequestScheme;
+import io.github.divinator.wgapi.client.WgApiUriBuilder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс описывает локальный HTTP-сервер, повторяющий Wargaming.net Public API, для тестов, нагрузочных тестов
+ * и разработки без доступа к Wargaming.net Public API.
+ * <p>
+ * Сервер отвечает на любой путь, который строит {@link WgApiUriBuilder}, например "/wot/account/info/" или
+ * "/wot/globalmap/provinces/". Ответ формирует функция, заданная для пути методом
+ * {@link #setResponse(String, MockResponder)}, а для остальных путей - {@link SyntheticResponder}.
+ * Сервер может добавлять задержку ответа, отвечать ошибкой REQUEST_LIMIT_EXCEEDED при превышении квоты
+ * приложения либо случайно, и отвечать шлюзом 504 Gateway Time-out.
+ * </p>
+ * <p>
+ * Клиент направляется на сервер свойством "io.github.divinator.wgapi.host" со значением {@link #getHost()},
+ * либо строителем URL {@link #getUriBuilder()}.
+ * </p>
+ *
+ * @author Sergey Divin
+ */
+public final class WgApiMockServer implements Closeable {
+
+    private static final byte[] GATEWAY_TIMEOUT = ("<html>\r\n<head><title>504 Gateway Time-out</title></head>\r\n"
+            + "<body>\r\n<center><h1>504 Gateway Time-out</h1></center>\r\n</body>\r\n</html>\r\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Log log = LogFactory.getLog(getClass());
+
+    private final ConcurrentMap<String, MockResponder> responders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final LongAdder requestCount = new LongAdder();
+
+    private volatile MockResponder defaultResponder = new SyntheticResponder();
+    private volatile long minLatency;
+    private volatile long maxLatency;
+    private volatile int requestLimit;
+    private volatile double quotaErrorRate;
+    private volatile double gatewayTimeoutRate;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Метод задает функцию, формирующую ответы на запросы по указанному пути.
+     *
+     * @param endpoint  Путь запроса без "/" в начале и в конце, например "wot/account/info"
+     * @param responder Функция, формирующая ответ, либо null для ответа {@link SyntheticResponder}
+     * @return Этот сервер
+     */
+    public WgApiMockServer setResponse(String endpoint, MockResponder responder) {
+        if (responder == null) {
+            responders.remove(endpoint);
+        } else {
+            responders.put(endpoint, responder);
+        }
+
+        return this;
+    }
+
+    /**
+     * Метод задает каталог записанных ответов для путей, которым не задана функция ответа.
+     *
+     * @param recordings Каталог записанных ответов, см. {@link SyntheticResponder}
+     * @return Этот сервер
+     */
+    public WgApiMockServer setRecordings(Path recordings) {
+        this.defaultResponder = new SyntheticResponder(recordings);
+        return this;
+    }
+
+    /**
+     * Метод задает задержку каждого ответа: случайную, равномерно распределённую в указанных пределах.
+     *
+     * @param min  Минимальная задержка
+     * @param max  Максимальная задержка
+     * @param unit Единица измерения задержки
+     * @return Этот сервер
+     */
+    public WgApiMockServer setLatency(long min, long max, TimeUnit unit) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException(String.format("Invalid latency range [%d, %d].", min, max));
+        }
+
+        this.minLatency = unit.toMillis(min);
+        this.maxLatency = unit.toMillis(max);
+        return this;
+    }
+
+    /**
+     * Метод задает квоту запросов в секунду для каждого application_id. Запросы сверх квоты получают
+     * ошибку REQUEST_LIMIT_EXCEEDED, как от Wargaming.net Public API.
+     *
+     * @param requestsPerSecond Квота запросов в секунду; 0 отключает проверку квоты
+     * @return Этот сервер
+     */
+    public WgApiMockServer setRequestLimit(int requestsPerSecond) {
+        this.requestLimit = requestsPerSecond;
+        rateLimiters.clear();
+        return this;
+    }
+
+    /**
+     * Метод задает долю запросов, которые случайно получают ошибку REQUEST_LIMIT_EXCEEDED независимо от квоты.
+     *
+     * @param rate Доля запросов от 0 до 1
+     * @return Этот сервер
+     */
+    public WgApiMockServer setQuotaErrorRate(double rate) {
+        this.quotaErrorRate = rate;
+        return this;
+    }
+
+    /**
+     * Метод задает долю запросов, на которые сервер отвечает 504 Gateway Time-out со страницей HTML.
+     *
+     * @param rate Доля запросов от 0 до 1
+     * @return Этот сервер
+     */
+    public WgApiMockServer setGatewayTimeoutRate(double rate) {
+        this.gatewayTimeoutRate = rate;
+        return this;
+    }
+
+    /**
+     * Метод запускает сервер на свободном порту локального адреса.
+     *
+     * @return Этот сервер
+     * @throws IOException В случае, если запустить сервер не удалось
+     */
+    public WgApiMockServer start() throws IOException {
+        return start(0);
+    }
+
+    /**
+     * Метод запускает сервер на указанном порту локального адреса.
+     *
+     * @param port Порт, либо 0 для свободного порта
+     * @return Этот сервер
+     * @throws IOException В случае, если запустить сервер не удалось
+     */
+    public synchronized WgApiMockServer start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Mock server is already started.");
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "wgapi-mock-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        log.info(String.format("Mock server started on \"%s\".", getHost()));
+
+        return this;
+    }
+
+    /**
+     * Метод возвращает адрес сервера для свойства "io.github.divinator.wgapi.host".
+     *
+     * @return Имя сервера и порт, например "127.0.0.1:8080"
+     */
+    public String getHost() {
+        InetSocketAddress address = server.getAddress();
+        return address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * Метод возвращает строитель URL, направляющий запросы клиента на этот сервер.
+     *
+     * @return Строитель URL со схемой HTTP и адресом этого сервера
+     */
+    public WgApiUriBuilder getUriBuilder() {
+        return new WgApiUriBuilder()
+                .withScheme(RequestScheme.HTTP)
+                .withHost(getHost());
+    }
+
+    /**
+     * Метод возвращает количество полученных запросов.
+     *
+     * @return Количество полученных запросов
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Метод возвращает количество запросов, полученных по указанному пути.
+     *
+     * @param endpoint Путь запроса без "/" в начале и в конце, например "wot/account/info"
+     * @return Количество запросов по указанному пути
+     */
+    public long getRequestCount(String endpoint) {
+        LongAdder count = requestCounts.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Метод останавливает сервер.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Метод возвращает тело ответа с ошибкой в формате Wargaming.net Public API.
+     *
+     * @param errorCode Код ошибки
+     * @return Тело ответа с ошибкой
+     */
+    public static String error(ErrorCode errorCode) {
+        return String.format(
+                "{\"status\":\"error\",\"error\":{\"field\":null,\"message\":\"%s\",\"code\":%d,\"value\":null}}",
+                errorCode.name(),
+                errorCode.getCode()
+        );
+    }
+
+    /**
+     * Метод обрабатывает запрос.
+     *
+     * @param exchange HTTP-обмен
+     * @throws IOException В случае, если отправить ответ не удалось
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            MockRequest request = readRequest(exchange);
+
+            requestCount.increment();
+            requestCounts.computeIfAbsent(request.getEndpoint(), key -> new LongAdder()).increment();
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Mock request: %s.", request));
+            }
+
+            delay();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            if (gatewayTimeoutRate > 0 && random.nextDouble() < gatewayTimeoutRate) {
+                send(exchange, 504, "text/html", GATEWAY_TIMEOUT);
+            } else if (isQuotaExceeded(request) || quotaErrorRate > 0 && random.nextDouble() < quotaErrorRate) {
+                sendJson(exchange, error(ErrorCode.REQUEST_LIMIT_EXCEEDED));
+            } else {
+                String body = responders.getOrDefault(request.getEndpoint(), defaultResponder).respond(request);
+                sendJson(exchange, body == null ? error(ErrorCode.METHOD_NOT_FOUND) : body);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Mock request failed.", e);
+            send(exchange, 500, "text/plain", String.valueOf(e).getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Метод разбирает HTTP-запрос.
+     *
+     * @param exchange HTTP-обмен
+     * @return Запрос
+     * @throws IOException В случае, если прочитать тело запроса не удалось
+     */
+    private static MockRequest readRequest(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        MockRequest.parseParameters(exchange.getRequestURI().getRawQuery(), parameters);
+
+        if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            MockRequest.parseParameters(new String(readFully(exchange.getRequestBody()), StandardCharsets.UTF_8), parameters);
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        int from = 0;
+        int to = path.length();
+
+        while (from < to && path.charAt(from) == '/') {
+            from++;
+        }
+
+        while (to > from && path.charAt(to - 1) == '/') {
+            to--;
+        }
+
+        return new MockRequest(exchange.getRequestMethod(), path.substring(from, to), parameters);
+    }
+
+    /**
+     * Метод выдерживает задержку ответа.
+     *
+     * @throws InterruptedException В случае, если ожидание было прервано
+     */
+    private void delay() throws InterruptedException {
+        long min = minLatency;
+        long max = maxLatency;
+
+        if (max > 0) {
+            Thread.sleep(min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1));
+        }
+    }
+
+    /**
+     * Метод проверяет квоту запросов приложения.
+     *
+     * @param request Запрос
+     * @return true, если квота приложения превышена
+     */
+    private boolean isQuotaExceeded(MockRequest request) {
+        int limit = requestLimit;
+
+        if (limit <= 0) {
+            return false;
+        }
+
+        String applicationId = request.getApplicationId() == null ? "" : request.getApplicationId();
+        return !rateLimiters.computeIfAbsent(applicationId, key -> new RateLimiter(limit, limit)).tryAcquire();
+    }
+
+    /**
+     * Метод отправляет ответ в формате JSON.
+     *
+     * @param exchange HTTP-обмен
+     * @param body     Тело ответа
+     * @throws IOException В случае, если отправить ответ не удалось
+     */
+    private static void sendJson(HttpExchange exchange, String body) throws IOException {
+        send(exchange, 200, "application/json; charset=utf-8", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод отправляет ответ.
+     *
+     * @param exchange    HTTP-обмен
+     * @param status      Код состояния HTTP
+     * @param contentType Тип содержимого
+     * @param body        Тело ответа
+     * @throws IOException В случае, если отправить ответ не удалось
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Метод читает все байты из потока.
+     *
+     * @param in Поток
+     * @return Прочитанные байты
+     * @throws IOException В случае, если прочитать поток не удалось
+     */
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+
+        for (int read; (read = in.read(buffer)) != -1; ) {
+            out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Метод запускает сервер из командной строки: <code>WgApiMockServer [порт] [каталог записей]</code>.
+     * <p>
+     * Задержка и доли ошибок задаются системными свойствами "wgapi.mock.latency.min", "wgapi.mock.latency.max"
+     * (в миллисекундах), "wgapi.mock.request.limit", "wgapi.mock.quota.error.rate" и
+     * "wgapi.mock.gateway.timeout.rate".
+     * </p>
+     *
+     * @param args Порт и каталог записей
+     * @throws IOException В случае, если запустить сервер не удалось
+     */
+    public static void main(String[] args) throws IOException {
+        WgApiMockServer server = new WgApiMockServer()
+                .setLatency(
+                        Long.getLong("wgapi.mock.latency.min", 0),
+                        Long.getLong("wgapi.mock.latency.max", Long.getLong("wgapi.mock.latency.min", 0)),
+                        TimeUnit.MILLISECONDS
+                )
+                .setRequestLimit(Integer.getInteger("wgapi.mock.request.limit", 0))
+                .setQuotaErrorRate(Double.parseDouble(System.getProperty("wgapi.mock.quota.error.rate", "0")))
+                .setGatewayTimeoutRate(Double.parseDouble(System.getProperty("wgapi.mock.gateway.timeout.rate", "0")));
+
+        if (args.length > 1) {
+            server.setRecordings(Paths.get(args[1]));
+        }
+
+        server.start(args.length > 0 ? Integer.parseInt(args[0]) : 8080);
+
+        System.out.println("io.github.divinator.wgapi.host=" + server.getHost());
+    }
+}
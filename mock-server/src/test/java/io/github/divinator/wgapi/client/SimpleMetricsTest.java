@@ -0,0 +1,112 @@
+package io.github.divinator.wgapi.client;
+
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.method.wot.EncyclopediaMethod;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+import io.github.divinator.wgapi.mock.MockRequest;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimpleMetricsTest {
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private WgApiMockServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+        System.setProperty("io.github.divinator.wgapi.retry.base.delay", "1");
+
+        server = new WgApiMockServer()
+                .setResponse("wot/tanks/stats", this::stats)
+                .setResponse("wot/encyclopedia/info", request -> "{\"status\":\"ok\",\"meta\":{\"count\":1},"
+                        + "\"data\":{\"game_version\":\"1.0\",\"tanks_updated_at\":100}}")
+                .start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+        System.clearProperty("io.github.divinator.wgapi.retry.base.delay");
+        System.clearProperty("io.github.divinator.wgapi.cache.enabled");
+        System.clearProperty("io.github.divinator.wgapi.cache.ttl");
+    }
+
+    @Test
+    public void exchangesResponsesRetriesAndCoalescedCallsAreCounted() throws Throwable {
+        SimpleMetrics metrics = new SimpleMetrics();
+
+        try (WgApiClient client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"))) {
+            client.setMetrics(metrics);
+            TanksMethod tanks = client.getMethodBlock(TanksMethod.class);
+
+            failures.set(1);
+            assertTrue(tanks.getStats("1").isOk());
+
+            server.setLatency(300, 300, TimeUnit.MILLISECONDS);
+            CompletableFuture<JsonResponse<Map<String, List<Stats>>>> leader = tanks.getStatsAsync("2");
+            CompletableFuture<JsonResponse<Map<String, List<Stats>>>> follower = tanks.getStatsAsync("2");
+            assertTrue(leader.get(5, TimeUnit.SECONDS).isOk());
+            assertTrue(follower.get(5, TimeUnit.SECONDS).isOk());
+        }
+
+        SimpleMetrics.Endpoint endpoint = metrics.getEndpoint("tanks/stats");
+
+        assertEquals(3, endpoint.getRequestCount());
+        assertEquals(3, endpoint.getLatency().getCount());
+        assertEquals(3, endpoint.getParseTime().getCount());
+        assertEquals(1, endpoint.getRetryCount());
+        assertEquals(1, endpoint.getCoalescedCount());
+        assertEquals(1, endpoint.getErrorCount(ErrorCode.REQUEST_LIMIT_EXCEEDED));
+        assertEquals(0, endpoint.getCacheHitCount() + endpoint.getCacheMissCount());
+        assertTrue(endpoint.getBytesIn() > 0);
+        assertTrue(endpoint.getBytesOut() > 0);
+        assertTrue(endpoint.getLatency().getPercentile(99) >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void cacheHitsAndMissesAreCounted() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.cache.enabled", "true");
+        System.setProperty("io.github.divinator.wgapi.cache.ttl", "60");
+        SimpleMetrics metrics = new SimpleMetrics();
+
+        try (WgApiClient client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"))) {
+            client.setMetrics(metrics);
+            EncyclopediaMethod encyclopedia = client.getMethodBlock(EncyclopediaMethod.class);
+
+            assertTrue(encyclopedia.getInfo().isOk());
+            assertTrue(encyclopedia.getInfo().isOk());
+        }
+
+        SimpleMetrics.Endpoint endpoint = metrics.getEndpoint("encyclopedia/info");
+
+        assertEquals(1, endpoint.getCacheMissCount());
+        assertEquals(1, endpoint.getCacheHitCount());
+        assertEquals(2, endpoint.getRequestCount());
+        assertEquals(2, endpoint.getParseTime().getCount());
+        assertEquals(1, server.getRequestCount("wot/encyclopedia/info"));
+    }
+
+    private String stats(MockRequest request) {
+        if (failures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            return WgApiMockServer.error(ErrorCode.REQUEST_LIMIT_EXCEEDED);
+        }
+
+        String accountId = request.getParameter("account_id");
+        return "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":{\"" + accountId + "\":["
+                + "{\"account_id\":" + accountId + ",\"tank_id\":17,\"mark_of_mastery\":4}]}}";
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.divinator.wgapi.entity.wot.tanks;
+
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatsColumnsTest {
+
+    private static final String RECORDING = "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":{\"1\":["
+            + "{\"account_id\":1,\"tank_id\":17,\"mark_of_mastery\":4,"
+            + "\"all\":{\"battles\":10,\"wins\":6,\"damage_dealt\":5000},\"clan\":null},"
+            + "{\"account_id\":1,\"tank_id\":33,\"mark_of_mastery\":2}]}}";
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+    private TanksMethod tanks;
+
+    @BeforeEach
+    public void setUp() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+
+        Path recordings = Files.createTempDirectory("recordings");
+        Files.createDirectories(recordings.resolve("wot/tanks"));
+        Files.write(recordings.resolve("wot/tanks/stats.json"), RECORDING.getBytes(StandardCharsets.UTF_8));
+
+        server = new WgApiMockServer().setRecordings(recordings).start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+        tanks = client.getMethodBlock(TanksMethod.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+    }
+
+    @Test
+    public void columnarVariantAppendsRowsIntoBuffer() throws Throwable {
+        StatsColumns columns = new StatsColumns(EnumSet.of(StatsColumns.Block.ALL),
+                EnumSet.of(StatsColumns.Field.BATTLES, StatsColumns.Field.WINS));
+
+        JsonResponse<StatsColumns> response = tanks.getStatsColumns("1,500", columns);
+
+        assertTrue(response.isOk());
+        assertSame(columns, response.getData());
+        assertEquals(4, columns.size());
+
+        StatsColumns.Cursor cursor = columns.cursor();
+        assertTrue(cursor.next());
+        assertEquals(1, cursor.accountId());
+        assertEquals(17, cursor.tankId());
+        assertEquals(4, cursor.markOfMastery());
+        assertEquals(10, cursor.get(StatsColumns.Block.ALL, StatsColumns.Field.BATTLES));
+        assertEquals(6, cursor.get(StatsColumns.Block.ALL, StatsColumns.Field.WINS));
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.get(StatsColumns.Block.ALL, StatsColumns.Field.BATTLES));
+        assertTrue(cursor.next());
+        assertEquals(500, cursor.accountId());
+        assertTrue(cursor.next());
+        assertFalse(cursor.next());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> columns.getColumn(StatsColumns.Block.ALL, StatsColumns.Field.DAMAGE_DEALT));
+    }
+
+    @Test
+    public void columnarBufferIsReusedAndDropsRowsOfFailedParse() throws Throwable {
+        StatsColumns columns = new StatsColumns(EnumSet.of(StatsColumns.Block.ALL, StatsColumns.Block.RANDOM),
+                EnumSet.of(StatsColumns.Field.BATTLES));
+
+        tanks.getStatsColumnsAsync("1", columns).get();
+        int[] battles = columns.getColumn(StatsColumns.Block.ALL, StatsColumns.Field.BATTLES);
+
+        columns.clear();
+        tanks.getStatsColumns("2", columns);
+
+        assertEquals(2, columns.size());
+        assertSame(battles, columns.getColumn(StatsColumns.Block.ALL, StatsColumns.Field.BATTLES));
+        assertArrayEquals(new int[]{2, 2}, Arrays.copyOf(columns.getAccountIds(), columns.size()));
+
+        assertThrows(IOException.class,
+                () -> columns.getTypeAdapter().fromJson("{\"3\":[{\"tank_id\":1},{\"tank_id\":"));
+        assertEquals(2, columns.size());
+    }
+
+    @Test
+    public void columnarBufferIsWrittenInResponseFormat() throws Throwable {
+        StatsColumns columns = new StatsColumns(EnumSet.of(StatsColumns.Block.ALL),
+                EnumSet.of(StatsColumns.Field.BATTLES, StatsColumns.Field.WINS));
+        tanks.getStatsColumns("1,500", columns);
+
+        String json = columns.getTypeAdapter().toJson(columns);
+        StatsColumns copy = new StatsColumns(EnumSet.of(StatsColumns.Block.ALL),
+                EnumSet.of(StatsColumns.Field.BATTLES, StatsColumns.Field.WINS));
+        copy.getTypeAdapter().fromJson(json);
+
+        assertTrue(json.startsWith("{\"1\":[{\"account_id\":1,\"tank_id\":17,\"mark_of_mastery\":4,"
+                + "\"all\":{\"battles\":10,\"wins\":6}}"));
+        assertEquals(columns.size(), copy.size());
+        assertArrayEquals(Arrays.copyOf(columns.getAccountIds(), columns.size()),
+                Arrays.copyOf(copy.getAccountIds(), copy.size()));
+        assertArrayEquals(Arrays.copyOf(columns.getTankIds(), columns.size()),
+                Arrays.copyOf(copy.getTankIds(), copy.size()));
+        assertArrayEquals(Arrays.copyOf(columns.getColumn(StatsColumns.Block.ALL, StatsColumns.Field.WINS), columns.size()),
+                Arrays.copyOf(copy.getColumn(StatsColumns.Block.ALL, StatsColumns.Field.WINS), copy.size()));
+        assertEquals("null", columns.getTypeAdapter().toJson(null));
+    }
+}
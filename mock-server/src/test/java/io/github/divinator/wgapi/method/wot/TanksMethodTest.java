@@ -0,0 +1,93 @@
+package io.github.divinator.wgapi.method.wot;
+
+import io.github.divinator.wgapi.client.Deadline;
+import io.github.divinator.wgapi.client.IntObjectMap;
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TanksMethodTest {
+
+    private static final String RECORDING = "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":{\"1\":["
+            + "{\"account_id\":1,\"tank_id\":17,\"mark_of_mastery\":4,"
+            + "\"all\":{\"battles\":10,\"wins\":6,\"damage_dealt\":5000},\"clan\":null},"
+            + "{\"account_id\":1,\"tank_id\":33,\"mark_of_mastery\":2}]}}";
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+    private TanksMethod tanks;
+
+    @BeforeEach
+    public void setUp() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+
+        Path recordings = Files.createTempDirectory("recordings");
+        Files.createDirectories(recordings.resolve("wot/tanks"));
+        Files.write(recordings.resolve("wot/tanks/stats.json"), RECORDING.getBytes(StandardCharsets.UTF_8));
+
+        server = new WgApiMockServer().setRecordings(recordings).start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+        tanks = client.getMethodBlock(TanksMethod.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+    }
+
+    @Test
+    public void indexedVariantDecodesIntKeys() throws Throwable {
+        JsonResponse<IntObjectMap<List<Stats>>> response = tanks.getStatsIndexed("1,500");
+
+        assertTrue(response.isOk());
+        assertEquals(2, response.getData().size());
+        assertEquals(500, response.getData().get(500).get(0).getAccountId());
+    }
+
+    @Test
+    public void closeFailsBatchedCallsWaitingForWindow() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.batch.window", "60000");
+
+        try (WgApiClient batching = new WgApiClient(server.getUriBuilder().withApplicationID("demo"))) {
+            TanksMethod batchingTanks = batching.getMethodBlock(TanksMethod.class);
+            CompletableFuture<List<Stats>> pending = batchingTanks.getStatsBatched(1);
+
+            batching.close();
+            CompletableFuture<List<Stats>> later = batchingTanks.getStatsBatched(2);
+
+            assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+            assertThrows(ExecutionException.class, () -> later.get(5, TimeUnit.SECONDS));
+            assertEquals(0, server.getRequestCount("wot/tanks/stats"));
+        } finally {
+            System.clearProperty("io.github.divinator.wgapi.batch.window");
+        }
+    }
+
+    @Test
+    public void expiredDeadlineOfEarlierBatchedCallDoesNotFailLaterCalls() throws Throwable {
+        List<Stats> first = tanks.getStatsBatched(1, Deadline.after(100, TimeUnit.MILLISECONDS)).get(5, TimeUnit.SECONDS);
+        Thread.sleep(200);
+
+        List<Stats> second = tanks.getStatsBatched(2).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, first.get(0).getAccountId());
+        assertEquals(2, second.get(0).getAccountId());
+        assertEquals(2, server.getRequestCount("wot/tanks/stats"));
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.divinator.wgapi.mock;
+
+import io.github.divinator.wgapi.client.Deadline;
+import io.github.divinator.wgapi.client.ErrorCode;
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.entity.JsonResponse;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.method.wot.EncyclopediaMethod;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WgApiMockServerTest {
+
+    private static final String RECORDING = "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":{\"1\":["
+            + "{\"account_id\":1,\"tank_id\":17,\"mark_of_mastery\":4,"
+            + "\"all\":{\"battles\":10,\"wins\":6,\"damage_dealt\":5000},\"clan\":null},"
+            + "{\"account_id\":1,\"tank_id\":33,\"mark_of_mastery\":2}]}}";
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+        System.setProperty("io.github.divinator.wgapi.retry.base.delay", "1");
+
+        Path recordings = Files.createTempDirectory("recordings");
+        Files.createDirectories(recordings.resolve("wot/tanks"));
+        Files.write(recordings.resolve("wot/tanks/stats.json"), RECORDING.getBytes(StandardCharsets.UTF_8));
+
+        server = new WgApiMockServer().setRecordings(recordings).start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+        System.clearProperty("io.github.divinator.wgapi.retry.base.delay");
+    }
+
+    @Test
+    public void recordingIsReplicatedForEveryRequestedId() throws Throwable {
+        JsonResponse<Map<String, List<Stats>>> response = client.getMethodBlock(TanksMethod.class).getStats("1,500");
+
+        assertTrue(response.isOk());
+        assertEquals(2, response.getData().size());
+        assertEquals(2, response.getData().get("500").size());
+        assertEquals(500, response.getData().get("500").get(0).getAccountId());
+        assertEquals(33, response.getData().get("500").get(1).getTankId());
+        assertEquals(1, server.getRequestCount("wot/tanks/stats"));
+    }
+
+    @Test
+    public void cacheHitsDoNotWaitForRateLimiter() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.cache.enabled", "true");
+        System.setProperty("io.github.divinator.wgapi.cache.ttl", "60");
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "1");
+
+        try (WgApiClient cached = new WgApiClient(server.getUriBuilder().withApplicationID("demo"))) {
+            EncyclopediaMethod encyclopedia = cached.getMethodBlock(EncyclopediaMethod.class);
+            assertTrue(encyclopedia.getInfo().isOk());
+
+            long started = System.nanoTime();
+
+            for (int i = 0; i < 5; i++) {
+                assertTrue(encyclopedia.getInfo().isOk());
+            }
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 500);
+            assertEquals(1, server.getRequestCount());
+            assertEquals(5, cached.getCacheStatistics().getHitCount());
+        } finally {
+            System.clearProperty("io.github.divinator.wgapi.cache.enabled");
+            System.clearProperty("io.github.divinator.wgapi.cache.ttl");
+        }
+    }
+
+    @Test
+    public void quotaErrorsAreRetriedByClient() throws Throwable {
+        server.setQuotaErrorRate(1);
+
+        JsonResponse<Map<String, List<Stats>>> response = client.getMethodBlock(TanksMethod.class).getStats("1");
+
+        assertFalse(response.isOk());
+        assertEquals(ErrorCode.REQUEST_LIMIT_EXCEEDED, response.getError().getExceptionCode());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void gatewayTimeoutIsReportedAsSourceNotAvailable() throws Exception {
+        server.setGatewayTimeoutRate(1);
+
+        WgApiException exception = assertThrows(WgApiException.class,
+                () -> client.getMethodBlock(TanksMethod.class).getStats("1"));
+
+        assertEquals(ErrorCode.SOURCE_NOT_AVAILABLE, exception.getErrorCode());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void deadlineCallIsNotCoalescedWithCallWithoutDeadline() throws Throwable {
+        server.setLatency(1, 1, TimeUnit.SECONDS);
+        TanksMethod tanks = client.getMethodBlock(TanksMethod.class);
+
+        CompletableFuture<JsonResponse<Map<String, List<Stats>>>> unbounded = tanks.getStatsAsync("1");
+        long started = System.nanoTime();
+
+        WgApiException exception = assertThrows(WgApiException.class,
+                () -> tanks.getStats("1", Deadline.after(200, TimeUnit.MILLISECONDS)));
+
+        assertTrue(hasErrorCode(exception, ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 800);
+        assertTrue(unbounded.get(5, TimeUnit.SECONDS).isOk());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void asyncCallOnClosedClientFailsInsteadOfHanging() throws Throwable {
+        TanksMethod tanks = client.getMethodBlock(TanksMethod.class);
+        assertTrue(tanks.getStatsAsync("1").get(5, TimeUnit.SECONDS).isOk());
+
+        client.close();
+        CompletableFuture<JsonResponse<Map<String, List<Stats>>>> future = tanks.getStatsAsync("2");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof WgApiException);
+    }
+
+    @Test
+    public void slowResponseFailsOnDeadlineWithoutRetry() throws Exception {
+        server.setLatency(2, 2, TimeUnit.SECONDS);
+        long started = System.nanoTime();
+
+        WgApiException exception = assertThrows(WgApiException.class,
+                () -> client.getMethodBlock(TanksMethod.class).getStats("1", Deadline.after(200, TimeUnit.MILLISECONDS)));
+
+        assertTrue(hasErrorCode(exception, ErrorCode.CLIENT_REQUEST_DEADLINE_EXCEEDED));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1500);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void pathWithoutRecordingReturnsNullPerId() throws Exception {
+        MockRequest request = new MockRequest("GET", "wot/clans/info", Collections.singletonMap("clan_id", "5,6,5"));
+
+        assertEquals("{\"status\":\"ok\",\"meta\":{\"count\":2},\"data\":{\"5\":null,\"6\":null}}",
+                new SyntheticResponder().respond(request));
+    }
+
+    private static boolean hasErrorCode(Throwable throwable, ErrorCode errorCode) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WgApiException && ((WgApiException) cause).getErrorCode() == errorCode) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.entity.wot.tanks.Stats;
+import io.github.divinator.wgapi.method.wot.AccountsMethod;
+import io.github.divinator.wgapi.method.wot.TanksMethod;
+import io.github.divinator.wgapi.mock.MockRequest;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountSyncTest {
+
+    private static final List<Integer> ACCOUNTS = Arrays.asList(1, 2, 3);
+
+    private final Map<Integer, Integer> lastBattleTimes = new ConcurrentHashMap<>();
+    private final List<String> statsRequests = new CopyOnWriteArrayList<>();
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+
+        server = new WgApiMockServer()
+                .setResponse("wot/account/info", this::accounts)
+                .setResponse("wot/tanks/stats", this::stats)
+                .start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+        file = Files.createTempDirectory("watermarks").resolve("watermarks.bin");
+
+        for (int accountId : ACCOUNTS) {
+            lastBattleTimes.put(accountId, 1000);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+    }
+
+    @Test
+    public void unchangedAccountsSkipStatsRequest() throws Throwable {
+        AccountSync sync = sync(new FileWatermarkStore(file));
+        Map<Integer, List<Stats>> received = new HashMap<>();
+
+        assertEquals(3, sync.sync(ACCOUNTS, received::put));
+        assertEquals(17, received.get(2).get(0).getTankId());
+        assertEquals(Collections.singletonList("1,2,3"), statsRequests);
+
+        assertEquals(0, sync.sync(ACCOUNTS, (id, stats) -> fail("Account " + id + " is unchanged.")));
+        assertEquals(1, statsRequests.size());
+        assertEquals(2, server.getRequestCount("wot/account/info"));
+    }
+
+    @Test
+    public void changedBattleTimeRequestsOnlyThatAccount() throws Throwable {
+        AccountSync sync = sync(new FileWatermarkStore(file));
+        sync.sync(ACCOUNTS, (id, stats) -> { });
+
+        lastBattleTimes.put(2, 2000);
+        List<Integer> received = new ArrayList<>();
+
+        assertEquals(1, sync.sync(ACCOUNTS, (id, stats) -> received.add(id)));
+        assertEquals(Collections.singletonList(2), received);
+        assertEquals(Arrays.asList("1,2,3", "2"), statsRequests);
+    }
+
+    @Test
+    public void watermarkIsStoredOnlyAfterSinkAcceptedAccount() throws Throwable {
+        FileWatermarkStore store = new FileWatermarkStore(file);
+        AccountSync sync = sync(store);
+
+        assertThrows(IllegalStateException.class, () -> sync.sync(ACCOUNTS, (id, stats) -> {
+            assertNull(store.get(id));
+
+            if (id == 2) {
+                throw new IllegalStateException("sink failed");
+            }
+        }));
+
+        assertNotNull(store.get(1));
+        assertNull(store.get(2));
+        assertNull(store.get(3));
+
+        List<Integer> received = new ArrayList<>();
+        assertEquals(2, sync.sync(ACCOUNTS, (id, stats) -> received.add(id)));
+        assertEquals(Arrays.asList(2, 3), received);
+    }
+
+    @Test
+    public void flushedWatermarksAreReloaded() throws Throwable {
+        FileWatermarkStore store = new FileWatermarkStore(file);
+        sync(store).sync(ACCOUNTS, (id, stats) -> { });
+
+        FileWatermarkStore reloaded = new FileWatermarkStore(file);
+
+        for (int accountId : ACCOUNTS) {
+            assertEquals(store.get(accountId), reloaded.get(accountId));
+        }
+
+        assertEquals(0, sync(reloaded).sync(ACCOUNTS, (id, stats) -> fail("Account " + id + " is unchanged.")));
+        assertEquals(1, statsRequests.size());
+    }
+
+    private AccountSync sync(WatermarkStore store) throws Throwable {
+        return new AccountSync(client.getMethodBlock(AccountsMethod.class), client.getMethodBlock(TanksMethod.class), store);
+    }
+
+    private String accounts(MockRequest request) {
+        StringJoiner data = new StringJoiner(",", "{", "}");
+
+        for (String id : request.getParameter("account_id").split(",")) {
+            data.add(String.format("\"%s\":{\"last_battle_time\":%d,\"updated_at\":500}",
+                    id, lastBattleTimes.get(Integer.valueOf(id))));
+        }
+
+        return "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":" + data + "}";
+    }
+
+    private String stats(MockRequest request) {
+        statsRequests.add(request.getParameter("account_id"));
+        StringJoiner data = new StringJoiner(",", "{", "}");
+
+        for (String id : request.getParameter("account_id").split(",")) {
+            data.add(String.format("\"%s\":[{\"account_id\":%s,\"tank_id\":17,\"mark_of_mastery\":4}]", id, id));
+        }
+
+        return "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":" + data + "}";
+    }
+}
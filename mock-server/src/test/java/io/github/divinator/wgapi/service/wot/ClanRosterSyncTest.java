@@ -0,0 +1,116 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.method.wot.ClanMethod;
+import io.github.divinator.wgapi.mock.MockRequest;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClanRosterSyncTest {
+
+    private final Map<Integer, String> clans = new ConcurrentHashMap<>();
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+    private ClanRosterSync sync;
+
+    @BeforeEach
+    public void setUp() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+
+        server = new WgApiMockServer().setResponse("wot/clans/info", this::clans).start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+        sync = new ClanRosterSync(client.getMethodBlock(ClanMethod.class));
+
+        for (int clanId = 1; clanId <= 250; clanId++) {
+            clan(clanId, 100, "11:commander", "12:private");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+    }
+
+    @Test
+    public void firstSyncOnlyRemembersRosters() throws Throwable {
+        List<ClanRosterEvent> events = new ArrayList<>();
+
+        assertEquals(0, sync.sync(ids(), events::add));
+        assertTrue(events.isEmpty());
+        assertEquals(250, sync.size());
+        assertArrayEquals(new int[]{11, 12}, sync.getMembers(7));
+        assertEquals(3, server.getRequestCount("wot/clans/info"));
+    }
+
+    @Test
+    public void rosterChangesAreReportedAsEvents() throws Throwable {
+        sync.sync(ids(), event -> { });
+
+        clan(7, 101, "11:commander", "12:executive_officer", "13:recruit");
+        clan(8, 100, "11:commander");
+        clan(9, 102, "11:commander", "12:private");
+        List<ClanRosterEvent> events = new ArrayList<>();
+
+        assertEquals(3, sync.sync(ids(), events::add));
+        assertEquals(3, events.size());
+        assertEvent(events.get(0), ClanRosterEvent.Type.ROLE_CHANGED, 7, 12, "private", "executive_officer");
+        assertEvent(events.get(1), ClanRosterEvent.Type.JOINED, 7, 13, null, "recruit");
+        assertEvent(events.get(2), ClanRosterEvent.Type.LEFT, 8, 12, "private", null);
+        assertEquals(0, sync.sync(ids(), events::add));
+    }
+
+    @Test
+    public void removedClanIsReportedAsEmpty() throws Throwable {
+        sync.sync(Collections.singletonList(5), event -> { });
+        clans.remove(5);
+        List<ClanRosterEvent> events = new ArrayList<>();
+
+        assertEquals(1, sync.sync(Collections.singletonList(5), events::add));
+        assertEquals(2, events.size());
+        assertEquals(0, sync.size());
+    }
+
+    private static void assertEvent(ClanRosterEvent event, ClanRosterEvent.Type type, int clanId, int accountId,
+                                    String previousRole, String role) {
+        assertEquals(type, event.getType());
+        assertEquals(clanId, event.getClanId());
+        assertEquals(accountId, event.getAccountId());
+        assertEquals(previousRole, event.getPreviousRole());
+        assertEquals(role, event.getRole());
+    }
+
+    private static List<Integer> ids() {
+        return IntStream.rangeClosed(1, 250).boxed().collect(Collectors.toList());
+    }
+
+    private void clan(int clanId, int updatedAt, String... members) {
+        String roster = Arrays.stream(members)
+                .map(member -> member.split(":"))
+                .map(member -> String.format("\"%s\":{\"account_id\":%s,\"role\":\"%s\"}", member[0], member[0], member[1]))
+                .collect(Collectors.joining(","));
+        clans.put(clanId, String.format("{\"updated_at\":%d,\"members\":{%s}}", updatedAt, roster));
+    }
+
+    private String clans(MockRequest request) {
+        assertEquals("id", request.getParameter("members_key"));
+        assertEquals("updated_at,members.account_id,members.role", request.getParameter("fields"));
+        List<String> ids = request.getIds();
+
+        return ids.stream()
+                .map(id -> "\"" + id + "\":" + clans.getOrDefault(Integer.parseInt(id), "null"))
+                .collect(Collectors.joining(",",
+                        "{\"status\":\"ok\",\"meta\":{\"count\":" + ids.size() + "},\"data\":{", "}}"));
+    }
+}
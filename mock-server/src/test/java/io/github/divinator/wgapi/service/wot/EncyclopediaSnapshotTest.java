@@ -0,0 +1,252 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.method.wot.EncyclopediaMethod;
+import io.github.divinator.wgapi.mock.MockRequest;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncyclopediaSnapshotTest {
+
+    private static final String[] VERSION_SECTIONS = {
+            "wot/encyclopedia/achievements", "wot/encyclopedia/provisions", "wot/encyclopedia/badges",
+            "wot/encyclopedia/crewskills", "wot/encyclopedia/boosters"
+    };
+
+    private volatile int tanksUpdatedAt = 100;
+    private volatile String gameVersion = "1.0";
+    private volatile String vehicleName = "Tiger";
+    private volatile boolean infoBroken;
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+    private EncyclopediaMethod encyclopedia;
+
+    @BeforeEach
+    public void setUp() throws Throwable {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+
+        server = new WgApiMockServer()
+                .setResponse("wot/encyclopedia/info", this::info)
+                .setResponse("wot/encyclopedia/vehicles", request -> page("{\"1\":{\"tank_id\":1,\"name\":\"T-34\"},"
+                        + "\"2\":{\"tank_id\":2,\"name\":\"" + vehicleName + "\"}}"))
+                .setResponse("wot/encyclopedia/modules", request -> page("{\"10\":{\"module_id\":10,\"name\":\"Gun\"}}"))
+                .setResponse("wot/encyclopedia/achievements", request -> ok("{\"medal\":{\"name\":\"medal\"}}"))
+                .setResponse("wot/encyclopedia/provisions", request -> page("{\"20\":{\"provision_id\":20,\"name\":\"Kit\"}}"))
+                .setResponse("wot/encyclopedia/badges", request -> ok("{\"30\":{\"badge_id\":30,\"name\":\"Badge\"}}"))
+                .setResponse("wot/encyclopedia/crewskills", request -> ok("{\"repair\":{\"skill\":\"repair\"}}"))
+                .setResponse("wot/encyclopedia/boosters", request -> ok("{\"40\":{\"booster_id\":40,\"name\":\"Booster\"}}"))
+                .start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+        encyclopedia = client.getMethodBlock(EncyclopediaMethod.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+    }
+
+    @Test
+    public void tanksUpdateReloadsOnlyVehiclesAndModules() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        assertTrue(snapshot.refresh());
+
+        tanksUpdatedAt = 200;
+        vehicleName = "Tiger II";
+
+        assertTrue(snapshot.refresh());
+        assertEquals("Tiger II", snapshot.getVehicle(2).getName());
+        assertEquals(200, snapshot.getInfo().getTanksUpdatedAt());
+        assertEquals(2, server.getRequestCount("wot/encyclopedia/vehicles"));
+        assertEquals(2, server.getRequestCount("wot/encyclopedia/modules"));
+
+        for (String section : VERSION_SECTIONS) {
+            assertEquals(1, server.getRequestCount(section), section);
+        }
+    }
+
+    @Test
+    public void gameVersionUpdateReloadsOtherSections() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        snapshot.refresh();
+
+        assertFalse(snapshot.refresh());
+        gameVersion = "1.1";
+        assertTrue(snapshot.refresh());
+
+        assertEquals(3, server.getRequestCount("wot/encyclopedia/info"));
+        assertEquals(1, server.getRequestCount("wot/encyclopedia/vehicles"));
+        assertEquals(1, server.getRequestCount("wot/encyclopedia/modules"));
+
+        for (String section : VERSION_SECTIONS) {
+            assertEquals(2, server.getRequestCount(section), section);
+        }
+
+        assertEquals(30, snapshot.getBadges().get(30).getBadgeId());
+        assertEquals("repair", snapshot.getCrewSkills().get("repair").getSkill());
+    }
+
+    @Test
+    public void scheduledRefreshSurvivesFailure() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            snapshot.schedule(scheduler, 50, TimeUnit.MILLISECONDS);
+            assertTrue(await(() -> snapshot.getInfo() != null));
+
+            infoBroken = true;
+            long checks = server.getRequestCount("wot/encyclopedia/info");
+            assertTrue(await(() -> server.getRequestCount("wot/encyclopedia/info") >= checks + 2));
+
+            tanksUpdatedAt = 200;
+            vehicleName = "Tiger II";
+            infoBroken = false;
+
+            assertTrue(await(() -> "Tiger II".equals(snapshot.getVehicle(2).getName())));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void savedSnapshotIsRestoredWithoutRequests() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        snapshot.refresh();
+        Path file = Files.createTempDirectory("encyclopedia").resolve("snapshot.bin");
+        snapshot.save(file);
+        long requests = server.getRequestCount();
+
+        EncyclopediaSnapshot restored = new EncyclopediaSnapshot(encyclopedia);
+
+        assertTrue(restored.restore(file));
+        assertEquals(requests, server.getRequestCount());
+        assertEquals("1.0", restored.getInfo().getGameVersion());
+        assertEquals(2, restored.getVehicles().size());
+        assertEquals("Tiger", restored.getVehicle(2).getName());
+        assertEquals(10, restored.getModule(10).getModuleId());
+        assertEquals("medal", restored.getAchievements().get("medal").getName());
+        assertEquals("repair", restored.getCrewSkills().get("repair").getSkill());
+        assertEquals(40, restored.getBoosters().get(40).getBoosterId());
+        assertNull(restored.getVehicle(3));
+    }
+
+    @Test
+    public void restoredEntriesAreDecodedOnFirstAccess() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        snapshot.refresh();
+        Path file = Files.createTempDirectory("encyclopedia").resolve("snapshot.bin");
+        snapshot.save(file);
+
+        // Повреждённая запись не мешает открыть файл и читать остальные записи, пока к ней не обратились
+        byte[] bytes = Files.readAllBytes(file);
+        int name = indexOf(bytes, "\"Tiger\"".getBytes(StandardCharsets.UTF_8));
+        bytes[name + 6] = '}';
+        Files.write(file, bytes);
+
+        EncyclopediaSnapshot restored = new EncyclopediaSnapshot(encyclopedia);
+
+        assertTrue(restored.restore(file));
+        assertEquals("T-34", restored.getVehicle(1).getName());
+        assertThrows(IllegalStateException.class, () -> restored.getVehicle(2));
+    }
+
+    @Test
+    public void refreshAfterRestoreRewritesFile() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        snapshot.refresh();
+        Path file = Files.createTempDirectory("encyclopedia").resolve("snapshot.bin");
+        snapshot.save(file);
+
+        EncyclopediaSnapshot restored = new EncyclopediaSnapshot(encyclopedia);
+        restored.restore(file);
+        tanksUpdatedAt = 200;
+        vehicleName = "Tiger II";
+
+        assertTrue(restored.refresh());
+
+        EncyclopediaSnapshot reopened = new EncyclopediaSnapshot(encyclopedia);
+
+        assertTrue(reopened.restore(file));
+        assertEquals(200, reopened.getInfo().getTanksUpdatedAt());
+        assertEquals("Tiger II", reopened.getVehicle(2).getName());
+        assertEquals(20, reopened.getProvision(20).getProvisionId());
+    }
+
+    @Test
+    public void corruptedOrTruncatedFileIsNotRestored() throws Throwable {
+        EncyclopediaSnapshot snapshot = new EncyclopediaSnapshot(encyclopedia);
+        snapshot.refresh();
+        Path directory = Files.createTempDirectory("encyclopedia");
+        Path file = directory.resolve("snapshot.bin");
+        snapshot.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+        Path garbage = directory.resolve("garbage.bin");
+        Files.write(garbage, "not an encyclopedia".getBytes(StandardCharsets.UTF_8));
+
+        EncyclopediaSnapshot restored = new EncyclopediaSnapshot(encyclopedia);
+
+        assertFalse(restored.restore(truncated));
+        assertFalse(restored.restore(garbage));
+        assertFalse(restored.restore(directory.resolve("missing.bin")));
+        assertNull(restored.getInfo());
+        assertTrue(restored.getVehicles().isEmpty());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int i = 0; i <= bytes.length - pattern.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + pattern.length), pattern)) {
+                return i;
+            }
+        }
+
+        throw new AssertionError("Pattern not found.");
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+    private String info(MockRequest request) {
+        // Ответ без данных приводит к NullPointerException при сравнении с загруженным снимком
+        return infoBroken
+                ? "{\"status\":\"ok\",\"meta\":{\"count\":0},\"data\":null}"
+                : ok("{\"game_version\":\"" + gameVersion + "\",\"tanks_updated_at\":" + tanksUpdatedAt + "}");
+    }
+
+    private static String page(String data) {
+        return "{\"status\":\"ok\",\"meta\":{\"count\":1,\"page_total\":1},\"data\":" + data + "}";
+    }
+
+    private static String ok(String data) {
+        return "{\"status\":\"ok\",\"meta\":{\"count\":1},\"data\":" + data + "}";
+    }
+}
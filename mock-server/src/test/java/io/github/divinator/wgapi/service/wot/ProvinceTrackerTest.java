@@ -0,0 +1,160 @@
+package io.github.divinator.wgapi.service.wot;
+
+import io.github.divinator.wgapi.client.ErrorCode;
+import io.github.divinator.wgapi.client.WgApiClient;
+import io.github.divinator.wgapi.client.WgApiException;
+import io.github.divinator.wgapi.method.wot.GlobalMapMethod;
+import io.github.divinator.wgapi.mock.MockRequest;
+import io.github.divinator.wgapi.mock.WgApiMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProvinceTrackerTest {
+
+    private final Map<String, String> provinces = new ConcurrentHashMap<>();
+
+    private WgApiMockServer server;
+    private WgApiClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        System.setProperty("io.github.divinator.wgapi.rate.limit", "0");
+
+        server = new WgApiMockServer()
+                .setResponse("wot/globalmap/fronts", request -> "{\"status\":\"ok\",\"meta\":{\"count\":2},\"data\":["
+                        + "{\"front_id\":\"a\",\"is_active\":true,\"provinces_count\":150},"
+                        + "{\"front_id\":\"old\",\"is_active\":false,\"provinces_count\":10}]}")
+                .setResponse("wot/globalmap/provinces", this::provinces)
+                .start();
+        client = new WgApiClient(server.getUriBuilder().withApplicationID("demo"));
+
+        for (int i = 1; i <= 150; i++) {
+            province("p" + i, 0, "[]", 100, null);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        System.clearProperty("io.github.divinator.wgapi.rate.limit");
+    }
+
+    @Test
+    public void firstPollOnlyRemembersProvinces() throws Throwable {
+        ProvinceTracker tracker = new ProvinceTracker(client.getMethodBlock(GlobalMapMethod.class));
+
+        assertTrue(tracker.poll().isEmpty());
+        assertEquals(150, tracker.size());
+        assertEquals(2, server.getRequestCount("wot/globalmap/provinces"));
+    }
+
+    @Test
+    public void changesAreReportedAsEvents() throws Throwable {
+        ProvinceTracker tracker = new ProvinceTracker(client.getMethodBlock(GlobalMapMethod.class));
+        province("p7", 0, "[5]", 100, null);
+        tracker.poll();
+
+        province("p7", 0, "[9,5]", 100, null);
+        province("p42", 3, "[]", 250, "STARTED");
+        province("p150", 0, "[]", 100, "FINISHED");
+        List<ProvinceEvent> events = tracker.poll();
+
+        assertEquals(5, events.size());
+        assertEvent(events.get(0), ProvinceEvent.Type.ATTACKER_ADDED, "p7", 0, 9);
+        assertEvent(events.get(1), ProvinceEvent.Type.OWNER_CHANGED, "p42", 0, 3);
+        assertEvent(events.get(2), ProvinceEvent.Type.BATTLE_STARTED, "p42", 0, 0);
+        assertEvent(events.get(3), ProvinceEvent.Type.BET_CHANGED, "p42", 100, 250);
+        assertEvent(events.get(4), ProvinceEvent.Type.STATUS_CHANGED, "p150", 0, 0);
+        assertTrue(tracker.poll().isEmpty());
+    }
+
+    @Test
+    public void failedPollKeepsState() throws Throwable {
+        ProvinceTracker tracker = new ProvinceTracker(client.getMethodBlock(GlobalMapMethod.class));
+        tracker.poll();
+
+        province("p1", 8, "[]", 100, null);
+        server.setQuotaErrorRate(1);
+        WgApiException exception = assertThrows(WgApiException.class, tracker::poll);
+        server.setQuotaErrorRate(0);
+
+        assertEquals(ErrorCode.REQUEST_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(1, tracker.poll().size());
+    }
+
+    @Test
+    public void failingListenerDoesNotStopPolling() throws Throwable {
+        ProvinceTracker tracker = new ProvinceTracker(client.getMethodBlock(GlobalMapMethod.class));
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch events = new CountDownLatch(2);
+
+        try {
+            tracker.schedule(scheduler, 50, TimeUnit.MILLISECONDS, event -> {
+                events.countDown();
+                throw new IllegalStateException("listener failed");
+            });
+            assertTrue(await(() -> tracker.size() > 0));
+
+            province("p1", 8, "[]", 100, null);
+            assertTrue(await(() -> events.getCount() < 2));
+            province("p2", 9, "[]", 100, null);
+
+            assertTrue(events.await(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+    private static void assertEvent(ProvinceEvent event, ProvinceEvent.Type type, String provinceId,
+                                    int previousValue, int value) {
+        assertEquals(type, event.getType());
+        assertEquals(provinceId, event.getProvinceId());
+        assertEquals(previousValue, event.getPreviousValue());
+        assertEquals(value, event.getValue());
+    }
+
+    private void province(String id, int owner, String attackers, int bet, String status) {
+        provinces.put(id, String.format("{\"province_id\":\"%s\",\"front_id\":\"a\",\"owner_clan_id\":%d,"
+                        + "\"attackers\":%s,\"competitors\":[],\"current_min_bet\":%d,\"status\":%s}",
+                id, owner, attackers, bet, status == null ? "null" : "\"" + status + "\""));
+    }
+
+    private String provinces(MockRequest request) {
+        assertEquals("a", request.getParameter("front_id"));
+        int page = Integer.parseInt(request.getParameter("page_no"));
+        StringBuilder data = new StringBuilder();
+
+        for (int i = (page - 1) * 100 + 1; i <= Math.min(page * 100, provinces.size()); i++) {
+            data.append(data.length() == 0 ? "" : ",").append(provinces.get("p" + i));
+        }
+
+        return "{\"status\":\"ok\",\"meta\":{\"count\":100},\"data\":[" + data + "]}";
+    }
+}